@@ -0,0 +1,154 @@
+package com.mbpt.peertutoringplatform.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mbpt.peertutoringplatform.dto.ClassRoomDTO;
+import com.mbpt.peertutoringplatform.event.ClassRoomCatalogChangedEvent;
+import com.mbpt.peertutoringplatform.service.ClassRoomService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds the public classroom catalog as pre-serialized JSON, so that {@code GET /academic/classroom}
+ * is served without database access or serialization.
+ * <p>
+ * The snapshot is immutable and replaced as a whole. It is rebuilt in the background after a
+ * {@link ClassRoomCatalogChangedEvent} has committed; bursts of changes are coalesced into a single
+ * rebuild. The ETag is derived from the content, so it is stable across restarts and instances.
+ */
+@Slf4j
+@Component
+public class ClassRoomCatalogSnapshot {
+
+    private final ClassRoomService classRoomService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "classroom-catalog-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private volatile Snapshot current;
+
+    public ClassRoomCatalogSnapshot(ClassRoomService classRoomService, ObjectMapper objectMapper) {
+        this.classRoomService = classRoomService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Retrieves the current snapshot, building it first if it does not exist yet.
+     *
+     * @return the current {@link Snapshot}
+     */
+    public Snapshot get() {
+        Snapshot snapshot = current;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = current;
+                if (snapshot == null) {
+                    snapshot = rebuild();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(ClassRoomCatalogChangedEvent event) {
+        log.debug("Classroom catalog changed: {}", event.reason());
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                // reset before reading, so that a change committed during the rebuild schedules another one
+                rebuildPending.set(false);
+                try {
+                    synchronized (this) {
+                        rebuild();
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to rebuild the classroom catalog snapshot", e);
+                }
+            });
+        }
+    }
+
+    private Snapshot rebuild() {
+        List<ClassRoomDTO> classRooms = classRoomService.getAllClassRooms();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(classRooms);
+            Snapshot snapshot = new Snapshot(json, gzip(json), etag(json));
+            current = snapshot;
+            log.info("Rebuilt classroom catalog snapshot with {} classrooms, {} bytes, ETag {}",
+                    classRooms.size(), json.length, snapshot.etag());
+            return snapshot;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize the classroom catalog", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * An immutable serialized catalog.
+     *
+     * @param json the catalog as JSON
+     * @param gzip the catalog as gzip-compressed JSON
+     * @param etag the strong ETag of the JSON representation
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String etag) {
+
+        /**
+         * @return the strong ETag of the gzip representation, which differs from the JSON one
+         */
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+}
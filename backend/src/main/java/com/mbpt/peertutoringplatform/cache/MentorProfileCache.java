@@ -0,0 +1,71 @@
+package com.mbpt.peertutoringplatform.cache;
+
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Evicts cached mentor profiles when the data shown on them changes: the mentor's classrooms, the
+ * titles of those classrooms and the number of sessions per classroom.
+ * <p>
+ * Profiles are cached by mentor ID in the {@value #NAME} cache, configured through
+ * {@code spring.cache.caffeine.spec}. Evictions requested inside a transaction are applied once it
+ * has committed, so a concurrent read cannot cache the state from before the change.
+ */
+@Slf4j
+@Component
+public class MentorProfileCache {
+
+    public static final String NAME = "mentorProfiles";
+
+    private final Cache cache;
+
+    private final Cache transactionAwareCache;
+
+    public MentorProfileCache(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(NAME), "Cache '" + NAME + "' is not configured");
+        this.transactionAwareCache = new TransactionAwareCacheDecorator(cache);
+    }
+
+    /**
+     * Evicts the cached profiles of the given mentors.
+     *
+     * @param mentorIds the IDs of the mentors, null entries are ignored
+     */
+    public void evict(Collection<Integer> mentorIds) {
+        mentorIds.stream().filter(Objects::nonNull).forEach(transactionAwareCache::evict);
+    }
+
+    /**
+     * Evicts the cached profile of a mentor.
+     *
+     * @param mentorId the ID of the mentor, ignored if null
+     */
+    public void evict(Integer mentorId) {
+        if (mentorId != null) {
+            transactionAwareCache.evict(mentorId);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(SessionChangedEvent event) {
+        // only new sessions change the per-classroom session counts of a profile
+        Set<Integer> mentorIds = event.changes().stream()
+                .filter(SessionChangedEvent.SessionChange::isCreation)
+                .map(SessionChangedEvent.SessionChange::mentorId)
+                .collect(Collectors.toSet());
+        // already committed: synchronizations registered now would never run, so evict directly
+        mentorIds.forEach(cache::evict);
+        log.debug("Evicted profiles of {} mentors after new sessions", mentorIds.size());
+    }
+}
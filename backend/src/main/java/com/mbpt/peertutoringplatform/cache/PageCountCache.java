@@ -0,0 +1,64 @@
+package com.mbpt.peertutoringplatform.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of the total row counts of filtered admin lists, so that paging through a list
+ * counts the matching rows once instead of on every page. Entries expire after a few seconds and
+ * all entries of an entity are dropped when a row of it is created or deleted.
+ */
+@Component
+public class PageCountCache {
+
+    public static final String CLASS_ROOMS = "classrooms";
+
+    public static final String MENTORS = "mentors";
+
+    public static final String STUDENTS = "students";
+
+    private static final long TTL_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private static final int MAX_ENTRIES = 1_000;
+
+    private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves a cached count or computes and caches it.
+     *
+     * @param entity  the name of the counted entity, used for invalidation
+     * @param filters a key identifying the filters of the count
+     * @param counter computes the count on a miss
+     * @return the number of rows matching the filters
+     */
+    public long count(String entity, String filters, LongSupplier counter) {
+        String key = entity + '|' + filters;
+        long now = System.nanoTime();
+        Entry entry = counts.get(key);
+        if (entry != null && now - entry.createdAt < TTL_NANOS) {
+            return entry.count;
+        }
+        long count = counter.getAsLong();
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        counts.put(key, new Entry(count, now));
+        return count;
+    }
+
+    /**
+     * Drops all cached counts of an entity.
+     *
+     * @param entity the name of the entity whose rows changed
+     */
+    public void invalidate(String entity) {
+        counts.keySet().removeIf(key -> key.startsWith(entity + '|'));
+    }
+
+    private record Entry(long count, long createdAt) {
+    }
+}
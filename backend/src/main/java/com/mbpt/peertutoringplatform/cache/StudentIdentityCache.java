@@ -0,0 +1,89 @@
+package com.mbpt.peertutoringplatform.cache;
+
+import com.mbpt.peertutoringplatform.repository.StudentRepository;
+import com.mbpt.peertutoringplatform.repository.projection.StudentIdentity;
+import com.mbpt.peertutoringplatform.repository.projection.StudentUpsertView;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Near-cache resolving a Clerk student ID to the student, shared by every service that starts from
+ * the Clerk ID of the signed-in student.
+ * <p>
+ * Students are cached by Clerk ID in the {@value #NAME} cache, configured through
+ * {@code spring.cache.caffeine.spec}, which bounds its size and publishes its hit ratio and load
+ * times as {@code cache.*} metrics on the actuator. Concurrent first lookups of the same student
+ * wait for a single query. Unknown students are not cached, so a student created after a failed
+ * lookup is found on the next one. Writes requested inside a transaction are applied once it has committed.
+ */
+@Component
+public class StudentIdentityCache {
+
+    public static final String NAME = "studentIdentities";
+
+    private final StudentRepository studentRepository;
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache;
+
+    private final Cache transactionAwareCache;
+
+    @SuppressWarnings("unchecked")
+    public StudentIdentityCache(CacheManager cacheManager, StudentRepository studentRepository) {
+        Cache cache = Objects.requireNonNull(cacheManager.getCache(NAME), "Cache '" + NAME + "' is not configured");
+        this.studentRepository = studentRepository;
+        this.nativeCache = (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+        this.transactionAwareCache = new TransactionAwareCacheDecorator(cache);
+    }
+
+    /**
+     * Finds a student by Clerk ID, loading it on the first lookup.
+     *
+     * @param clerkStudentId the generated ID for the student by Clerk
+     * @return an Optional containing the student if found, otherwise empty
+     */
+    public Optional<StudentIdentity> find(String clerkStudentId) {
+        if (clerkStudentId == null) {
+            return Optional.empty();
+        }
+        // the loader runs once per key while other callers wait for it; a null result is not cached
+        Object student = nativeCache.get(clerkStudentId, key -> studentRepository.findByClerkStudentId(clerkStudentId)
+                .map(StudentIdentity::of)
+                .orElse(null));
+        return Optional.ofNullable((StudentIdentity) student);
+    }
+
+    /**
+     * Finds the ID of a student by Clerk ID, loading the student on the first lookup.
+     *
+     * @param clerkStudentId the generated ID for the student by Clerk
+     * @return an Optional containing the student ID if found, otherwise empty
+     */
+    public Optional<Integer> findStudentId(String clerkStudentId) {
+        return find(clerkStudentId).map(StudentIdentity::studentId);
+    }
+
+    /**
+     * Caches a student that was just created or read.
+     *
+     * @param studentView the student row
+     */
+    public void put(StudentUpsertView studentView) {
+        transactionAwareCache.put(studentView.getClerkStudentId(), StudentIdentity.of(studentView));
+    }
+
+    /**
+     * Evicts a student, to be called whenever the student row changes.
+     *
+     * @param clerkStudentId the generated ID for the student by Clerk
+     */
+    public void evict(String clerkStudentId) {
+        if (clerkStudentId != null) {
+            transactionAwareCache.evict(clerkStudentId);
+        }
+    }
+}
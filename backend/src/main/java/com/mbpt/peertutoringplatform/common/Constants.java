@@ -1,5 +1,9 @@
 package com.mbpt.peertutoringplatform.common;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
 public class Constants {
 
     public static final String ADMIN_ROLE_PERMISSION = "hasRole('ADMIN')";
@@ -12,6 +16,87 @@ public class Constants {
         COMPLETED
     }
 
+    public enum SessionPeriod {
+        UPCOMING,
+        PAST
+    }
+
+    public enum BatchItemStatus {
+        CREATED,
+        REJECTED
+    }
+
+    public enum ExportEntity {
+        SESSION,
+        STUDENT,
+        MENTOR
+    }
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        ExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+
+    public enum ImportEntity {
+        STUDENT("clerk_student_id", "first_name", "last_name", "email", "phone_number", "address", "age"),
+        MENTOR("first_name", "last_name", "email", "phone_number", "address", "title", "session_fee", "profession",
+                "subject", "qualification", "mentor_image", "is_certified", "positive_reviews"),
+        CLASSROOM("title", "class_image", "mentor_id"),
+        SESSION("student_id", "class_room_id", "mentor_id", "topic", "start_time", "end_time", "session_status");
+
+        private final List<String> columns;
+
+        ImportEntity(String... columns) {
+            this.columns = List.of(columns);
+        }
+
+        public List<String> getColumns() {
+            return columns;
+        }
+    }
+
+    public enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+
+    public enum RollupGranularity {
+        HOUR(ChronoUnit.HOURS, Duration.ofDays(31)),
+        DAY(ChronoUnit.DAYS, Duration.ofDays(366));
+
+        private final ChronoUnit unit;
+        private final Duration maxRange;
+
+        RollupGranularity(ChronoUnit unit, Duration maxRange) {
+            this.unit = unit;
+            this.maxRange = maxRange;
+        }
+
+        public ChronoUnit getUnit() {
+            return unit;
+        }
+
+        public Duration getMaxRange() {
+            return maxRange;
+        }
+    }
+
     public enum Title {
         MR("Mr."),
         MRS("Mrs."),
@@ -0,0 +1,76 @@
+package com.mbpt.peertutoringplatform.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records as written by {@link CsvRowWriter}: comma separated, optionally double-quoted
+ * fields with doubled quotes inside, and {@code \n} or {@code \r\n} line ends. Quoted fields may span
+ * lines.
+ */
+public class CsvRowReader {
+
+    private final BufferedReader reader;
+
+    private boolean endOfInput;
+
+    public CsvRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or null at the end of the input
+     * @throws IOException if reading fails or the input ends inside a quoted field
+     */
+    public List<String> readRow() throws IOException {
+        if (endOfInput) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (inQuotes) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                reader.mark(1);
+                int next = reader.read();
+                if (next == '"') {
+                    field.append('"');
+                } else {
+                    inQuotes = false;
+                    if (next != -1) reader.reset();
+                }
+            } else if (c == '"' && field.isEmpty() && !quoted) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (inQuotes) {
+            throw new IOException("Unexpected end of input inside a quoted field");
+        }
+        endOfInput = true;
+        if (fields.isEmpty() && field.isEmpty() && !quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
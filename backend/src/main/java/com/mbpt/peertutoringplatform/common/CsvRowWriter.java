@@ -0,0 +1,81 @@
+package com.mbpt.peertutoringplatform.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes DTOs as CSV rows using their JSON field layout, so that the CSV columns match the JSON API.
+ * Nested objects are flattened into dotted column names (e.g. {@code mentor.first_name}) and arrays
+ * are written as their JSON text. The columns are fixed from a template DTO whose nested objects are
+ * instantiated, so rows with null nested objects still line up with the header.
+ */
+public class CsvRowWriter {
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream outputStream;
+    private final List<String> columns;
+
+    public CsvRowWriter(ObjectMapper objectMapper, OutputStream outputStream, Object template) {
+        this.objectMapper = objectMapper;
+        this.outputStream = outputStream;
+        Map<String, String> templateColumns = new LinkedHashMap<>();
+        flatten("", objectMapper.valueToTree(template), templateColumns);
+        this.columns = new ArrayList<>(templateColumns.keySet());
+    }
+
+    public void writeHeader() throws IOException {
+        writeLine(columns);
+    }
+
+    public void writeRow(Object dto) throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        flatten("", objectMapper.valueToTree(dto), values);
+        List<String> row = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            row.add(values.getOrDefault(column, ""));
+        }
+        writeLine(row);
+    }
+
+    private void writeLine(List<String> values) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) line.append(',');
+            line.append(escape(values.get(i)));
+        }
+        line.append("\r\n");
+        outputStream.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void flatten(String prefix, JsonNode node, Map<String, String> target) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                flatten(prefix.isEmpty() ? field.getKey() : prefix + "." + field.getKey(), field.getValue(), target);
+            }
+        } else if (node.isNull() || node.isMissingNode()) {
+            target.put(prefix, "");
+        } else if (node.isValueNode()) {
+            target.put(prefix, node.asText());
+        } else {
+            target.put(prefix, node.toString());
+        }
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,35 @@
+package com.mbpt.peertutoringplatform.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for session pages, positioned on the {@code (start_time, session_id)}
+ * of the last session of the previous page.
+ */
+public record SessionCursor(Instant startTime, Integer sessionId) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = startTime.toString() + SEPARATOR + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SessionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            Instant startTime = Instant.parse(raw.substring(0, separatorIndex));
+            Integer sessionId = Integer.valueOf(raw.substring(separatorIndex + 1));
+            return new SessionCursor(startTime, sessionId);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid session cursor: " + cursor);
+        }
+    }
+}
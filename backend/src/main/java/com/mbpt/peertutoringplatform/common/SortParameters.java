@@ -0,0 +1,52 @@
+package com.mbpt.peertutoringplatform.common;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Translates {@code sort} request parameters of the form {@code field[,asc|desc]} into a {@link Sort}.
+ * Only whitelisted fields are accepted, so clients can sort by indexed columns only.
+ */
+public final class SortParameters {
+
+    private SortParameters() {
+    }
+
+    /**
+     * Parses the sort parameters.
+     *
+     * @param sortParameters the sort parameters, may be null or empty
+     * @param sortableFields the accepted API field names mapped to entity properties
+     * @param tieBreaker     the entity property appended last to make the order stable
+     * @return the requested sort followed by the tie breaker
+     * @throws IllegalArgumentException if a field is not sortable or a direction is invalid
+     */
+    public static Sort parse(List<String> sortParameters, Map<String, String> sortableFields, String tieBreaker) {
+        List<Sort.Order> orders = new ArrayList<>();
+        if (sortParameters != null) {
+            for (String sortParameter : sortParameters) {
+                String[] parts = sortParameter.split(",");
+                String property = sortableFields.get(parts[0].trim());
+                if (property == null) {
+                    throw new IllegalArgumentException("Unsupported sort field: " + parts[0].trim() +
+                            ". Valid values are: " + String.join(", ", new TreeSet<>(sortableFields.keySet())) + ".");
+                }
+                Sort.Direction direction = Sort.Direction.ASC;
+                if (parts.length > 1) {
+                    direction = Sort.Direction.fromOptionalString(parts[1].trim().toUpperCase(Locale.ROOT))
+                            .orElseThrow(() -> new IllegalArgumentException("Unsupported sort direction: " + parts[1].trim() + ". Valid values are: asc or desc."));
+                }
+                orders.add(new Sort.Order(direction, property));
+            }
+        }
+        if (orders.stream().noneMatch(order -> order.getProperty().equals(tieBreaker))) {
+            orders.add(Sort.Order.asc(tieBreaker));
+        }
+        return Sort.by(orders);
+    }
+}
@@ -0,0 +1,33 @@
+package com.mbpt.peertutoringplatform.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work on in-memory state until the surrounding transaction has committed, so that a rolled
+ * back write never reaches the indexes and caches built from the database.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Runs an action after the current transaction commits, or right away outside a transaction.
+     * The action is dropped if the transaction rolls back.
+     *
+     * @param action the action to run
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
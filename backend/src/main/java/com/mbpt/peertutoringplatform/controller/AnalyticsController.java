@@ -0,0 +1,113 @@
+package com.mbpt.peertutoringplatform.controller;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.AnalyticsBucketDTO;
+import com.mbpt.peertutoringplatform.dto.AnalyticsTotalDTO;
+import com.mbpt.peertutoringplatform.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Validated
+@RestController
+@RequestMapping("/academic")
+@Tag(name = "Analytics", description = "Endpoints for booking and revenue analytics of the admin dashboard")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsController(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+
+    @Operation(
+            summary = "Get session activity over time",
+            description = "Retrieves the number of sessions created, accepted and completed and the revenue of completed sessions per hour or day of their start time, optionally restricted to a mentor and a classroom. Hourly ranges are limited to 31 days, daily ranges to 366 days."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Session activity retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or granularity"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/analytics/sessions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AnalyticsBucketDTO>> getSessionTimeline(
+            @Parameter(description = "Size of the buckets. Valid values are: HOUR or DAY.")
+            @RequestParam(name = "granularity", defaultValue = "DAY") Constants.RollupGranularity granularity,
+            @Parameter(description = "Start of the range in ISO-8601 format", example = "2025-08-01T00:00:00Z", required = true)
+            @RequestParam(name = "from") Instant from,
+            @Parameter(description = "End of the range in ISO-8601 format", example = "2025-09-01T00:00:00Z", required = true)
+            @RequestParam(name = "to") Instant to,
+            @Parameter(description = "Restricts the activity to the given mentor")
+            @RequestParam(name = "mentor_id", required = false) Integer mentorId,
+            @Parameter(description = "Restricts the activity to the given classroom")
+            @RequestParam(name = "class_room_id", required = false) Integer classRoomId) {
+        final List<AnalyticsBucketDTO> buckets = analyticsService.getSessionTimeline(granularity, from, to, mentorId, classRoomId);
+        return ResponseEntity.status(HttpStatus.OK).body(buckets);
+    }
+
+    @Operation(
+            summary = "Get session activity per mentor",
+            description = "Retrieves the number of sessions created, accepted and completed and the revenue of completed sessions of each mentor within a range, highest revenue first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Mentor totals retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or granularity"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/analytics/mentors", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AnalyticsTotalDTO>> getMentorTotals(
+            @Parameter(description = "Size of the buckets the range is aligned to. Valid values are: HOUR or DAY.")
+            @RequestParam(name = "granularity", defaultValue = "DAY") Constants.RollupGranularity granularity,
+            @Parameter(description = "Start of the range in ISO-8601 format", example = "2025-08-01T00:00:00Z", required = true)
+            @RequestParam(name = "from") Instant from,
+            @Parameter(description = "End of the range in ISO-8601 format", example = "2025-09-01T00:00:00Z", required = true)
+            @RequestParam(name = "to") Instant to) {
+        final List<AnalyticsTotalDTO> totals = analyticsService.getMentorTotals(granularity, from, to);
+        return ResponseEntity.status(HttpStatus.OK).body(totals);
+    }
+
+    @Operation(
+            summary = "Get session activity per classroom",
+            description = "Retrieves the number of sessions created, accepted and completed and the revenue of completed sessions of each classroom within a range, highest revenue first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Classroom totals retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or granularity"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/analytics/classrooms", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AnalyticsTotalDTO>> getClassRoomTotals(
+            @Parameter(description = "Size of the buckets the range is aligned to. Valid values are: HOUR or DAY.")
+            @RequestParam(name = "granularity", defaultValue = "DAY") Constants.RollupGranularity granularity,
+            @Parameter(description = "Start of the range in ISO-8601 format", example = "2025-08-01T00:00:00Z", required = true)
+            @RequestParam(name = "from") Instant from,
+            @Parameter(description = "End of the range in ISO-8601 format", example = "2025-09-01T00:00:00Z", required = true)
+            @RequestParam(name = "to") Instant to) {
+        final List<AnalyticsTotalDTO> totals = analyticsService.getClassRoomTotals(granularity, from, to);
+        return ResponseEntity.status(HttpStatus.OK).body(totals);
+    }
+}
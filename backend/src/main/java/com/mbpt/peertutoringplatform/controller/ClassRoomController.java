@@ -1,24 +1,36 @@
 package com.mbpt.peertutoringplatform.controller;
 
+import com.mbpt.peertutoringplatform.cache.ClassRoomCatalogSnapshot;
 import com.mbpt.peertutoringplatform.common.Constants;
 import com.mbpt.peertutoringplatform.dto.ClassRoomDTO;
+import com.mbpt.peertutoringplatform.dto.ClassRoomSuggestionDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
+import com.mbpt.peertutoringplatform.dto.TrendingClassRoomDTO;
 import com.mbpt.peertutoringplatform.service.ClassRoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Locale;
 
 @Validated
 @RestController
@@ -29,8 +41,11 @@ public class ClassRoomController {
 
     private final ClassRoomService classRoomService;
 
-    public ClassRoomController(ClassRoomService classRoomService) {
+    private final ClassRoomCatalogSnapshot classRoomCatalogSnapshot;
+
+    public ClassRoomController(ClassRoomService classRoomService, ClassRoomCatalogSnapshot classRoomCatalogSnapshot) {
         this.classRoomService = classRoomService;
+        this.classRoomCatalogSnapshot = classRoomCatalogSnapshot;
     }
 
 
@@ -56,17 +71,119 @@ public class ClassRoomController {
     }
 
 
-    @Operation(summary = "Get all classrooms", description = "Fetches a list of all classrooms with associated data")
+    @Operation(summary = "Get all classrooms", description = "Fetches a list of all classrooms with associated data. Served from a pre-serialized snapshot with an ETag; gzip-compressed if the client accepts it.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Classroom list retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Classroom list retrieved successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = ClassRoomDTO.class)))),
+            @ApiResponse(responseCode = "304", description = "Classroom list not modified since the given ETag", content = @Content),
             @ApiResponse(responseCode = "404", description = "No classrooms found"),
             @ApiResponse(responseCode = "500", description = "Internal server error"),
             @ApiResponse(responseCode = "503", description = "Service unavailable")
     })
     @GetMapping(value = "/classroom", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<ClassRoomDTO>> getAllClassRooms() {
-        final List<ClassRoomDTO> allClassRooms = classRoomService.getAllClassRooms();
-        return ResponseEntity.status(HttpStatus.OK).body(allClassRooms);
+    public ResponseEntity<byte[]> getAllClassRooms(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        ClassRoomCatalogSnapshot.Snapshot snapshot = classRoomCatalogSnapshot.get();
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+
+    @Operation(
+            summary = "Get a page of classrooms",
+            description = "Fetches one page of classrooms with their mentors, filtered and sorted on the server, with the total number of matching classrooms"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Classroom page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page, size, sort or filter"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/classroom/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PageDTO<ClassRoomDTO>> getClassRoomsPage(
+            @Parameter(description = "Zero-based index of the page")
+            @RequestParam(name = "page", defaultValue = "0")
+            @Min(value = 0, message = "Page index must not be negative") Integer page,
+            @Parameter(description = "Number of rows per page")
+            @RequestParam(name = "size", defaultValue = "20")
+            @Min(value = 1, message = "Page size must be a positive integer")
+            @Max(value = 100, message = "Page size must not exceed 100") Integer size,
+            @Parameter(description = "Sort order, repeatable, each of the form field[,asc|desc]. Sortable fields are: class_room_id, title, enrolled_student_count.")
+            @RequestParam(name = "sort", required = false) List<String> sort,
+            @Parameter(description = "Restricts the page to classrooms whose title contains this text")
+            @RequestParam(name = "title", required = false) String title,
+            @Parameter(description = "Restricts the page to classrooms of the given mentor")
+            @RequestParam(name = "mentor_id", required = false) Integer mentorId,
+            @Parameter(description = "Restricts the page to classrooms with (true) or without (false) a mentor")
+            @RequestParam(name = "assigned", required = false) Boolean assigned,
+            @Parameter(description = "Minimum number of enrolled students")
+            @RequestParam(name = "min_enrolled", required = false) Integer minEnrolled,
+            @Parameter(description = "Maximum number of enrolled students")
+            @RequestParam(name = "max_enrolled", required = false) Integer maxEnrolled) {
+        final PageDTO<ClassRoomDTO> classRoomPage = classRoomService.getClassRoomsPage(page, size, sort, title, mentorId, assigned, minEnrolled, maxEnrolled);
+        return ResponseEntity.status(HttpStatus.OK).body(classRoomPage);
+    }
+
+
+    @Operation(
+            summary = "Suggest classrooms by title",
+            description = "Returns the classrooms whose title words start with the typed words, ignoring case and accents, best matches first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @GetMapping(value = "/classroom/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ClassRoomSuggestionDTO>> suggestClassRooms(
+            @Parameter(description = "Text typed by the user", example = "ciss")
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @Parameter(description = "Maximum number of suggestions")
+            @RequestParam(name = "limit", defaultValue = "10")
+            @Min(value = 1, message = "Limit must be a positive integer")
+            @Max(value = 50, message = "Limit must not exceed 50") Integer limit) {
+        final List<ClassRoomSuggestionDTO> suggestions = classRoomService.suggestClassRooms(query, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(suggestions);
+    }
+
+
+    @Operation(
+            summary = "Get trending classrooms",
+            description = "Returns the classrooms with the most recent bookings, where a booking counts half as much for every day since it was made"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trending classrooms retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @GetMapping(value = "/classroom/trending", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TrendingClassRoomDTO>> getTrendingClassRooms(
+            @Parameter(description = "Maximum number of classrooms")
+            @RequestParam(name = "limit", defaultValue = "12")
+            @Min(value = 1, message = "Limit must be a positive integer")
+            @Max(value = 50, message = "Limit must not exceed 50") Integer limit) {
+        final List<TrendingClassRoomDTO> trendingClassRooms = classRoomService.getTrendingClassRooms(limit);
+        return ResponseEntity.status(HttpStatus.OK).body(trendingClassRooms);
     }
 
 
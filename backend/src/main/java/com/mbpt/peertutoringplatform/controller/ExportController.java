@@ -0,0 +1,70 @@
+package com.mbpt.peertutoringplatform.controller;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+
+@Validated
+@RestController
+@RequestMapping("/academic")
+@Tag(name = "Export", description = "Endpoints for streaming bulk exports of sessions, students and mentors")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+
+    @Operation(
+            summary = "Export all rows of an entity",
+            description = "Streams every session, student or mentor as NDJSON or CSV. The fields match the JSON API of the entity, nested objects are flattened into dotted CSV columns."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid entity or format"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/export/{entity}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Entity to export. Valid values are: session, student, or mentor.", required = true)
+            @PathVariable String entity,
+            @Parameter(description = "Format of the export. Valid values are: NDJSON or CSV.")
+            @RequestParam(name = "format", defaultValue = "NDJSON") Constants.ExportFormat exportFormat) {
+        Constants.ExportEntity exportEntity = parseExportEntity(entity);
+        StreamingResponseBody body = outputStream -> exportService.export(exportEntity, exportFormat, outputStream);
+        String fileName = entity.toLowerCase(Locale.ROOT) + "s." + exportFormat.getFileExtension();
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    private static Constants.ExportEntity parseExportEntity(String entity) {
+        try {
+            return Constants.ExportEntity.valueOf(entity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export entity: " + entity + ". Valid values are: session, student, or mentor.");
+        }
+    }
+}
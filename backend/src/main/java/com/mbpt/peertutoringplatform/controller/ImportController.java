@@ -0,0 +1,97 @@
+package com.mbpt.peertutoringplatform.controller;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.ImportResultDTO;
+import com.mbpt.peertutoringplatform.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+
+@Validated
+@RestController
+@RequestMapping("/academic")
+@Tag(name = "Import", description = "Endpoints for bulk imports of students, mentors, classrooms and sessions")
+public class ImportController {
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+
+    @Operation(
+            summary = "Import rows of an entity",
+            description = "Streams a CSV file with a header line or an NDJSON file into the database. Columns use the field names of the JSON API; " +
+                    "classrooms take a mentor_id column and sessions the IDs of their student, classroom and mentor. Only sessions that have ended can be imported. " +
+                    "Invalid rows are skipped and listed with their line and reasons in an error report, all other rows are imported together."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import completed, possibly with rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Invalid entity, format or header"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @PostMapping(value = "/import/{entity}")
+    public ResponseEntity<ImportResultDTO> importRows(
+            @Parameter(description = "Entity to import. Valid values are: student, mentor, classroom, or session.", required = true)
+            @PathVariable String entity,
+            @Parameter(description = "Format of the request body. Valid values are: CSV or NDJSON.")
+            @RequestParam(name = "format", defaultValue = "CSV") Constants.ImportFormat importFormat,
+            InputStream body) throws IOException {
+        ImportResultDTO importResultDTO = importService.importRows(parseImportEntity(entity), importFormat, body);
+        return ResponseEntity.status(HttpStatus.OK).body(importResultDTO);
+    }
+
+    @Operation(
+            summary = "Download the error report of an import",
+            description = "Returns the CSV report of the rows rejected by an import, with the line and reasons of every row. The ID is the error_report_id of the import result."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Error report returned successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Error report not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/import/error-report/{errorReportId}")
+    public ResponseEntity<Resource> getErrorReport(
+            @Parameter(description = "ID of the error report", required = true)
+            @PathVariable String errorReportId) {
+        Path report = importService.findErrorReport(errorReportId);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(report.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(report));
+    }
+
+    private static Constants.ImportEntity parseImportEntity(String entity) {
+        try {
+            return Constants.ImportEntity.valueOf(entity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported import entity: " + entity + ". Valid values are: student, mentor, classroom, or session.");
+        }
+    }
+}
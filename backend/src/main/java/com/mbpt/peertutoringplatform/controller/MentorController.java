@@ -1,9 +1,14 @@
 package com.mbpt.peertutoringplatform.controller;
 
 import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.ClassRoomAssignmentDTO;
 import com.mbpt.peertutoringplatform.dto.LiteMentorDTO;
+import com.mbpt.peertutoringplatform.dto.MentorAvailabilityDTO;
 import com.mbpt.peertutoringplatform.dto.MentorDTO;
 import com.mbpt.peertutoringplatform.dto.MentorProfileDTO;
+import com.mbpt.peertutoringplatform.dto.MentorRecommendationDTO;
+import com.mbpt.peertutoringplatform.dto.MentorSearchResultDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
 import com.mbpt.peertutoringplatform.service.MentorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +16,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +28,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
 import java.util.List;
 
 @Validated
@@ -69,6 +79,42 @@ public class MentorController {
     }
 
 
+    @Operation(summary = "Get a page of mentors", description = "Fetches one page of mentors, filtered and sorted on the server, with the total number of matching mentors")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Mentor page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page, size, sort or filter"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/mentor/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PageDTO<MentorDTO>> getMentorsPage(
+            @Parameter(description = "Zero-based index of the page")
+            @RequestParam(name = "page", defaultValue = "0")
+            @Min(value = 0, message = "Page index must not be negative") Integer page,
+            @Parameter(description = "Number of rows per page")
+            @RequestParam(name = "size", defaultValue = "20")
+            @Min(value = 1, message = "Page size must be a positive integer")
+            @Max(value = 100, message = "Page size must not exceed 100") Integer size,
+            @Parameter(description = "Sort order, repeatable, each of the form field[,asc|desc]. Sortable fields are: mentor_id, last_name, session_fee, positive_reviews.")
+            @RequestParam(name = "sort", required = false) List<String> sort,
+            @Parameter(description = "Restricts the page to certified (true) or uncertified (false) mentors")
+            @RequestParam(name = "is_certified", required = false) Boolean isCertified,
+            @Parameter(description = "Minimum session fee")
+            @RequestParam(name = "min_fee", required = false) Double minFee,
+            @Parameter(description = "Maximum session fee")
+            @RequestParam(name = "max_fee", required = false) Double maxFee,
+            @Parameter(description = "Restricts the page to mentors whose first or last name contains this text")
+            @RequestParam(name = "name", required = false) String name,
+            @Parameter(description = "Restricts the page to mentors whose subject contains this text")
+            @RequestParam(name = "subject", required = false) String subject) {
+        final PageDTO<MentorDTO> mentorPage = mentorService.getMentorsPage(page, size, sort, isCertified, minFee, maxFee, name, subject);
+        return ResponseEntity.status(HttpStatus.OK).body(mentorPage);
+    }
+
+
     @Operation(summary = "Retrieve mentor profile by mentor ID", description = "Retrieve mentor profile details and its associated data")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Mentor Profile retrieved successfully"),
@@ -85,5 +131,127 @@ public class MentorController {
         return ResponseEntity.status(HttpStatus.OK).body(mentorProfile);
     }
 
+    @Operation(summary = "Retrieve free time of a mentor", description = "Retrieves the free intervals of a mentor within a range of at most 92 days, built from blocks of the given granularity")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Mentor availability retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or granularity"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Mentor not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_OR_STUDENT_PERMISSION)
+    @GetMapping(value = "/mentor/{id}/availability", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MentorAvailabilityDTO> getMentorAvailability(
+            @PathVariable Integer id,
+            @Parameter(description = "Start of the range in ISO-8601 format", required = true)
+            @RequestParam(name = "from") Instant from,
+            @Parameter(description = "End of the range in ISO-8601 format", required = true)
+            @RequestParam(name = "to") Instant to,
+            @Parameter(description = "Length in minutes of the free blocks, a multiple of 15")
+            @RequestParam(name = "granularity", defaultValue = "15") Integer granularity) {
+        MentorAvailabilityDTO availability = mentorService.getMentorAvailability(id, from, to, granularity);
+        return ResponseEntity.status(HttpStatus.OK).body(availability);
+    }
+
+    @Operation(summary = "Search mentors with facet counts", description = "Filters mentors in memory and returns one page of matches with the number of mentors per certification, title and classroom, and the session fee range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Mentors retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page, size or filter"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @GetMapping(value = "/mentor/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MentorSearchResultDTO> searchMentors(
+            @Parameter(description = "Restricts the result to certified (true) or uncertified (false) mentors")
+            @RequestParam(name = "is_certified", required = false) Boolean isCertified,
+            @Parameter(description = "Restricts the result to mentors with this title")
+            @RequestParam(name = "title", required = false) Constants.Title title,
+            @Parameter(description = "Minimum session fee")
+            @RequestParam(name = "min_fee", required = false) Double minFee,
+            @Parameter(description = "Maximum session fee")
+            @RequestParam(name = "max_fee", required = false) Double maxFee,
+            @Parameter(description = "Minimum percentage of positive reviews")
+            @RequestParam(name = "min_positive_reviews", required = false)
+            @Min(value = 0, message = "Minimum positive reviews must not be negative") Integer minPositiveReviews,
+            @Parameter(description = "Restricts the result to the mentor of this classroom")
+            @RequestParam(name = "class_room_id", required = false) Integer classRoomId,
+            @Parameter(description = "Zero-based index of the page")
+            @RequestParam(name = "page", defaultValue = "0")
+            @Min(value = 0, message = "Page index must not be negative") Integer page,
+            @Parameter(description = "Number of mentors per page")
+            @RequestParam(name = "size", defaultValue = "20")
+            @Min(value = 1, message = "Page size must be a positive integer")
+            @Max(value = 100, message = "Page size must not exceed 100") Integer size) {
+        final MentorSearchResultDTO result = mentorService.searchMentors(isCertified, title, minFee, maxFee,
+                minPositiveReviews, classRoomId, page, size);
+        return ResponseEntity.status(HttpStatus.OK).body(result);
+    }
+
+    @Operation(summary = "Get mentors related to a mentor", description = "Retrieves the mentors most often booked by the students of this mentor. The list is recomputed in the background every few minutes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Related mentors retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Mentor not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_OR_STUDENT_PERMISSION)
+    @GetMapping(value = "/mentor/{id}/related", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<MentorRecommendationDTO>> getRelatedMentors(
+            @PathVariable Integer id,
+            @Parameter(description = "Maximum number of mentors")
+            @RequestParam(name = "limit", defaultValue = "10")
+            @Min(value = 1, message = "Limit must be a positive integer")
+            @Max(value = 20, message = "Limit must not exceed 20") Integer limit) {
+        final List<MentorRecommendationDTO> relatedMentors = mentorService.getRelatedMentors(id, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(relatedMentors);
+    }
+
+    @Operation(summary = "Set the classrooms of a mentor", description = "Moves the given classrooms to the mentor and unassigns the mentor's other classrooms. Previous mentors must keep at least one classroom.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Classrooms assigned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid classroom IDs or a mentor would be left without classrooms"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Mentor or classroom not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @PutMapping(value = "/mentor/{id}/classrooms", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MentorDTO> assignClassRooms(
+            @PathVariable Integer id,
+            @Parameter(description = "IDs of the classrooms the mentor teaches", required = true)
+            @RequestBody @NotNull(message = "Classroom IDs must not be null")
+            @Size(min = 1, max = 500, message = "Between 1 and 500 classrooms can be assigned at once")
+            List<@NotNull(message = "Classroom ID must not be null") Integer> classRoomIds) {
+        MentorDTO mentorDTO = mentorService.assignClassRooms(id, classRoomIds);
+        return ResponseEntity.status(HttpStatus.OK).body(mentorDTO);
+    }
+
+    @Operation(summary = "Move classrooms between mentors", description = "Moves many classrooms between mentors in one transaction. Every mentor that loses classrooms must keep at least one.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Classrooms reassigned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid assignments or a mentor would be left without classrooms"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Mentor or classroom not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @PutMapping(value = "/mentor/classrooms", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<MentorDTO>> reassignClassRooms(
+            @Parameter(description = "Classrooms to move, grouped by target mentor", required = true)
+            @RequestBody @NotNull(message = "Assignments must not be null")
+            @Size(min = 1, max = 100, message = "Between 1 and 100 assignments can be applied at once") List<@Valid ClassRoomAssignmentDTO> assignments) {
+        List<MentorDTO> mentorDTOS = mentorService.reassignClassRooms(assignments);
+        return ResponseEntity.status(HttpStatus.OK).body(mentorDTOS);
+    }
+
 
 }
@@ -1,25 +1,36 @@
 package com.mbpt.peertutoringplatform.controller;
 
 import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.SessionBatchResultDTO;
 import com.mbpt.peertutoringplatform.dto.SessionDTO;
 import com.mbpt.peertutoringplatform.dto.SessionLiteDTO;
+import com.mbpt.peertutoringplatform.dto.SessionPageDTO;
+import com.mbpt.peertutoringplatform.dto.SessionStatusDTO;
+import com.mbpt.peertutoringplatform.dto.SessionStatusUpdateDTO;
 import com.mbpt.peertutoringplatform.service.SessionService;
+import com.mbpt.peertutoringplatform.service.SessionStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 
 @Validated
@@ -31,8 +42,11 @@ public class SessionController {
 
     private final SessionService sessionService;
 
-    public SessionController(SessionService sessionService) {
+    private final SessionStreamService sessionStreamService;
+
+    public SessionController(SessionService sessionService, SessionStreamService sessionStreamService) {
         this.sessionService = sessionService;
+        this.sessionStreamService = sessionStreamService;
     }
 
     @Operation(
@@ -56,9 +70,31 @@ public class SessionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdSession);
     }
 
+    @Operation(
+            summary = "Create a batch of sessions",
+            description = "Validates and creates up to 100 sessions in a single transaction. Returns the result of every session in request order; invalid or overlapping sessions are rejected without failing the batch."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid session data"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.STUDENT_ROLE_PERMISSION)
+    @PostMapping(value = "/session/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<SessionBatchResultDTO>> createSessions(
+            @Parameter(description = "Sessions to create", required = true)
+            @RequestBody @NotNull(message = "Sessions must not be null")
+            @Size(min = 1, max = 100, message = "A batch must contain between 1 and 100 sessions") List<@Valid SessionLiteDTO> sessionDTOS) {
+        List<SessionBatchResultDTO> results = sessionService.createSessions(sessionDTOS);
+        return ResponseEntity.status(HttpStatus.OK).body(results);
+    }
+
     @Operation(
             summary = "Get all sessions by student's Clerk ID",
-            description = "Retrieves all academic sessions for a specific student"
+            description = "Retrieves the academic sessions of a specific student ordered by start time, optionally filtered by upcoming or past sessions and by status"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Student sessions retrieved successfully"),
@@ -71,11 +107,35 @@ public class SessionController {
     @GetMapping(value = "/session/student/{clerkId}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<SessionDTO>> getAllSessionsByStudentClerkID(
             @Parameter(description = "Clerk ID of the student", required = true)
-            @PathVariable @NotBlank(message = "Student Clerk ID must not be blank") String clerkId) {
-        List<SessionDTO> sessionDTOS = sessionService.getAllSessionsByStudentClerkId(clerkId);
+            @PathVariable @NotBlank(message = "Student Clerk ID must not be blank") String clerkId,
+            @Parameter(description = "Restricts the result to UPCOMING or PAST sessions. All sessions are returned when omitted.")
+            @RequestParam(name = "period", required = false) Constants.SessionPeriod sessionPeriod,
+            @Parameter(description = "Restricts the result to sessions with the given status. Valid values are: PENDING, ACCEPTED, or COMPLETED.")
+            @RequestParam(name = "status", required = false) Constants.SessionStatus sessionStatus) {
+        List<SessionDTO> sessionDTOS = sessionService.getAllSessionsByStudentClerkId(clerkId, sessionPeriod, sessionStatus);
         return ResponseEntity.status(HttpStatus.OK).body(sessionDTOS);
     }
 
+    @Operation(
+            summary = "Stream session changes of the current student",
+            description = "Opens a Server-Sent Events stream that pushes a 'session-created' or 'session-status-changed' event with the session ID and status whenever one of the authenticated student's sessions changes. " +
+                    "The Clerk token is only accepted in the Authorization header, which the browser EventSource can't set, so browsers open the stream with a fetch-based event source client and fetch a fresh token on every reconnect. " +
+                    "A stream that falls behind is closed and should be reopened, reloading the sessions."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Student not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.STUDENT_ROLE_PERMISSION)
+    @GetMapping(value = "/session/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSessionChanges(@AuthenticationPrincipal User user) {
+        return sessionStreamService.subscribe(user.getUsername());
+    }
+
     @Operation(
             summary = "Get details of all sessions",
             description = "Retrieves all academic sessions with extended student, mentor, and class data"
@@ -94,9 +154,45 @@ public class SessionController {
     }
 
 
+    @Operation(
+            summary = "Get a page of sessions",
+            description = "Retrieves academic sessions ordered by start time using cursor pagination, optionally filtered by status, mentor, classroom and start time range"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sessions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or filter"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/session/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SessionPageDTO> getSessionsPage(
+            @Parameter(description = "The next_cursor returned with the previous page. Omit to fetch the first page.")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of sessions in the page")
+            @RequestParam(name = "size", defaultValue = "20")
+            @Min(value = 1, message = "Page size must be a positive integer")
+            @Max(value = 100, message = "Page size must not exceed 100") Integer size,
+            @Parameter(description = "Restricts the page to sessions with the given status. Valid values are: PENDING, ACCEPTED, or COMPLETED.")
+            @RequestParam(name = "status", required = false) Constants.SessionStatus sessionStatus,
+            @Parameter(description = "Restricts the page to sessions of the given mentor")
+            @RequestParam(name = "mentor_id", required = false) Integer mentorId,
+            @Parameter(description = "Restricts the page to sessions of the given classroom")
+            @RequestParam(name = "class_room_id", required = false) Integer classRoomId,
+            @Parameter(description = "Restricts the page to sessions starting at or after this time in ISO-8601 format", example = "2025-08-01T00:00:00Z")
+            @RequestParam(name = "from", required = false) Instant startFrom,
+            @Parameter(description = "Restricts the page to sessions starting before this time in ISO-8601 format", example = "2025-09-01T00:00:00Z")
+            @RequestParam(name = "to", required = false) Instant startBefore) {
+        final SessionPageDTO sessionPage = sessionService.getSessionsPage(cursor, size, sessionStatus, mentorId, classRoomId, startFrom, startBefore);
+        return ResponseEntity.status(HttpStatus.OK).body(sessionPage);
+    }
+
+
     @Operation(
             summary = "Update session status",
-            description = "Updates the status of an existing session"
+            description = "Updates the status of an existing session. Sessions move from PENDING to ACCEPTED to COMPLETED, one step at a time."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Session status updated successfully"),
@@ -104,6 +200,7 @@ public class SessionController {
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "404", description = "Session not found"),
+            @ApiResponse(responseCode = "409", description = "The session can't move from its current status to the new one"),
             @ApiResponse(responseCode = "500", description = "Internal server error"),
             @ApiResponse(responseCode = "503", description = "Service unavailable")
     })
@@ -113,10 +210,33 @@ public class SessionController {
             @Parameter(description = "ID of the session to update", required = true)
             @PathVariable @Min(value = 1, message = "Session ID must be a positive integer")
             @NotNull(message = "Session ID must not be null") Integer sessionId,
-            @Parameter(description = "The new status to be assigned to the session. Valid values are: PENDING, ACCEPTED, or COMPLETED. All sessions are initially created with a PENDING status.", required = true)
+            @Parameter(description = "The new status to be assigned to the session. Valid values are: PENDING, ACCEPTED, or COMPLETED. All sessions are initially created with a PENDING status and can only move forward one step.", required = true)
             @RequestParam(name = "status") @NotNull(message = "Session status must not be null") Constants.SessionStatus sessionStatus) {
         final SessionDTO updatedSession = sessionService.updateSessionStatus(sessionId, sessionStatus);
         return ResponseEntity.status(HttpStatus.OK).body(updatedSession);
     }
 
+
+    @Operation(
+            summary = "Update the status of many sessions",
+            description = "Moves the given sessions to ACCEPTED (from PENDING) or COMPLETED (from ACCEPTED) in a single update. Sessions that are not in the preceding status are left unchanged and are not returned."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Session statuses updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid session IDs or status"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @PutMapping(value = "/session/status", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<SessionStatusDTO>> updateSessionStatuses(
+            @Parameter(description = "Session IDs and the new status", required = true)
+            @Valid @RequestBody SessionStatusUpdateDTO sessionStatusUpdateDTO) {
+        final List<SessionStatusDTO> updatedSessions = sessionService.updateSessionStatuses(
+                sessionStatusUpdateDTO.getSessionIds(), sessionStatusUpdateDTO.getSessionStatus());
+        return ResponseEntity.status(HttpStatus.OK).body(updatedSessions);
+    }
+
 }
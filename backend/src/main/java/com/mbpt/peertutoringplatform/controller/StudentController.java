@@ -1,6 +1,8 @@
 package com.mbpt.peertutoringplatform.controller;
 
 import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.MentorRecommendationDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
 import com.mbpt.peertutoringplatform.dto.StudentDTO;
 import com.mbpt.peertutoringplatform.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +11,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -68,6 +72,40 @@ public class StudentController {
     }
 
 
+    @Operation(summary = "Get a page of students", description = "Fetches one page of students, filtered and sorted on the server, with the total number of matching students")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Student page retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid page, size, sort or filter"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.ADMIN_ROLE_PERMISSION)
+    @GetMapping(value = "/student/page", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PageDTO<StudentDTO>> getStudentsPage(
+            @Parameter(description = "Zero-based index of the page")
+            @RequestParam(name = "page", defaultValue = "0")
+            @Min(value = 0, message = "Page index must not be negative") Integer page,
+            @Parameter(description = "Number of rows per page")
+            @RequestParam(name = "size", defaultValue = "20")
+            @Min(value = 1, message = "Page size must be a positive integer")
+            @Max(value = 100, message = "Page size must not exceed 100") Integer size,
+            @Parameter(description = "Sort order, repeatable, each of the form field[,asc|desc]. Sortable fields are: student_id, last_name, age.")
+            @RequestParam(name = "sort", required = false) List<String> sort,
+            @Parameter(description = "Minimum age")
+            @RequestParam(name = "min_age", required = false) Integer minAge,
+            @Parameter(description = "Maximum age")
+            @RequestParam(name = "max_age", required = false) Integer maxAge,
+            @Parameter(description = "Restricts the page to students whose first or last name contains this text")
+            @RequestParam(name = "name", required = false) String name,
+            @Parameter(description = "Restricts the page to students whose email contains this text")
+            @RequestParam(name = "email", required = false) String email) {
+        final PageDTO<StudentDTO> studentPage = studentService.getStudentsPage(page, size, sort, minAge, maxAge, name, email);
+        return ResponseEntity.status(HttpStatus.OK).body(studentPage);
+    }
+
+
     @Operation(summary = "Get student by unique Clerk ID", description = "Fetches a list of students that match the given Clerk ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Student retrieved successfully"),
@@ -86,4 +124,27 @@ public class StudentController {
         StudentDTO retrievedStudent = studentService.findStudentByClerkId(id);
         return ResponseEntity.status(HttpStatus.OK).body(retrievedStudent);
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Get recommended mentors of a student", description = "Recommends mentors booked by students who booked the same mentors as this student. Recommendations are recomputed in the background every few minutes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recommended mentors retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid student Clerk ID or limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Student not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error"),
+            @ApiResponse(responseCode = "503", description = "Service unavailable")
+    })
+    @PreAuthorize(Constants.STUDENT_ROLE_PERMISSION)
+    @GetMapping(value = "/student/{clerkId}/recommendations", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<MentorRecommendationDTO>> getRecommendedMentors(
+            @Parameter(description = "Clerk ID of the student", required = true)
+            @NotBlank(message = "Student Clerk ID must not be blank") @PathVariable String clerkId,
+            @Parameter(description = "Maximum number of mentors")
+            @RequestParam(name = "limit", defaultValue = "10")
+            @Min(value = 1, message = "Limit must be a positive integer")
+            @Max(value = 50, message = "Limit must not exceed 50") Integer limit) {
+        List<MentorRecommendationDTO> recommendedMentors = studentService.getRecommendedMentors(clerkId, limit);
+        return ResponseEntity.status(HttpStatus.OK).body(recommendedMentors);
+    }
+}
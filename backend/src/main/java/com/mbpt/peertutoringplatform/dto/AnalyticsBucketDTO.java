@@ -0,0 +1,36 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "AnalyticsBucket", description = "The sessions taking place during one hour or one day, by status")
+public class AnalyticsBucketDTO {
+
+    @JsonProperty("bucket_start")
+    @Schema(description = "Start of the hour or day in ISO-8601 format", example = "2025-08-01T00:00:00Z")
+    private Instant bucketStart;
+
+    @JsonProperty("created_count")
+    @Schema(description = "Number of sessions starting in the bucket", example = "12")
+    private Long createdCount;
+
+    @JsonProperty("accepted_count")
+    @Schema(description = "Number of sessions starting in the bucket that were accepted, including the completed ones", example = "9")
+    private Long acceptedCount;
+
+    @JsonProperty("completed_count")
+    @Schema(description = "Number of sessions starting in the bucket that were completed", example = "7")
+    private Long completedCount;
+
+    @JsonProperty("revenue")
+    @Schema(description = "Sum of the session fees of the completed sessions starting in the bucket", example = "350.0")
+    private Double revenue;
+}
@@ -0,0 +1,34 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "AnalyticsTotal", description = "Session activity of a single mentor or classroom over a date range")
+public class AnalyticsTotalDTO {
+
+    @JsonProperty("id")
+    @Schema(description = "Unique identifier of the mentor or classroom", example = "1")
+    private Integer id;
+
+    @JsonProperty("created_count")
+    @Schema(description = "Number of sessions booked during the range", example = "12")
+    private Long createdCount;
+
+    @JsonProperty("accepted_count")
+    @Schema(description = "Number of sessions accepted during the range", example = "9")
+    private Long acceptedCount;
+
+    @JsonProperty("completed_count")
+    @Schema(description = "Number of sessions completed during the range", example = "7")
+    private Long completedCount;
+
+    @JsonProperty("revenue")
+    @Schema(description = "Sum of the session fees of the sessions completed during the range", example = "350.0")
+    private Double revenue;
+}
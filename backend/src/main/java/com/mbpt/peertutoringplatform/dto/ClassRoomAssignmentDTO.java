@@ -0,0 +1,30 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ClassRoomAssignment", description = "A request to move classrooms to a mentor")
+public class ClassRoomAssignmentDTO {
+
+    @NotNull(message = "Mentor ID must not be null")
+    @JsonProperty("mentor_id")
+    @Schema(description = "ID of the mentor the classrooms are moved to", example = "4", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Integer mentorId;
+
+    @NotEmpty(message = "The list of classroom IDs must not be empty")
+    @Size(max = 500, message = "At most 500 classrooms can be assigned at once")
+    @JsonProperty("class_room_ids")
+    @Schema(description = "IDs of the classrooms to move", example = "[1,5,9]", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<@NotNull(message = "Classroom ID must not be null") Integer> classRoomIds;
+}
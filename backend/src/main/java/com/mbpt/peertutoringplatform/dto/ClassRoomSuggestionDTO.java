@@ -0,0 +1,22 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ClassRoomSuggestion", description = "A classroom whose title matches a typeahead query")
+public class ClassRoomSuggestionDTO {
+
+    @JsonProperty("class_room_id")
+    @Schema(description = "Unique identifier of the classroom", example = "1")
+    private Integer classRoomId;
+
+    @JsonProperty("title")
+    @Schema(description = "The official name of the classroom", example = "CISSP Exam Prep")
+    private String title;
+}
@@ -0,0 +1,36 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mbpt.peertutoringplatform.common.Constants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "ImportResult", description = "The outcome of a bulk import")
+public class ImportResultDTO {
+
+    @JsonProperty("entity")
+    @Schema(description = "The imported entity. Possible values: STUDENT, MENTOR, CLASSROOM, SESSION.", example = "STUDENT")
+    private Constants.ImportEntity entity;
+
+    @JsonProperty("total_rows")
+    @Schema(description = "Number of rows read from the input", example = "50000")
+    private Long totalRows;
+
+    @JsonProperty("imported_rows")
+    @Schema(description = "Number of rows inserted", example = "49990")
+    private Long importedRows;
+
+    @JsonProperty("rejected_rows")
+    @Schema(description = "Number of rows rejected by validation or skipped because they already existed", example = "10")
+    private Long rejectedRows;
+
+    @JsonProperty("error_report_id")
+    @Schema(description = "ID of the CSV report listing the line and reason of every rejected row, downloaded from /academic/import/error-report/{id}. Null when no row was rejected by validation.",
+            example = "3f1c2a9e-8d4b-4e61-9a0f-5c7b2d1e6a48")
+    private String errorReportId;
+}
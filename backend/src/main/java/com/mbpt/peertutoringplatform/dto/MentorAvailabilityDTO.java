@@ -0,0 +1,37 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "MentorAvailability", description = "The free time of a mentor within a date range")
+public class MentorAvailabilityDTO {
+
+    @JsonProperty("mentor_id")
+    @Schema(description = "Unique identifier of the mentor", example = "1")
+    private Integer mentorId;
+
+    @JsonProperty("from")
+    @Schema(description = "Start of the searched range in ISO-8601 format", example = "2025-08-01T00:00:00Z")
+    private Instant from;
+
+    @JsonProperty("to")
+    @Schema(description = "End of the searched range in ISO-8601 format", example = "2025-08-31T00:00:00Z")
+    private Instant to;
+
+    @JsonProperty("granularity")
+    @Schema(description = "Length in minutes of the blocks the free intervals are made of", example = "60")
+    private Integer granularity;
+
+    @JsonProperty("free_slots")
+    @Schema(description = "Free intervals of the mentor ordered by start time, adjacent free blocks merged")
+    private List<TimeSlotDTO> freeSlots;
+}
@@ -0,0 +1,22 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "MentorRecommendation", description = "A mentor booked by similar students, with its score")
+public class MentorRecommendationDTO {
+
+    @JsonProperty("mentor")
+    @Schema(description = "The recommended mentor")
+    private MentorDTO mentor;
+
+    @JsonProperty("score")
+    @Schema(description = "How strongly the mentor is recommended, higher is better. Scores are only comparable within one list.", example = "0.42")
+    private Double score;
+}
@@ -0,0 +1,37 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mbpt.peertutoringplatform.common.Constants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "MentorSearchFacets", description = "Number of mentors per filter value. Each facet applies every filter except its own, so the counts show what selecting another value would return.")
+public class MentorSearchFacetsDTO {
+
+    @JsonProperty("is_certified")
+    @Schema(description = "Number of certified (true) and uncertified (false) mentors", example = "{\"true\": 12, \"false\": 30}")
+    private Map<Boolean, Integer> isCertified;
+
+    @JsonProperty("title")
+    @Schema(description = "Number of mentors per title", example = "{\"DR\": 4, \"MR\": 20}")
+    private Map<Constants.Title, Integer> title;
+
+    @JsonProperty("classrooms")
+    @Schema(description = "Number of mentors per classroom ID, classrooms without mentors are omitted", example = "{\"3\": 2, \"7\": 1}")
+    private Map<Integer, Integer> classRooms;
+
+    @JsonProperty("min_session_fee")
+    @Schema(description = "Lowest session fee of the mentors matching the other filters, null if there are none", example = "15.0")
+    private Double minSessionFee;
+
+    @JsonProperty("max_session_fee")
+    @Schema(description = "Highest session fee of the mentors matching the other filters, null if there are none", example = "80.0")
+    private Double maxSessionFee;
+}
@@ -0,0 +1,22 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "MentorSearchResult", description = "A page of mentors matching the search filters, with facet counts")
+public class MentorSearchResultDTO {
+
+    @JsonProperty("mentors")
+    @Schema(description = "The matching mentors ordered by mentor ID")
+    private PageDTO<MentorDTO> mentors;
+
+    @JsonProperty("facets")
+    @Schema(description = "Number of mentors per filter value")
+    private MentorSearchFacetsDTO facets;
+}
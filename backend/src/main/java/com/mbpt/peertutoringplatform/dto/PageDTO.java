@@ -0,0 +1,41 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "Page", description = "A page of rows with the total number of rows matching the filters")
+public class PageDTO<T> {
+
+    @JsonProperty("content")
+    @Schema(description = "Rows of the current page")
+    private List<T> content;
+
+    @JsonProperty("page")
+    @Schema(description = "Zero-based index of the current page", example = "0")
+    private Integer page;
+
+    @JsonProperty("size")
+    @Schema(description = "Requested number of rows per page", example = "20")
+    private Integer size;
+
+    @JsonProperty("total_elements")
+    @Schema(description = "Number of rows matching the filters. May lag behind recent changes by a few seconds.", example = "134")
+    private Long totalElements;
+
+    @JsonProperty("total_pages")
+    @Schema(description = "Number of pages matching the filters", example = "7")
+    private Integer totalPages;
+
+    public static <T> PageDTO<T> of(List<T> content, int page, int size, long totalElements) {
+        int totalPages = (int) ((totalElements + size - 1) / size);
+        return new PageDTO<>(content, page, size, totalElements, totalPages);
+    }
+}
@@ -0,0 +1,31 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mbpt.peertutoringplatform.common.Constants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "SessionBatchResult", description = "The outcome of a single session of a batch booking request")
+public class SessionBatchResultDTO {
+
+    @JsonProperty("index")
+    @Schema(description = "Position of the session in the batch request, starting from 0", example = "0")
+    private Integer index;
+
+    @JsonProperty("status")
+    @Schema(description = "Whether the session was created or rejected. Possible values: CREATED, REJECTED.", example = "CREATED")
+    private Constants.BatchItemStatus status;
+
+    @JsonProperty("session")
+    @Schema(description = "The created session with its generated ID. Null when the session was rejected.")
+    private SessionLiteDTO session;
+
+    @JsonProperty("message")
+    @Schema(description = "The reason the session was rejected. Null when the session was created.", example = "Mentor with ID: 1 already has a session between 2025-08-01T09:00:00Z and 2025-08-01T11:00:00Z")
+    private String message;
+}
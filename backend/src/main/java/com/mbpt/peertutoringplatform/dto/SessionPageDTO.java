@@ -0,0 +1,24 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "SessionPage", description = "A page of sessions ordered by start time, with a cursor to fetch the next page")
+public class SessionPageDTO {
+
+    @JsonProperty("sessions")
+    @Schema(description = "Sessions of the current page ordered by start time and session ID")
+    private List<SessionDTO> sessions;
+
+    @JsonProperty("next_cursor")
+    @Schema(description = "Opaque cursor to pass as 'cursor' to fetch the next page. Null when this is the last page.", example = "MjAyNS0wOC0wMVQwOTowMDowMFp8NDI")
+    private String nextCursor;
+}
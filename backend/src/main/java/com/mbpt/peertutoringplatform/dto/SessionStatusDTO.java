@@ -0,0 +1,23 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mbpt.peertutoringplatform.common.Constants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "SessionStatus", description = "The ID and current status of a session")
+public class SessionStatusDTO {
+
+    @JsonProperty("session_id")
+    @Schema(description = "Unique identifier of the session", example = "1")
+    private Integer sessionId;
+
+    @JsonProperty("session_status")
+    @Schema(description = "Current status of the session. Possible values: PENDING, ACCEPTED, COMPLETED.", example = "ACCEPTED")
+    private Constants.SessionStatus sessionStatus;
+}
@@ -0,0 +1,31 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mbpt.peertutoringplatform.common.Constants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "SessionStatusUpdate", description = "A request to move many sessions to a new status at once")
+public class SessionStatusUpdateDTO {
+
+    @NotEmpty(message = "The list of session IDs must not be empty")
+    @Size(max = 500, message = "At most 500 sessions can be updated at once")
+    @JsonProperty("session_ids")
+    @Schema(description = "IDs of the sessions to update", example = "[3,7,12]", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<@NotNull(message = "Session ID must not be null") Integer> sessionIds;
+
+    @NotNull(message = "Session status must not be null")
+    @JsonProperty("session_status")
+    @Schema(description = "The new status of the sessions. Valid values are: ACCEPTED (from PENDING) or COMPLETED (from ACCEPTED).", example = "ACCEPTED", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Constants.SessionStatus sessionStatus;
+}
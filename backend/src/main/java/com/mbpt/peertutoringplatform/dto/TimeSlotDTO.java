@@ -0,0 +1,24 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "TimeSlot", description = "A time interval, start inclusive and end exclusive")
+public class TimeSlotDTO {
+
+    @JsonProperty("start_time")
+    @Schema(description = "Start of the interval in ISO-8601 format", example = "2025-08-01T09:00:00Z")
+    private Instant startTime;
+
+    @JsonProperty("end_time")
+    @Schema(description = "End of the interval in ISO-8601 format", example = "2025-08-01T11:00:00Z")
+    private Instant endTime;
+}
@@ -0,0 +1,26 @@
+package com.mbpt.peertutoringplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(name = "TrendingClassRoom", description = "A classroom ranked by its recent bookings")
+public class TrendingClassRoomDTO {
+
+    @JsonProperty("class_room_id")
+    @Schema(description = "Unique identifier of the classroom", example = "1")
+    private Integer classRoomId;
+
+    @JsonProperty("title")
+    @Schema(description = "The official name of the classroom", example = "CISSP Exam Prep")
+    private String title;
+
+    @JsonProperty("score")
+    @Schema(description = "Number of bookings, each counted with half its weight per day since it was made", example = "12.5")
+    private Double score;
+}
@@ -11,7 +11,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "classrooms")
+@Table(name = "classrooms", indexes = {
+        @Index(name = "idx_classrooms_mentor_id", columnList = "mentor_id"),
+        @Index(name = "idx_classrooms_title", columnList = "title"),
+        @Index(name = "idx_classrooms_enrolled_student_count", columnList = "enrolled_student_count")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -32,8 +36,9 @@ public class ClassRoomEntity {
     @Column(name = "title", nullable = false)
     private String title;
 
+    // maintained by ClassRoomEnrollmentIndex, never written back from the entity
     @NotNull(message = "Enrolled student count must not be null")
-    @Column(name = "enrolled_student_count", nullable = false)
+    @Column(name = "enrolled_student_count", nullable = false, updatable = false)
     private Integer enrolledStudentCount;
 
     @NotBlank(message = "Class image URL must not be blank")
@@ -54,8 +59,7 @@ public class ClassRoomEntity {
                 ", title='" + title + '\'' +
                 ", enrolledStudentCount=" + enrolledStudentCount +
                 ", classImage='" + classImage + '\'' +
-                ", mentorID='" + mentorEntity.getMentorId() + '\'' +
-                ", sessionEntityList=" + sessionEntityList +
+                ", mentorID='" + (mentorEntity != null ? mentorEntity.getMentorId() : null) + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,33 @@
+package com.mbpt.peertutoringplatform.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of the time-decayed booking score of a classroom, so that trending scores survive restarts.
+ * The score is the value at {@code scoredAt} and keeps decaying from there.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "classroom_trending_scores")
+public class ClassRoomTrendingScoreEntity {
+
+    @Id
+    @Column(name = "class_room_id")
+    private Integer classRoomId;
+
+    @NotNull(message = "Score must not be null")
+    @Column(name = "score", nullable = false)
+    private Double score;
+
+    @NotNull(message = "Scored at must not be null")
+    @Column(name = "scored_at", nullable = false)
+    private Instant scoredAt;
+}
@@ -0,0 +1,41 @@
+package com.mbpt.peertutoringplatform.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Number of sessions per mentor and classroom, maintained in the same transaction as the sessions
+ * themselves so that mentor profiles do not need to count the sessions table.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "mentor_class_session_counts")
+public class MentorClassSessionCountEntity {
+
+    @EmbeddedId
+    private Key key;
+
+    @NotNull(message = "Session count must not be null")
+    @Column(name = "session_count", nullable = false)
+    private Integer sessionCount;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "mentor_id", nullable = false)
+        private Integer mentorId;
+
+        @Column(name = "class_room_id", nullable = false)
+        private Integer classRoomId;
+    }
+}
@@ -12,7 +12,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "mentors")
+@Table(name = "mentors", indexes = {
+        @Index(name = "idx_mentors_is_certified_session_fee", columnList = "is_certified, session_fee"),
+        @Index(name = "idx_mentors_session_fee", columnList = "session_fee"),
+        @Index(name = "idx_mentors_last_name", columnList = "last_name"),
+        @Index(name = "idx_mentors_positive_reviews", columnList = "positive_reviews")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -11,29 +11,42 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        @Index(name = "idx_sessions_student_start_time", columnList = "student_id, start_time"),
+        @Index(name = "idx_sessions_start_time_id", columnList = "start_time, session_id")
+})
+@NamedEntityGraph(name = SessionEntity.WITH_PARTICIPANTS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("classRoomEntity"),
+        @NamedAttributeNode("mentorEntity"),
+        @NamedAttributeNode("studentEntity")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class SessionEntity {
 
+    /**
+     * Fetch plan loading the classroom, mentor and student of a session in the same query.
+     */
+    public static final String WITH_PARTICIPANTS_GRAPH = "SessionEntity.withParticipants";
+
     @Id
     @Column(name = "session_id")
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer sessionId;
 
     @NotNull(message = "Classroom must not be null")
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "class_room_id", referencedColumnName = "class_room_id", nullable = false)
     private ClassRoomEntity classRoomEntity;
 
     @NotNull(message = "Mentor must not be null")
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "mentor_id", referencedColumnName = "mentor_id", nullable = false)
     private MentorEntity mentorEntity;
 
     @NotNull(message = "Student must not be null")
-    @ManyToOne()
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", referencedColumnName = "student_id", nullable = false)
     private StudentEntity studentEntity;
 
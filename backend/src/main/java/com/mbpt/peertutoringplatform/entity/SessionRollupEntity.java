@@ -0,0 +1,64 @@
+package com.mbpt.peertutoringplatform.entity;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The sessions of a mentor in a classroom that take place during one hour or one day, by their
+ * status, maintained incrementally as sessions are created or change status. A session is counted in
+ * the bucket of its start time, whenever it was booked or changed. Revenue is the sum of the mentor's
+ * session fee over the completed sessions of the bucket.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "session_rollups")
+public class SessionRollupEntity {
+
+    @EmbeddedId
+    private Key key;
+
+    @NotNull(message = "Created count must not be null")
+    @Column(name = "created_count", nullable = false)
+    private Integer createdCount;
+
+    @NotNull(message = "Accepted count must not be null")
+    @Column(name = "accepted_count", nullable = false)
+    private Integer acceptedCount;
+
+    @NotNull(message = "Completed count must not be null")
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount;
+
+    @NotNull(message = "Revenue must not be null")
+    @Column(name = "revenue", nullable = false)
+    private Double revenue;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "granularity", nullable = false, length = 8)
+        @Enumerated(EnumType.STRING)
+        private Constants.RollupGranularity granularity;
+
+        @Column(name = "bucket_start", nullable = false)
+        private Instant bucketStart;
+
+        @Column(name = "mentor_id", nullable = false)
+        private Integer mentorId;
+
+        @Column(name = "class_room_id", nullable = false)
+        private Integer classRoomId;
+    }
+}
@@ -4,13 +4,18 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "students")
+@Table(name = "students", indexes = {
+        @Index(name = "idx_students_age", columnList = "age"),
+        @Index(name = "idx_students_last_name", columnList = "last_name")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -52,7 +57,9 @@ public class StudentEntity {
     @Column(name = "age")
     private Integer age;
 
-    @OneToMany(mappedBy = "studentEntity", fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "studentEntity", fetch = FetchType.LAZY)
     private List<SessionEntity> sessionEntityList = new ArrayList<>();
 
 }
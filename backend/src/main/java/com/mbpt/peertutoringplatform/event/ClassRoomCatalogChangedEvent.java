@@ -0,0 +1,10 @@
+package com.mbpt.peertutoringplatform.event;
+
+/**
+ * Published when a change affects the public classroom catalog, i.e. a classroom is created,
+ * updated or deleted, or a mentor shown in the catalog is assigned or changed.
+ *
+ * @param reason a short description of the change, for logging
+ */
+public record ClassRoomCatalogChangedEvent(String reason) {
+}
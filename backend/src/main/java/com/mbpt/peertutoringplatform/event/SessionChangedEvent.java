@@ -0,0 +1,36 @@
+package com.mbpt.peertutoringplatform.event;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Published by the session service when sessions are created or change status.
+ * One event is published per service call, carrying every session changed by that call.
+ *
+ * @param changes the changed sessions
+ */
+public record SessionChangedEvent(List<SessionChange> changes) {
+
+    /**
+     * A single created or updated session.
+     *
+     * @param sessionId      the ID of the session
+     * @param studentId      the ID of the student of the session
+     * @param mentorId       the ID of the mentor of the session
+     * @param classRoomId    the ID of the classroom of the session
+     * @param startTime      the start time of the session
+     * @param endTime        the end time of the session
+     * @param previousStatus the status before the change, null if the session was created
+     * @param sessionStatus  the status after the change
+     */
+    public record SessionChange(Integer sessionId, Integer studentId, Integer mentorId, Integer classRoomId,
+                                Instant startTime, Instant endTime,
+                                Constants.SessionStatus previousStatus, Constants.SessionStatus sessionStatus) {
+
+        public boolean isCreation() {
+            return previousStatus == null;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mbpt.peertutoringplatform.exception;
+
+public class BookingConflictException extends RuntimeException {
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
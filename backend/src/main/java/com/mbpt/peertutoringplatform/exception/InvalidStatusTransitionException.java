@@ -0,0 +1,7 @@
+package com.mbpt.peertutoringplatform.exception;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,134 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.TransactionCallbacks;
+import com.mbpt.peertutoringplatform.event.ClassRoomCatalogChangedEvent;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import com.mbpt.peertutoringplatform.repository.projection.ClassRoomStudentIdView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the number of distinct students with sessions in each classroom.
+ * <p>
+ * The students of every classroom are held in a concurrent set, so recording a booking never takes
+ * a row lock on the classroom. Classrooms whose count changed are marked dirty and their counts are
+ * written to the {@code classrooms} table in one batch every few seconds. The sets are rebuilt from
+ * the sessions table at startup, which also repairs any count lost by a crash before a flush.
+ */
+@Slf4j
+@Component
+public class ClassRoomEnrollmentIndex {
+
+    private final ClassRoomRepository classRoomRepository;
+
+    private final LiteSessionRepository liteSessionRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Integer, Set<Integer>> studentsByClassRoom = new ConcurrentHashMap<>();
+
+    private final Set<Integer> dirtyClassRoomIds = ConcurrentHashMap.newKeySet();
+
+    public ClassRoomEnrollmentIndex(ClassRoomRepository classRoomRepository, LiteSessionRepository liteSessionRepository,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.classRoomRepository = classRoomRepository;
+        this.liteSessionRepository = liteSessionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void load() {
+        List<ClassRoomStudentIdView> pairs = liteSessionRepository.findDistinctClassRoomStudentIds();
+        for (ClassRoomStudentIdView pair : pairs) {
+            students(pair.getClassRoomId()).add(pair.getStudentId());
+        }
+        Map<Integer, Integer> counts = new HashMap<>();
+        classRoomRepository.findAllTitles().forEach(classRoom -> counts.put(classRoom.getClassRoomId(),
+                studentsByClassRoom.getOrDefault(classRoom.getClassRoomId(), Set.of()).size()));
+        classRoomRepository.updateEnrolledStudentCounts(counts);
+        log.info("Loaded {} enrollments of {} classrooms into the classroom enrollment index", pairs.size(), counts.size());
+    }
+
+    /**
+     * Forgets the students of a deleted classroom, once the surrounding transaction (if any) has committed.
+     *
+     * @param classRoomId the ID of the deleted classroom
+     */
+    public void removeClassRoom(Integer classRoomId) {
+        TransactionCallbacks.runAfterCommit(() -> {
+            studentsByClassRoom.remove(classRoomId);
+            dirtyClassRoomIds.remove(classRoomId);
+        });
+    }
+
+    /**
+     * Records students of classrooms added outside of the session events, e.g. by a bulk import,
+     * once the surrounding transaction (if any) has committed.
+     *
+     * @param studentIdsByClassRoom the IDs of the students per classroom ID
+     */
+    public void addEnrollments(Map<Integer, Set<Integer>> studentIdsByClassRoom) {
+        TransactionCallbacks.runAfterCommit(() -> studentIdsByClassRoom.forEach((classRoomId, studentIds) -> {
+            if (students(classRoomId).addAll(studentIds)) {
+                dirtyClassRoomIds.add(classRoomId);
+            }
+        }));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(SessionChangedEvent event) {
+        for (SessionChangedEvent.SessionChange change : event.changes()) {
+            if (change.isCreation() && students(change.classRoomId()).add(change.studentId())) {
+                dirtyClassRoomIds.add(change.classRoomId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 10_000, initialDelay = 10_000)
+    void flush() {
+        if (dirtyClassRoomIds.isEmpty()) {
+            return;
+        }
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Integer classRoomId : dirtyClassRoomIds) {
+            // removed before the count is read, so a student added meanwhile marks the classroom dirty again
+            dirtyClassRoomIds.remove(classRoomId);
+            Set<Integer> students = studentsByClassRoom.get(classRoomId);
+            if (students != null) {
+                counts.put(classRoomId, students.size());
+            }
+        }
+        try {
+            classRoomRepository.updateEnrolledStudentCounts(counts);
+        } catch (RuntimeException e) {
+            dirtyClassRoomIds.addAll(counts.keySet());
+            log.error("Failed to flush enrolled student counts of {} classrooms, retrying with the next flush", counts.size(), e);
+            return;
+        }
+        log.debug("Flushed enrolled student counts of {} classrooms", counts.size());
+        eventPublisher.publishEvent(new ClassRoomCatalogChangedEvent("enrolled student counts changed"));
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private Set<Integer> students(Integer classRoomId) {
+        return studentsByClassRoom.computeIfAbsent(classRoomId, id -> ConcurrentHashMap.newKeySet());
+    }
+}
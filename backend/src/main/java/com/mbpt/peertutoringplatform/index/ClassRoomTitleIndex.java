@@ -0,0 +1,221 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.TransactionCallbacks;
+import com.mbpt.peertutoringplatform.dto.ClassRoomSuggestionDTO;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.projection.ClassRoomTitleView;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over the classroom titles, used for typeahead suggestions.
+ * <p>
+ * Titles are normalized to lower case without accents and split into words. Every word is stored
+ * in a sorted array, so the words starting with a prefix form a contiguous range found by binary
+ * search. A query matches a classroom when every query word is a prefix of one of its title words.
+ * The arrays are immutable and replaced on every change, so lookups never lock.
+ */
+@Slf4j
+@Component
+public class ClassRoomTitleIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ClassRoomRepository classRoomRepository;
+
+    // guarded by this, only used to rebuild the snapshot
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new Entry[0], Map.of());
+
+    public ClassRoomTitleIndex(ClassRoomRepository classRoomRepository) {
+        this.classRoomRepository = classRoomRepository;
+    }
+
+    @PostConstruct
+    synchronized void load() {
+        for (ClassRoomTitleView classRoom : classRoomRepository.findAllTitles()) {
+            entries.put(classRoom.getClassRoomId(), new Entry(classRoom.getClassRoomId(), classRoom.getTitle()));
+        }
+        rebuild();
+        log.info("Loaded {} classroom titles into the classroom title index", entries.size());
+    }
+
+    /**
+     * Adds or replaces the title of a classroom, once the surrounding transaction (if any) has committed.
+     *
+     * @param classRoomId the ID of the classroom
+     * @param title       the title of the classroom
+     */
+    public void put(Integer classRoomId, String title) {
+        TransactionCallbacks.runAfterCommit(() -> {
+            synchronized (this) {
+                entries.put(classRoomId, new Entry(classRoomId, title));
+                rebuild();
+            }
+        });
+    }
+
+    /**
+     * Removes a classroom, once the surrounding transaction (if any) has committed.
+     *
+     * @param classRoomId the ID of the deleted classroom
+     */
+    public void remove(Integer classRoomId) {
+        TransactionCallbacks.runAfterCommit(() -> {
+            synchronized (this) {
+                if (entries.remove(classRoomId) != null) {
+                    rebuild();
+                }
+            }
+        });
+    }
+
+    /**
+     * Retrieves the title of a classroom.
+     *
+     * @param classRoomId the ID of the classroom
+     * @return the title, or {@code null} if the classroom does not exist
+     */
+    public String findTitle(Integer classRoomId) {
+        return snapshot.titles.get(classRoomId);
+    }
+
+    /**
+     * Finds the classrooms whose title matches a query, best matches first. Titles starting with the
+     * whole query rank first, then titles with more whole-word matches, then shorter titles.
+     *
+     * @param query the text typed by the user
+     * @param limit the maximum number of suggestions
+     * @return the matching classrooms, at most {@code limit}
+     */
+    public List<ClassRoomSuggestionDTO> suggest(String query, int limit) {
+        String[] queryWords = words(normalize(query));
+        if (queryWords.length == 0) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        Set<Entry> candidates = null;
+        for (String queryWord : queryWords) {
+            Set<Entry> matches = new HashSet<>();
+            for (int i = lowerBound(current.words, queryWord); i < current.words.length && current.words[i].startsWith(queryWord); i++) {
+                matches.add(current.owners[i]);
+            }
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        String normalizedQuery = String.join(" ", queryWords);
+        return candidates.stream()
+                .sorted(Comparator.<Entry>comparingInt(entry -> entry.normalizedTitle.startsWith(normalizedQuery) ? 0 : 1)
+                        .thenComparing(Comparator.<Entry>comparingInt(entry -> entry.countWholeWords(queryWords)).reversed())
+                        .thenComparingInt(entry -> entry.normalizedTitle.length())
+                        .thenComparing(entry -> entry.normalizedTitle))
+                .limit(limit)
+                .map(entry -> new ClassRoomSuggestionDTO(entry.classRoomId, entry.title))
+                .toList();
+    }
+
+    private void rebuild() {
+        List<Map.Entry<String, Entry>> postings = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            for (String word : entry.words) {
+                postings.add(Map.entry(word, entry));
+            }
+        }
+        postings.sort(Map.Entry.comparingByKey());
+
+        String[] words = new String[postings.size()];
+        Entry[] owners = new Entry[postings.size()];
+        for (int i = 0; i < postings.size(); i++) {
+            words[i] = postings.get(i).getKey();
+            owners[i] = postings.get(i).getValue();
+        }
+        Map<Integer, String> titles = new HashMap<>();
+        entries.forEach((classRoomId, entry) -> titles.put(classRoomId, entry.title));
+        snapshot = new Snapshot(words, owners, titles);
+    }
+
+    private static int lowerBound(String[] words, String prefix) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WORD_SEPARATORS.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String[] words(String normalized) {
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    /**
+     * The sorted words of all titles, with the classroom each word belongs to at the same position,
+     * and the title of every classroom. Never modified once published.
+     */
+    private record Snapshot(String[] words, Entry[] owners, Map<Integer, String> titles) {
+    }
+
+    private static final class Entry {
+
+        private final Integer classRoomId;
+        private final String title;
+        private final String normalizedTitle;
+        private final String[] words;
+
+        private Entry(Integer classRoomId, String title) {
+            this.classRoomId = classRoomId;
+            this.title = title;
+            this.normalizedTitle = normalize(title);
+            this.words = Arrays.stream(words(normalizedTitle)).distinct().toArray(String[]::new);
+        }
+
+        int countWholeWords(String[] queryWords) {
+            int count = 0;
+            for (String queryWord : queryWords) {
+                for (String word : words) {
+                    if (word.equals(queryWord)) {
+                        count++;
+                        break;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.mbpt.peertutoringplatform.index;
+
+/**
+ * Open-addressing hash map from {@code int} to {@code int} without boxing, used for the rows of
+ * sparse count matrices. Key {@code 0} is reserved as the empty marker, which is safe for the
+ * identity-generated IDs stored here. Absent keys map to {@code 0}. Not thread-safe.
+ */
+final class IntIntMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    IntIntMap() {
+        keys = new int[8];
+        values = new int[8];
+    }
+
+    int get(int key) {
+        int index = indexOf(key);
+        return keys[index] == key ? values[index] : 0;
+    }
+
+    void increment(int key, int delta) {
+        int index = indexOf(key);
+        if (keys[index] == key) {
+            values[index] += delta;
+            return;
+        }
+        keys[index] = key;
+        values[index] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int hash = key * 0x9E3779B9;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (keys[index] != 0 && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        void accept(int key, int value);
+    }
+}
@@ -0,0 +1,248 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.TransactionCallbacks;
+import com.mbpt.peertutoringplatform.dto.TimeSlotDTO;
+import com.mbpt.peertutoringplatform.entity.LiteSessionEntity;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import com.mbpt.peertutoringplatform.repository.MentorRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory occupancy bitmap of every mentor, used to answer availability queries without
+ * touching the database.
+ * <p>
+ * Time is divided into 15-minute UTC slots; each day of a mentor is two {@code long}s holding one
+ * bit per slot, set when any session overlaps the slot. Days without sessions are not stored.
+ * The bitmap is seeded at startup with the sessions that have not ended yet and is updated after
+ * every committed booking. The status of a session does not change the time it occupies.
+ */
+@Slf4j
+@Component
+public class MentorAvailabilityIndex {
+
+    public static final int SLOT_MINUTES = 15;
+
+    private static final long SLOT_SECONDS = SLOT_MINUTES * 60L;
+
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final LiteSessionRepository liteSessionRepository;
+
+    private final MentorRepository mentorRepository;
+
+    private final SessionIntervalIndex sessionIntervalIndex;
+
+    private final Set<Integer> knownMentorIds = ConcurrentHashMap.newKeySet();
+
+    private final Map<Integer, Occupancy> occupancies = new ConcurrentHashMap<>();
+
+    public MentorAvailabilityIndex(LiteSessionRepository liteSessionRepository, MentorRepository mentorRepository,
+                                   SessionIntervalIndex sessionIntervalIndex) {
+        this.liteSessionRepository = liteSessionRepository;
+        this.mentorRepository = mentorRepository;
+        this.sessionIntervalIndex = sessionIntervalIndex;
+    }
+
+    @PostConstruct
+    void load() {
+        knownMentorIds.addAll(mentorRepository.findAllMentorIds());
+        List<LiteSessionEntity> sessions = liteSessionRepository.findAllByEndTimeAfter(startOfToday());
+        for (LiteSessionEntity session : sessions) {
+            occupancy(session.getMentorId()).mark(session.getStartTime(), session.getEndTime());
+        }
+        log.info("Loaded {} sessions of {} mentors into the mentor availability index", sessions.size(), knownMentorIds.size());
+    }
+
+    /**
+     * Checks whether a mentor is known to the index.
+     *
+     * @param mentorId the ID of the mentor
+     * @return {@code true} if the mentor exists
+     */
+    public boolean isKnownMentor(Integer mentorId) {
+        return knownMentorIds.contains(mentorId);
+    }
+
+    /**
+     * Registers a new mentor, once the surrounding transaction (if any) has committed.
+     *
+     * @param mentorId the ID of the created mentor
+     */
+    public void registerMentor(Integer mentorId) {
+        TransactionCallbacks.runAfterCommit(() -> knownMentorIds.add(mentorId));
+    }
+
+    /**
+     * Rebuilds the occupancy of a mentor from the committed bookings of the session interval index,
+     * once the surrounding transaction (if any) has committed. Used when sessions of the mentor are
+     * removed, since a slot can be shared by two short sessions and cannot simply be cleared.
+     * <p>
+     * The bookings are read under the same lock as {@link #onSessionChanged} marks with. A booking is
+     * committed before its event is handled, so it is either read here or marked after the rebuild;
+     * bookings of transactions still in flight are marked when their event arrives, or never if they roll back.
+     *
+     * @param mentorId the ID of the mentor
+     */
+    public void rebuildMentor(Integer mentorId) {
+        TransactionCallbacks.runAfterCommit(() -> {
+            Occupancy occupancy = occupancy(mentorId);
+            int rebuilt = 0;
+            synchronized (occupancy) {
+                occupancy.clear();
+                for (SessionIntervalIndex.Booking booking
+                        : sessionIntervalIndex.findMentorBookings(mentorId, startOfToday(), Instant.MAX)) {
+                    if (booking.isCommitted()) {
+                        occupancy.mark(booking.getStartTime(), booking.getEndTime());
+                        rebuilt++;
+                    }
+                }
+            }
+            log.debug("Rebuilt availability of mentor with ID: {} from {} bookings", mentorId, rebuilt);
+        });
+    }
+
+    /**
+     * Finds the free intervals of a mentor within {@code [from, to)}. The range is cut into blocks of
+     * {@code granularitySlots} slots starting at {@code from} rounded up to a slot boundary; a block is
+     * free when none of its slots is occupied, and adjacent free blocks are merged.
+     *
+     * @param mentorId         the ID of the mentor
+     * @param from             the start of the range, inclusive
+     * @param to               the end of the range, exclusive
+     * @param granularitySlots the number of 15-minute slots in a block
+     * @return the free intervals ordered by start time
+     */
+    public List<TimeSlotDTO> findFreeSlots(Integer mentorId, Instant from, Instant to, int granularitySlots) {
+        long fromSlot = -Math.floorDiv(-from.getEpochSecond(), SLOT_SECONDS);
+        long toSlot = Math.floorDiv(to.getEpochSecond(), SLOT_SECONDS);
+
+        List<TimeSlotDTO> freeSlots = new ArrayList<>();
+        Occupancy occupancy = occupancies.get(mentorId);
+        if (occupancy == null) {
+            long lastBlockEnd = fromSlot + (toSlot - fromSlot) / granularitySlots * granularitySlots;
+            if (lastBlockEnd > fromSlot) {
+                freeSlots.add(toTimeSlot(fromSlot, lastBlockEnd));
+            }
+            return freeSlots;
+        }
+
+        long runStart = -1;
+        long runEnd = -1;
+        synchronized (occupancy) {
+            for (long blockStart = fromSlot; blockStart + granularitySlots <= toSlot; blockStart += granularitySlots) {
+                long blockEnd = blockStart + granularitySlots;
+                if (!occupancy.isFree(blockStart, blockEnd)) {
+                    continue;
+                }
+                if (runEnd == blockStart) {
+                    runEnd = blockEnd;
+                } else {
+                    if (runStart >= 0) {
+                        freeSlots.add(toTimeSlot(runStart, runEnd));
+                    }
+                    runStart = blockStart;
+                    runEnd = blockEnd;
+                }
+            }
+        }
+        if (runStart >= 0) {
+            freeSlots.add(toTimeSlot(runStart, runEnd));
+        }
+        return freeSlots;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(SessionChangedEvent event) {
+        for (SessionChangedEvent.SessionChange change : event.changes()) {
+            if (change.isCreation()) {
+                Occupancy occupancy = occupancy(change.mentorId());
+                synchronized (occupancy) {
+                    occupancy.mark(change.startTime(), change.endTime());
+                }
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 5 3 * * *")
+    void evictPastDays() {
+        long today = Math.floorDiv(Instant.now().getEpochSecond(), SLOT_SECONDS * SLOTS_PER_DAY);
+        for (Occupancy occupancy : occupancies.values()) {
+            synchronized (occupancy) {
+                occupancy.clearBefore(today);
+            }
+        }
+    }
+
+    private Occupancy occupancy(Integer mentorId) {
+        return occupancies.computeIfAbsent(mentorId, id -> new Occupancy());
+    }
+
+    private static Instant startOfToday() {
+        long secondsPerDay = SLOT_SECONDS * SLOTS_PER_DAY;
+        return Instant.ofEpochSecond(Math.floorDiv(Instant.now().getEpochSecond(), secondsPerDay) * secondsPerDay);
+    }
+
+    private static TimeSlotDTO toTimeSlot(long startSlot, long endSlot) {
+        return new TimeSlotDTO(Instant.ofEpochSecond(startSlot * SLOT_SECONDS), Instant.ofEpochSecond(endSlot * SLOT_SECONDS));
+    }
+
+    /**
+     * The occupied slots of a single mentor, keyed by epoch day. Not thread-safe, callers synchronize on it.
+     */
+    private static final class Occupancy {
+
+        private final TreeMap<Long, long[]> slotsByDay = new TreeMap<>();
+
+        void mark(Instant startTime, Instant endTime) {
+            long firstSlot = Math.floorDiv(startTime.getEpochSecond(), SLOT_SECONDS);
+            long endSlot = -Math.floorDiv(-endTime.getEpochSecond(), SLOT_SECONDS);
+            for (long slot = firstSlot; slot < endSlot; slot++) {
+                long[] day = slotsByDay.computeIfAbsent(Math.floorDiv(slot, SLOTS_PER_DAY), d -> new long[2]);
+                int index = (int) Math.floorMod(slot, SLOTS_PER_DAY);
+                day[index >>> 6] |= 1L << (index & 63);
+            }
+        }
+
+        boolean isFree(long fromSlot, long toSlot) {
+            long[] day = null;
+            long currentDay = Long.MIN_VALUE;
+            for (long slot = fromSlot; slot < toSlot; slot++) {
+                long slotDay = Math.floorDiv(slot, SLOTS_PER_DAY);
+                if (slotDay != currentDay) {
+                    currentDay = slotDay;
+                    day = slotsByDay.get(slotDay);
+                }
+                if (day == null) {
+                    continue;
+                }
+                int index = (int) Math.floorMod(slot, SLOTS_PER_DAY);
+                if ((day[index >>> 6] & (1L << (index & 63))) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void clear() {
+            slotsByDay.clear();
+        }
+
+        void clearBefore(long epochDay) {
+            slotsByDay.headMap(epochDay, false).clear();
+        }
+    }
+}
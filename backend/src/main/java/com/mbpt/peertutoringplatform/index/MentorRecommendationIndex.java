@@ -0,0 +1,214 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.TransactionCallbacks;
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import com.mbpt.peertutoringplatform.repository.projection.MentorStudentIdView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Mentor-to-mentor similarity built from session history, used to serve "students who booked this
+ * mentor also booked" lists and per-student recommendations from memory.
+ * <p>
+ * Two mentors are similar when the same students booked both; the similarity is the number of
+ * shared students divided by the geometric mean of their student counts (cosine). Shared student
+ * counts are kept in a sparse matrix with one {@link IntIntMap} row per mentor. A background job
+ * reads only the sessions created since its previous run, updates the matrix with the new
+ * mentor-student pairs and recomputes the related mentors of the mentors those pairs touched.
+ * Sessions committed far below that point, such as those of a bulk import, are read again on request.
+ */
+@Slf4j
+@Component
+public class MentorRecommendationIndex {
+
+    /**
+     * Number of related mentors kept per mentor.
+     */
+    public static final int MAX_RELATED = 20;
+
+    private static final int SESSION_ID_WINDOW = 200_000;
+
+    /**
+     * Sessions are numbered when inserted but may commit out of order, so every run re-reads this
+     * many IDs below the previous watermark. Pairs that are already known are skipped.
+     */
+    private static final int SESSION_ID_OVERLAP = 1_000;
+
+    private final LiteSessionRepository liteSessionRepository;
+
+    // written by the job thread only
+    private final Map<Integer, IntIntMap> sharedStudents = new HashMap<>();
+
+    private final IntIntMap studentCounts = new IntIntMap();
+
+    private int lastSessionId;
+
+    // session ID ranges to read again with the next run, because they committed below the watermark
+    private final Queue<int[]> pendingRanges = new ConcurrentLinkedQueue<>();
+
+    // read by request threads
+    private final Map<Integer, int[]> mentorsByStudent = new ConcurrentHashMap<>();
+
+    private final Map<Integer, List<RelatedMentor>> relatedMentors = new ConcurrentHashMap<>();
+
+    public MentorRecommendationIndex(LiteSessionRepository liteSessionRepository) {
+        this.liteSessionRepository = liteSessionRepository;
+    }
+
+    /**
+     * Retrieves the mentors most similar to a mentor.
+     *
+     * @param mentorId the ID of the mentor
+     * @return at most {@link #MAX_RELATED} related mentors, most similar first
+     */
+    public List<RelatedMentor> findRelatedMentors(Integer mentorId) {
+        return relatedMentors.getOrDefault(mentorId, List.of());
+    }
+
+    /**
+     * Recommends mentors to a student by adding up the similarities of the related mentors of every
+     * mentor the student has booked. Mentors the student has already booked are not recommended.
+     *
+     * @param studentId the ID of the student
+     * @param limit     the maximum number of mentors to return
+     * @return the recommended mentors, best first
+     */
+    public List<RelatedMentor> recommendMentors(Integer studentId, int limit) {
+        int[] bookedMentorIds = mentorsByStudent.getOrDefault(studentId, new int[0]);
+        Map<Integer, Double> scores = new HashMap<>();
+        for (int bookedMentorId : bookedMentorIds) {
+            for (RelatedMentor related : findRelatedMentors(bookedMentorId)) {
+                if (Arrays.binarySearch(bookedMentorIds, related.mentorId()) < 0) {
+                    scores.merge(related.mentorId(), related.score(), Double::sum);
+                }
+            }
+        }
+        return scores.entrySet().stream()
+                .map(entry -> new RelatedMentor(entry.getKey(), entry.getValue()))
+                .sorted(RelatedMentor.BEST_FIRST)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Reads the sessions with an ID in {@code [fromSessionId, toSessionId]} again with the next run, once
+     * the surrounding transaction (if any) has committed. Used by bulk imports, whose sessions may commit
+     * long after sessions with higher IDs were already read.
+     *
+     * @param fromSessionId the first session ID to read
+     * @param toSessionId   the last session ID to read
+     */
+    public void rescanSessions(int fromSessionId, int toSessionId) {
+        TransactionCallbacks.runAfterCommit(() -> pendingRanges.add(new int[]{fromSessionId, toSessionId}));
+    }
+
+    @Scheduled(fixedDelay = 300_000, initialDelay = 30_000)
+    void refresh() {
+        Integer maxSessionId = liteSessionRepository.findMaxSessionId().orElse(0);
+        if (maxSessionId <= lastSessionId && pendingRanges.isEmpty()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        Set<Integer> changedMentorIds = new HashSet<>();
+        int overlapStart = Math.max(0, lastSessionId - SESSION_ID_OVERLAP);
+        int newPairs = 0;
+        // the part of a range above the overlap is read with the new sessions below
+        for (int[] range; (range = pendingRanges.poll()) != null; ) {
+            newPairs += addPairs(range[0] - 1, Math.min(range[1], overlapStart), changedMentorIds);
+        }
+        if (maxSessionId > lastSessionId) {
+            newPairs += addPairs(overlapStart, maxSessionId, changedMentorIds);
+            lastSessionId = maxSessionId;
+        }
+
+        // a new student changes the similarity of the mentor to all its neighbours, so their lists are refreshed too
+        Set<Integer> recomputedMentorIds = new HashSet<>(changedMentorIds);
+        for (Integer mentorId : changedMentorIds) {
+            IntIntMap row = sharedStudents.get(mentorId);
+            if (row != null) row.forEach((neighbourId, shared) -> recomputedMentorIds.add(neighbourId));
+        }
+        recomputedMentorIds.forEach(this::recomputeRelatedMentors);
+
+        log.info("Added {} mentor-student pairs up to session ID: {} and recomputed {} related mentor lists in {} ms",
+                newPairs, maxSessionId, recomputedMentorIds.size(), (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * Adds the mentor-student pairs of the sessions with an ID in {@code (afterId, untilId]}, reading them in windows.
+     *
+     * @return the number of pairs that were not known yet
+     */
+    private int addPairs(int afterId, int untilId, Set<Integer> changedMentorIds) {
+        int newPairs = 0;
+        for (int windowAfterId = afterId; windowAfterId < untilId; windowAfterId += SESSION_ID_WINDOW) {
+            int windowUntilId = (int) Math.min((long) windowAfterId + SESSION_ID_WINDOW, untilId);
+            for (MentorStudentIdView pair : liteSessionRepository.findDistinctMentorStudentIds(windowAfterId, windowUntilId)) {
+                if (addPair(pair.getMentorId(), pair.getStudentId(), changedMentorIds)) {
+                    newPairs++;
+                }
+            }
+        }
+        return newPairs;
+    }
+
+    private boolean addPair(int mentorId, int studentId, Set<Integer> changedMentorIds) {
+        int[] bookedMentorIds = mentorsByStudent.getOrDefault(studentId, new int[0]);
+        int position = Arrays.binarySearch(bookedMentorIds, mentorId);
+        if (position >= 0) {
+            return false;
+        }
+        IntIntMap row = sharedStudents.computeIfAbsent(mentorId, id -> new IntIntMap());
+        for (int otherMentorId : bookedMentorIds) {
+            row.increment(otherMentorId, 1);
+            sharedStudents.computeIfAbsent(otherMentorId, id -> new IntIntMap()).increment(mentorId, 1);
+        }
+        studentCounts.increment(mentorId, 1);
+        changedMentorIds.add(mentorId);
+
+        int insertAt = -position - 1;
+        int[] updated = new int[bookedMentorIds.length + 1];
+        System.arraycopy(bookedMentorIds, 0, updated, 0, insertAt);
+        updated[insertAt] = mentorId;
+        System.arraycopy(bookedMentorIds, insertAt, updated, insertAt + 1, bookedMentorIds.length - insertAt);
+        mentorsByStudent.put(studentId, updated);
+        return true;
+    }
+
+    private void recomputeRelatedMentors(Integer mentorId) {
+        IntIntMap row = sharedStudents.get(mentorId);
+        if (row == null || row.size() == 0) {
+            return;
+        }
+        double mentorStudents = studentCounts.get(mentorId);
+        List<RelatedMentor> candidates = new ArrayList<>(row.size());
+        row.forEach((neighbourId, shared) -> candidates.add(new RelatedMentor(neighbourId,
+                shared / Math.sqrt(mentorStudents * studentCounts.get(neighbourId)))));
+        candidates.sort(RelatedMentor.BEST_FIRST);
+        relatedMentors.put(mentorId, List.copyOf(candidates.subList(0, Math.min(MAX_RELATED, candidates.size()))));
+    }
+
+    /**
+     * A mentor with its similarity score.
+     *
+     * @param mentorId the ID of the mentor
+     * @param score    the similarity, higher is more similar
+     */
+    public record RelatedMentor(int mentorId, double score) {
+
+        static final Comparator<RelatedMentor> BEST_FIRST = Comparator.comparingDouble(RelatedMentor::score).reversed()
+                .thenComparingInt(RelatedMentor::mentorId);
+    }
+}
@@ -0,0 +1,331 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.common.TransactionCallbacks;
+import com.mbpt.peertutoringplatform.dto.MentorDTO;
+import com.mbpt.peertutoringplatform.dto.MentorSearchFacetsDTO;
+import com.mbpt.peertutoringplatform.dto.MentorSearchResultDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
+import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import com.mbpt.peertutoringplatform.mapper.MentorEntityDTOMapper;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.MentorRepository;
+import com.mbpt.peertutoringplatform.repository.projection.MentorClassRoomIdView;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory faceted search over all mentors, used to filter mentors and count facet values
+ * without touching the database.
+ * <p>
+ * Every categorical facet value (certification, title, classroom) owns a {@link BitSet} indexed by
+ * mentor ID, and the numeric fields (session fee, positive reviews) are kept in arrays sorted by
+ * value, so a range becomes a bitset with two binary searches. A search intersects the bitsets of
+ * the selected filters. The index is loaded at startup and mentors are re-read one by one after
+ * the transactions that change them have committed.
+ */
+@Slf4j
+@Component
+public class MentorSearchIndex {
+
+    private final MentorRepository mentorRepository;
+
+    private final ClassRoomRepository classRoomRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Integer, MentorDTO> mentors = new HashMap<>();
+
+    private final BitSet allMentors = new BitSet();
+
+    private final BitSet certifiedMentors = new BitSet();
+
+    private final Map<Constants.Title, BitSet> mentorsByTitle = new EnumMap<>(Constants.Title.class);
+
+    private final Map<Integer, BitSet> mentorsByClassRoom = new HashMap<>();
+
+    private final SortedColumn sessionFees = new SortedColumn();
+
+    private final SortedColumn positiveReviews = new SortedColumn();
+
+    public MentorSearchIndex(MentorRepository mentorRepository, ClassRoomRepository classRoomRepository) {
+        this.mentorRepository = mentorRepository;
+        this.classRoomRepository = classRoomRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        Map<Integer, List<Integer>> classRoomIdsByMentor = groupByMentor(classRoomRepository.findAllAssignedClassRoomIds());
+        List<MentorEntity> mentorEntities = mentorRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            mentorEntities.forEach(mentorEntity -> add(toMentorDTO(mentorEntity, classRoomIdsByMentor)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} mentors into the mentor search index", mentorEntities.size());
+    }
+
+    /**
+     * Re-reads the given mentors and their classrooms into the index, once the surrounding
+     * transaction (if any) has committed. Mentors that no longer exist are removed.
+     *
+     * @param mentorIds the IDs of the changed mentors
+     */
+    public void refreshMentors(Collection<Integer> mentorIds) {
+        if (mentorIds.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = List.copyOf(mentorIds);
+        TransactionCallbacks.runAfterCommit(() -> {
+            Map<Integer, List<Integer>> classRoomIdsByMentor = groupByMentor(classRoomRepository.findAssignedClassRoomIds(ids));
+            List<MentorEntity> mentorEntities = mentorRepository.findAllById(ids);
+            lock.writeLock().lock();
+            try {
+                ids.forEach(this::remove);
+                mentorEntities.forEach(mentorEntity -> add(toMentorDTO(mentorEntity, classRoomIdsByMentor)));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Refreshed {} mentors in the mentor search index", ids.size());
+        });
+    }
+
+    /**
+     * Retrieves indexed mentors by ID.
+     *
+     * @param mentorIds the IDs of the mentors
+     * @return the mentors in the order of the given IDs; unknown IDs are skipped
+     */
+    public List<MentorDTO> findMentors(List<Integer> mentorIds) {
+        lock.readLock().lock();
+        try {
+            return mentorIds.stream().map(mentors::get).filter(Objects::nonNull).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the mentors matching all given filters, together with the facet counts. Null filters are ignored.
+     * Each facet is counted with every filter except its own.
+     *
+     * @param isCertified        restricts the result to certified or uncertified mentors
+     * @param title              restricts the result to mentors with this title
+     * @param minFee             the minimum session fee, inclusive
+     * @param maxFee             the maximum session fee, inclusive
+     * @param minPositiveReviews the minimum positive reviews percentage, inclusive
+     * @param classRoomId        restricts the result to the mentor of this classroom
+     * @param page               the zero-based page index
+     * @param size               the page size
+     * @return the matching mentors ordered by mentor ID and the facet counts
+     */
+    public MentorSearchResultDTO search(Boolean isCertified, Constants.Title title, Double minFee, Double maxFee,
+                                        Integer minPositiveReviews, Integer classRoomId, int page, int size) {
+        lock.readLock().lock();
+        try {
+            BitSet certifiedFilter = isCertified == null ? null : isCertified ? certifiedMentors : without(certifiedMentors);
+            BitSet titleFilter = title == null ? null : mentorsByTitle.getOrDefault(title, new BitSet());
+            BitSet classRoomFilter = classRoomId == null ? null : mentorsByClassRoom.getOrDefault(classRoomId, new BitSet());
+            BitSet feeFilter = minFee == null && maxFee == null ? null : sessionFees.between(
+                    minFee == null ? Double.NEGATIVE_INFINITY : minFee, maxFee == null ? Double.POSITIVE_INFINITY : maxFee);
+            BitSet reviewFilter = minPositiveReviews == null ? null
+                    : positiveReviews.between(minPositiveReviews, Double.POSITIVE_INFINITY);
+
+            BitSet matches = intersect(certifiedFilter, titleFilter, classRoomFilter, feeFilter, reviewFilter);
+
+            BitSet withoutCertified = intersect(titleFilter, classRoomFilter, feeFilter, reviewFilter);
+            int certifiedCount = count(withoutCertified, certifiedMentors);
+            Map<Boolean, Integer> certifiedFacet = new LinkedHashMap<>();
+            certifiedFacet.put(true, certifiedCount);
+            certifiedFacet.put(false, withoutCertified.cardinality() - certifiedCount);
+
+            BitSet withoutTitle = intersect(certifiedFilter, classRoomFilter, feeFilter, reviewFilter);
+            Map<Constants.Title, Integer> titleFacet = new EnumMap<>(Constants.Title.class);
+            for (Constants.Title value : Constants.Title.values()) {
+                titleFacet.put(value, count(withoutTitle, mentorsByTitle.get(value)));
+            }
+
+            BitSet withoutClassRoom = intersect(certifiedFilter, titleFilter, feeFilter, reviewFilter);
+            Map<Integer, Integer> classRoomFacet = new TreeMap<>();
+            mentorsByClassRoom.forEach((id, bits) -> {
+                int count = count(withoutClassRoom, bits);
+                if (count > 0) classRoomFacet.put(id, count);
+            });
+
+            BitSet withoutFee = intersect(certifiedFilter, titleFilter, classRoomFilter, reviewFilter);
+            MentorSearchFacetsDTO facets = new MentorSearchFacetsDTO(certifiedFacet, titleFacet, classRoomFacet,
+                    sessionFees.lowestOf(withoutFee), sessionFees.highestOf(withoutFee));
+
+            List<MentorDTO> content = new ArrayList<>(size);
+            long skip = (long) page * size;
+            for (int id = matches.nextSetBit(0); id >= 0 && content.size() < size; id = matches.nextSetBit(id + 1)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    content.add(mentors.get(id));
+                }
+            }
+            return new MentorSearchResultDTO(PageDTO.of(content, page, size, matches.cardinality()), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(MentorDTO mentorDTO) {
+        int id = mentorDTO.getMentorId();
+        mentors.put(id, mentorDTO);
+        allMentors.set(id);
+        if (Boolean.TRUE.equals(mentorDTO.getIsCertified())) certifiedMentors.set(id);
+        mentorsByTitle.computeIfAbsent(mentorDTO.getTitle(), value -> new BitSet()).set(id);
+        mentorDTO.getClassRoomIdList().forEach(classRoomId ->
+                mentorsByClassRoom.computeIfAbsent(classRoomId, value -> new BitSet()).set(id));
+        sessionFees.add(id, mentorDTO.getSessionFee());
+        positiveReviews.add(id, mentorDTO.getPositiveReviews());
+    }
+
+    private void remove(Integer id) {
+        MentorDTO mentorDTO = mentors.remove(id);
+        if (mentorDTO == null) {
+            return;
+        }
+        allMentors.clear(id);
+        certifiedMentors.clear(id);
+        mentorsByTitle.get(mentorDTO.getTitle()).clear(id);
+        mentorDTO.getClassRoomIdList().forEach(classRoomId -> {
+            BitSet bits = mentorsByClassRoom.get(classRoomId);
+            bits.clear(id);
+            if (bits.isEmpty()) mentorsByClassRoom.remove(classRoomId);
+        });
+        sessionFees.remove(id, mentorDTO.getSessionFee());
+        positiveReviews.remove(id, mentorDTO.getPositiveReviews());
+    }
+
+    private BitSet intersect(BitSet... filters) {
+        BitSet result = (BitSet) allMentors.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) result.and(filter);
+        }
+        return result;
+    }
+
+    private BitSet without(BitSet bits) {
+        BitSet result = (BitSet) allMentors.clone();
+        result.andNot(bits);
+        return result;
+    }
+
+    private static int count(BitSet base, BitSet bits) {
+        if (bits == null) {
+            return 0;
+        }
+        BitSet result = (BitSet) base.clone();
+        result.and(bits);
+        return result.cardinality();
+    }
+
+    private static MentorDTO toMentorDTO(MentorEntity mentorEntity, Map<Integer, List<Integer>> classRoomIdsByMentor) {
+        MentorDTO mentorDTO = MentorEntityDTOMapper.map(mentorEntity);
+        mentorDTO.setClassRoomIdList(List.copyOf(classRoomIdsByMentor.getOrDefault(mentorEntity.getMentorId(), List.of())));
+        return mentorDTO;
+    }
+
+    private static Map<Integer, List<Integer>> groupByMentor(List<MentorClassRoomIdView> views) {
+        return views.stream().collect(Collectors.groupingBy(MentorClassRoomIdView::getMentorId,
+                Collectors.mapping(MentorClassRoomIdView::getClassRoomId, Collectors.toList())));
+    }
+
+    /**
+     * A numeric field of all mentors sorted by value, then by mentor ID. Not thread-safe, guarded by the index lock.
+     */
+    private static final class SortedColumn {
+
+        private double[] values = new double[64];
+        private int[] owners = new int[64];
+        private int size;
+
+        void add(int owner, double value) {
+            int index = -search(value, owner) - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                owners = Arrays.copyOf(owners, size * 2);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            System.arraycopy(owners, index, owners, index + 1, size - index);
+            values[index] = value;
+            owners[index] = owner;
+            size++;
+        }
+
+        void remove(int owner, double value) {
+            int index = search(value, owner);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            System.arraycopy(owners, index + 1, owners, index, size - index - 1);
+            size--;
+        }
+
+        BitSet between(double min, double max) {
+            BitSet result = new BitSet();
+            for (int i = -search(min, Integer.MIN_VALUE) - 1; i < size && values[i] <= max; i++) {
+                result.set(owners[i]);
+            }
+            return result;
+        }
+
+        Double lowestOf(BitSet mentors) {
+            for (int i = 0; i < size; i++) {
+                if (mentors.get(owners[i])) return values[i];
+            }
+            return null;
+        }
+
+        Double highestOf(BitSet mentors) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (mentors.get(owners[i])) return values[i];
+            }
+            return null;
+        }
+
+        /**
+         * Binary search for the position of a value and owner.
+         *
+         * @return the index if present, otherwise {@code -(insertionPoint) - 1}
+         */
+        private int search(double value, int owner) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int comparison = Double.compare(values[mid], value);
+                if (comparison == 0) comparison = Integer.compare(owners[mid], owner);
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
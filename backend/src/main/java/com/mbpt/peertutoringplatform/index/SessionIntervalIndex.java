@@ -0,0 +1,324 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.TransactionCallbacks;
+import com.mbpt.peertutoringplatform.entity.LiteSessionEntity;
+import com.mbpt.peertutoringplatform.exception.BookingConflictException;
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the booked time intervals of every mentor and student, used to reject
+ * overlapping sessions without scanning the sessions table.
+ * <p>
+ * The index is seeded at startup with all sessions that have not ended yet. A booking is reserved
+ * under the locks of the mentor and student timelines, so concurrent bookings for the same mentor
+ * or student are serialized and can never both pass the overlap check. The index is local to this
+ * application instance.
+ */
+@Slf4j
+@Component
+public class SessionIntervalIndex {
+
+    private final LiteSessionRepository liteSessionRepository;
+
+    private final Map<Integer, Timeline> mentorTimelines = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Timeline> studentTimelines = new ConcurrentHashMap<>();
+
+    public SessionIntervalIndex(LiteSessionRepository liteSessionRepository) {
+        this.liteSessionRepository = liteSessionRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        List<LiteSessionEntity> sessions = liteSessionRepository.findAllByEndTimeAfter(Instant.now());
+        for (LiteSessionEntity session : sessions) {
+            Booking booking = new Booking(session.getMentorId(), session.getStudentId(), session.getClassRoomId(),
+                    session.getStartTime(), session.getEndTime());
+            booking.confirm(session.getSessionId());
+            booking.committed = true;
+            timeline(mentorTimelines, booking.mentorId).add(booking);
+            timeline(studentTimelines, booking.studentId).add(booking);
+        }
+        log.info("Loaded {} upcoming sessions into the session interval index", sessions.size());
+    }
+
+    /**
+     * Reserves the interval {@code [startTime, endTime)} for the mentor and the student.
+     * When called inside a transaction, the reservation is released if the transaction does not commit,
+     * and it is {@linkplain Booking#isCommitted() committed} before any after-commit listener of the
+     * transaction runs.
+     *
+     * @param mentorId    the ID of the mentor of the session
+     * @param studentId   the ID of the student of the session
+     * @param classRoomId the ID of the classroom of the session
+     * @param startTime   the start time of the session, inclusive
+     * @param endTime     the end time of the session, exclusive
+     * @return the reserved {@link Booking}, to be confirmed with the generated session ID
+     * @throws BookingConflictException if the mentor or the student already has an overlapping session
+     */
+    public Booking reserve(Integer mentorId, Integer studentId, Integer classRoomId, Instant startTime, Instant endTime) {
+        Timeline mentorTimeline = timeline(mentorTimelines, mentorId);
+        Timeline studentTimeline = timeline(studentTimelines, studentId);
+
+        Booking booking;
+        // always lock the mentor timeline before the student timeline to avoid deadlocks
+        synchronized (mentorTimeline) {
+            synchronized (studentTimeline) {
+                if (mentorTimeline.overlaps(startTime, endTime)) {
+                    throw new BookingConflictException(String.format(
+                            "Mentor with ID: %d already has a session between %s and %s", mentorId, startTime, endTime));
+                }
+                if (studentTimeline.overlaps(startTime, endTime)) {
+                    throw new BookingConflictException(String.format(
+                            "Student with ID: %d already has a session between %s and %s", studentId, startTime, endTime));
+                }
+                booking = new Booking(mentorId, studentId, classRoomId, startTime, endTime);
+                mentorTimeline.add(booking);
+                studentTimeline.add(booking);
+            }
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            booking.committed = true;
+            return booking;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // ahead of the listeners of the SessionChangedEvent, which may rebuild from the committed bookings
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                booking.committed = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(booking);
+                }
+            }
+        });
+        return booking;
+    }
+
+    /**
+     * Removes a booking from the timelines of its mentor and student.
+     *
+     * @param booking the booking to remove
+     */
+    public void release(Booking booking) {
+        Timeline mentorTimeline = timeline(mentorTimelines, booking.mentorId);
+        Timeline studentTimeline = timeline(studentTimelines, booking.studentId);
+        synchronized (mentorTimeline) {
+            synchronized (studentTimeline) {
+                mentorTimeline.remove(booking);
+                studentTimeline.remove(booking);
+            }
+        }
+    }
+
+    /**
+     * Removes all bookings of a classroom, once the surrounding transaction (if any) has committed.
+     *
+     * @param classRoomId the ID of the deleted classroom
+     */
+    public void removeClassRoom(Integer classRoomId) {
+        TransactionCallbacks.runAfterCommit(() -> {
+            List<Booking> bookings = new ArrayList<>();
+            for (Timeline timeline : mentorTimelines.values()) {
+                synchronized (timeline) {
+                    bookings.addAll(timeline.bookingsOfClassRoom(classRoomId));
+                }
+            }
+            bookings.forEach(this::release);
+            log.debug("Removed {} bookings of deleted classroom with ID: {}", bookings.size(), classRoomId);
+        });
+    }
+
+    /**
+     * Retrieves the bookings of a mentor that overlap the interval {@code [from, to)}.
+     *
+     * @param mentorId the ID of the mentor
+     * @param from     the start of the interval, inclusive
+     * @param to       the end of the interval, exclusive
+     * @return the overlapping bookings ordered by start time
+     */
+    public List<Booking> findMentorBookings(Integer mentorId, Instant from, Instant to) {
+        Timeline timeline = mentorTimelines.get(mentorId);
+        if (timeline == null) {
+            return List.of();
+        }
+        synchronized (timeline) {
+            return timeline.overlapping(from, to);
+        }
+    }
+
+    @Scheduled(cron = "0 0 3 * * *")
+    void evictEndedBookings() {
+        Instant now = Instant.now();
+        int evicted = 0;
+        for (Timeline timeline : mentorTimelines.values()) {
+            List<Booking> ended;
+            synchronized (timeline) {
+                ended = timeline.endedBefore(now);
+            }
+            ended.forEach(this::release);
+            evicted += ended.size();
+        }
+        log.info("Evicted {} ended bookings from the session interval index", evicted);
+    }
+
+    private static Timeline timeline(Map<Integer, Timeline> timelines, Integer ownerId) {
+        return timelines.computeIfAbsent(ownerId, id -> new Timeline());
+    }
+
+    /**
+     * A booked interval {@code [startTime, endTime)} of a mentor and a student.
+     */
+    public static final class Booking {
+
+        private final Integer mentorId;
+        private final Integer studentId;
+        private final Integer classRoomId;
+        private final Instant startTime;
+        private final Instant endTime;
+        private volatile Integer sessionId;
+        private volatile boolean committed;
+
+        private Booking(Integer mentorId, Integer studentId, Integer classRoomId, Instant startTime, Instant endTime) {
+            this.mentorId = mentorId;
+            this.studentId = studentId;
+            this.classRoomId = classRoomId;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        /**
+         * Attaches the generated session ID to a reserved booking.
+         *
+         * @param sessionId the ID of the saved session
+         */
+        public void confirm(Integer sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        public Integer getSessionId() {
+            return sessionId;
+        }
+
+        /**
+         * Tells whether the transaction that reserved the booking has committed. A booking that is
+         * not committed may still be rolled back and released.
+         *
+         * @return {@code true} once the session of the booking is committed
+         */
+        public boolean isCommitted() {
+            return committed;
+        }
+
+        public Integer getMentorId() {
+            return mentorId;
+        }
+
+        public Integer getStudentId() {
+            return studentId;
+        }
+
+        public Integer getClassRoomId() {
+            return classRoomId;
+        }
+
+        public Instant getStartTime() {
+            return startTime;
+        }
+
+        public Instant getEndTime() {
+            return endTime;
+        }
+    }
+
+    /**
+     * The bookings of a single mentor or student, keyed by start time. Not thread-safe, callers synchronize on it.
+     * Tracking the longest booking bounds the range of start times that can overlap a given interval,
+     * which keeps the check correct even if historical sessions overlap each other.
+     */
+    private static final class Timeline {
+
+        private final TreeMap<Instant, List<Booking>> bookingsByStart = new TreeMap<>();
+
+        private Duration longestBooking = Duration.ZERO;
+
+        boolean overlaps(Instant startTime, Instant endTime) {
+            return !overlapping(startTime, endTime).isEmpty();
+        }
+
+        List<Booking> overlapping(Instant startTime, Instant endTime) {
+            List<Booking> overlapping = new ArrayList<>();
+            Instant earliestOverlappingStart = startTime.minus(longestBooking);
+            for (List<Booking> bookings : bookingsByStart.subMap(earliestOverlappingStart, true, endTime, false).values()) {
+                for (Booking booking : bookings) {
+                    if (booking.endTime.isAfter(startTime)) {
+                        overlapping.add(booking);
+                    }
+                }
+            }
+            return overlapping;
+        }
+
+        void add(Booking booking) {
+            bookingsByStart.computeIfAbsent(booking.startTime, start -> new ArrayList<>(1)).add(booking);
+            Duration duration = Duration.between(booking.startTime, booking.endTime);
+            if (duration.compareTo(longestBooking) > 0) {
+                longestBooking = duration;
+            }
+        }
+
+        void remove(Booking booking) {
+            List<Booking> bookings = bookingsByStart.get(booking.startTime);
+            if (bookings != null) {
+                bookings.removeIf(existing -> existing == booking);
+                if (bookings.isEmpty()) {
+                    bookingsByStart.remove(booking.startTime);
+                }
+            }
+        }
+
+        List<Booking> bookingsOfClassRoom(Integer classRoomId) {
+            List<Booking> result = new ArrayList<>();
+            bookingsByStart.values().forEach(bookings -> bookings.stream()
+                    .filter(booking -> booking.classRoomId.equals(classRoomId))
+                    .forEach(result::add));
+            return result;
+        }
+
+        List<Booking> endedBefore(Instant instant) {
+            List<Booking> result = new ArrayList<>();
+            for (List<Booking> bookings : bookingsByStart.headMap(instant, false).values()) {
+                for (Booking booking : bookings) {
+                    if (!booking.endTime.isAfter(instant)) {
+                        result.add(booking);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
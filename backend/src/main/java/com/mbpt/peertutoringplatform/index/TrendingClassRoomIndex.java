@@ -0,0 +1,281 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.TransactionCallbacks;
+import com.mbpt.peertutoringplatform.entity.ClassRoomTrendingScoreEntity;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.ClassRoomTrendingScoreRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Trending classrooms ranked by an exponentially time-decayed count of their bookings, where a
+ * booking loses half its weight every {@link #HALF_LIFE}.
+ * <p>
+ * Scores are kept in forward-decay form: a booking at time {@code t} adds {@code 2^((t - L) / HALF_LIFE)}
+ * for a fixed landmark {@code L}, so stored scores never have to be decayed and their order is the
+ * order of the decayed scores. Bookings only ever increase a score, so the best
+ * {@link #MAX_TRENDING} classrooms are maintained on every booking and read in O(K). Counters are
+ * {@link DoubleAdder}s updated without locking; the ranking is only locked when a booking can enter it.
+ * The landmark is moved forward periodically to keep the values small, and the decayed scores are
+ * written to the database every few minutes so that they survive restarts.
+ */
+@Slf4j
+@Component
+public class TrendingClassRoomIndex {
+
+    public static final int MAX_TRENDING = 50;
+
+    public static final Duration HALF_LIFE = Duration.ofDays(1);
+
+    private static final double DECAY_PER_MILLI = Math.log(2) / HALF_LIFE.toMillis();
+
+    private static final Duration REBASE_INTERVAL = Duration.ofDays(7);
+
+    /**
+     * Decayed scores below this value, about seven half-lives after a single booking, are dropped on rebase and snapshot.
+     */
+    private static final double MIN_SCORE = 0.01;
+
+    private final ClassRoomTrendingScoreRepository classRoomTrendingScoreRepository;
+
+    private volatile Generation generation = new Generation(now());
+
+    // guarded by ranking
+    private final TreeSet<Ranked> ranking = new TreeSet<>(Ranked.BEST_FIRST);
+
+    private final Map<Integer, Ranked> rankedById = new HashMap<>();
+
+    private volatile double rankingThreshold;
+
+    private volatile List<Ranked> top = List.of();
+
+    // until the stored snapshot was read, it must not be overwritten with the scores of this run alone
+    private volatile boolean storedScoresLoaded;
+
+    public TrendingClassRoomIndex(ClassRoomTrendingScoreRepository classRoomTrendingScoreRepository) {
+        this.classRoomTrendingScoreRepository = classRoomTrendingScoreRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        // the index starts from empty scores rather than keeping the application from starting
+        if (!loadStoredScores()) {
+            log.warn("Starting the trending classroom index from empty scores, loading the stored scores is retried with the next snapshot");
+        }
+    }
+
+    /**
+     * Adds the stored snapshot to the current scores.
+     *
+     * @return whether the snapshot was read
+     */
+    private boolean loadStoredScores() {
+        List<ClassRoomTrendingScoreEntity> scores;
+        try {
+            scores = classRoomTrendingScoreRepository.findAll();
+        } catch (RuntimeException e) {
+            log.error("Failed to load the stored trending classroom scores", e);
+            return false;
+        }
+        Generation current = generation;
+        for (ClassRoomTrendingScoreEntity score : scores) {
+            current.add(score.getClassRoomId(), score.getScore() * decayFactor(score.getScoredAt(), current.landmark));
+        }
+        rebuildRanking();
+        storedScoresLoaded = true;
+        log.info("Loaded {} trending scores into the trending classroom index", scores.size());
+        return true;
+    }
+
+    /**
+     * Retrieves the trending classrooms.
+     *
+     * @param limit the maximum number of classrooms, at most {@link #MAX_TRENDING}
+     * @return the classrooms with their decayed scores, highest first
+     */
+    public List<TrendingClassRoom> findTrending(int limit) {
+        List<Ranked> current = top;
+        Generation currentGeneration = generation;
+        double factor = decayFactor(currentGeneration.landmark, now());
+        List<TrendingClassRoom> trending = new ArrayList<>(Math.min(limit, current.size()));
+        for (Ranked ranked : current.subList(0, Math.min(limit, current.size()))) {
+            trending.add(new TrendingClassRoom(ranked.classRoomId, ranked.score * factor));
+        }
+        return trending;
+    }
+
+    /**
+     * Removes a deleted classroom, once the surrounding transaction (if any) has committed.
+     *
+     * @param classRoomId the ID of the deleted classroom
+     */
+    public void removeClassRoom(Integer classRoomId) {
+        TransactionCallbacks.runAfterCommit(() -> {
+            generation.scores.remove(classRoomId);
+            rebuildRanking();
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(SessionChangedEvent event) {
+        Generation current = generation;
+        double weight = 1 / decayFactor(current.landmark, now());
+        for (SessionChangedEvent.SessionChange change : event.changes()) {
+            if (change.isCreation()) {
+                double score = current.add(change.classRoomId(), weight);
+                if (score >= rankingThreshold) {
+                    rank(current, change.classRoomId());
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 300_000, initialDelay = 300_000)
+    void snapshot() {
+        if (!storedScoresLoaded && !loadStoredScores()) {
+            return;
+        }
+        Instant now = now();
+        if (Duration.between(generation.landmark, now).compareTo(REBASE_INTERVAL) > 0) {
+            rebase(now);
+        }
+        Generation current = generation;
+        double factor = decayFactor(current.landmark, now);
+        Map<Integer, Double> scores = new HashMap<>();
+        current.scores.forEach((classRoomId, score) -> {
+            double decayed = score.sum() * factor;
+            if (decayed >= MIN_SCORE) scores.put(classRoomId, decayed);
+        });
+        classRoomTrendingScoreRepository.replaceScores(scores, now);
+        log.debug("Saved {} trending classroom scores", scores.size());
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    /**
+     * Moves the landmark to {@code now}, so that new bookings weigh about 1 again. Bookings that race
+     * with the swap are carried over by a second pass over the old counters.
+     */
+    private void rebase(Instant now) {
+        Generation old = generation;
+        Generation fresh = new Generation(now);
+        double factor = decayFactor(old.landmark, now);
+        Map<Integer, Double> copied = new HashMap<>();
+        old.scores.forEach((classRoomId, score) -> {
+            double sum = score.sum();
+            copied.put(classRoomId, sum);
+            if (sum * factor >= MIN_SCORE) fresh.add(classRoomId, sum * factor);
+        });
+        generation = fresh;
+        old.scores.forEach((classRoomId, score) -> {
+            double late = score.sum() - copied.getOrDefault(classRoomId, 0.0);
+            if (late > 0) fresh.add(classRoomId, late * factor);
+        });
+        rebuildRanking();
+        log.info("Rebased {} trending classroom scores", fresh.scores.size());
+    }
+
+    private void rank(Generation current, Integer classRoomId) {
+        synchronized (ranking) {
+            if (current != generation) {
+                // a rebase is rebuilding the ranking from the new generation
+                return;
+            }
+            DoubleAdder score = current.scores.get(classRoomId);
+            if (score == null) {
+                // removed with its classroom
+                return;
+            }
+            Ranked previous = rankedById.remove(classRoomId);
+            if (previous != null) ranking.remove(previous);
+            Ranked ranked = new Ranked(classRoomId, score.sum());
+            ranking.add(ranked);
+            rankedById.put(classRoomId, ranked);
+            if (ranking.size() > MAX_TRENDING) {
+                rankedById.remove(ranking.pollLast().classRoomId);
+            }
+            publishRanking();
+        }
+    }
+
+    private void rebuildRanking() {
+        synchronized (ranking) {
+            ranking.clear();
+            rankedById.clear();
+            generation.scores.forEach((classRoomId, score) -> {
+                ranking.add(new Ranked(classRoomId, score.sum()));
+                if (ranking.size() > MAX_TRENDING) ranking.pollLast();
+            });
+            ranking.forEach(ranked -> rankedById.put(ranked.classRoomId, ranked));
+            publishRanking();
+        }
+    }
+
+    private void publishRanking() {
+        top = List.copyOf(ranking);
+        rankingThreshold = ranking.size() < MAX_TRENDING ? 0 : ranking.last().score;
+    }
+
+    // the time that dates bookings, decays the scores and schedules the rebase
+    Instant now() {
+        return Instant.now();
+    }
+
+    private static double decayFactor(Instant from, Instant to) {
+        return Math.exp(-DECAY_PER_MILLI * Duration.between(from, to).toMillis());
+    }
+
+    /**
+     * The booking counters of all classrooms relative to one landmark.
+     */
+    private static final class Generation {
+
+        private final Instant landmark;
+
+        private final Map<Integer, DoubleAdder> scores = new ConcurrentHashMap<>();
+
+        private Generation(Instant landmark) {
+            this.landmark = landmark;
+        }
+
+        double add(Integer classRoomId, double weight) {
+            DoubleAdder score = scores.computeIfAbsent(classRoomId, id -> new DoubleAdder());
+            score.add(weight);
+            return score.sum();
+        }
+    }
+
+    private record Ranked(Integer classRoomId, double score) {
+
+        static final Comparator<Ranked> BEST_FIRST = Comparator.comparingDouble(Ranked::score).reversed()
+                .thenComparing(Ranked::classRoomId);
+    }
+
+    /**
+     * A trending classroom with its decayed booking score.
+     *
+     * @param classRoomId the ID of the classroom
+     * @param score       the decayed number of bookings
+     */
+    public record TrendingClassRoom(Integer classRoomId, double score) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.mbpt.peertutoringplatform.job;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.ImportResultDTO;
+import com.mbpt.peertutoringplatform.service.ImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Imports a file given on the command line and exits, e.g.
+ * {@code java -jar app.jar --spring.main.web-application-type=none --import.entity=student --import.file=students.csv}.
+ * The format is read from {@code --import.format}, or else from the file extension.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "import.file")
+public class BulkImportRunner implements ApplicationRunner {
+
+    private final ImportService importService;
+
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${import.file}")
+    private String file;
+
+    @Value("${import.entity}")
+    private String entity;
+
+    @Value("${import.format:}")
+    private String format;
+
+    public BulkImportRunner(ImportService importService, ConfigurableApplicationContext applicationContext) {
+        this.importService = importService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path path = Path.of(file);
+        Constants.ImportEntity importEntity = Constants.ImportEntity.valueOf(entity.toUpperCase(Locale.ROOT));
+        Constants.ImportFormat importFormat;
+        if (!format.isBlank()) {
+            importFormat = Constants.ImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } else {
+            importFormat = path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")
+                    ? Constants.ImportFormat.CSV
+                    : Constants.ImportFormat.NDJSON;
+        }
+
+        ImportResultDTO result;
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            result = importService.importRows(importEntity, importFormat, inputStream);
+        }
+        log.info("Imported {} of {} {} rows from: {}, rejected: {}, error report: {}", result.getImportedRows(), result.getTotalRows(),
+                importEntity, path, result.getRejectedRows(),
+                result.getErrorReportId() != null ? importService.findErrorReport(result.getErrorReportId()) : null);
+
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
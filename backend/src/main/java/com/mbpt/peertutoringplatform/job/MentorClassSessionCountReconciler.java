@@ -0,0 +1,60 @@
+package com.mbpt.peertutoringplatform.job;
+
+import com.mbpt.peertutoringplatform.repository.MentorClassSessionCountRepository;
+import com.mbpt.peertutoringplatform.repository.projection.MentorClassRoomIdView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Detects and repairs drift between the maintained mentor/classroom session counts and the
+ * sessions table, e.g. after sessions were changed directly in the database. Runs daily, off the
+ * startup path.
+ * <p>
+ * The drifted pairs are found with a plain snapshot read, which blocks no booking. Each pair is then
+ * repaired in its own short transaction that locks only its count row before counting its sessions,
+ * so only bookings of that mentor and classroom wait, and only for one indexed count.
+ */
+@Slf4j
+@Component
+public class MentorClassSessionCountReconciler {
+
+    private final MentorClassSessionCountRepository mentorClassSessionCountRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public MentorClassSessionCountReconciler(MentorClassSessionCountRepository mentorClassSessionCountRepository,
+                                             TransactionTemplate transactionTemplate) {
+        this.mentorClassSessionCountRepository = mentorClassSessionCountRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void reconcile() {
+        List<MentorClassRoomIdView> drifted = mentorClassSessionCountRepository.findDriftedPairs();
+        if (drifted.isEmpty()) {
+            log.info("Mentor classroom session counts are consistent with the sessions table");
+            return;
+        }
+
+        log.warn("Found {} drifted mentor classroom session counts, repairing...", drifted.size());
+        int repaired = 0;
+        for (MentorClassRoomIdView pair : drifted) {
+            repaired += repair(pair.getMentorId(), pair.getClassRoomId());
+        }
+        // the other pairs were only seen in the middle of a booking
+        log.info("Repaired {} mentor classroom session counts", repaired);
+    }
+
+    private int repair(Integer mentorId, Integer classRoomId) {
+        Integer repaired = transactionTemplate.execute(status -> {
+            mentorClassSessionCountRepository.insertIfAbsent(mentorId, classRoomId);
+            mentorClassSessionCountRepository.lockCount(mentorId, classRoomId);
+            return mentorClassSessionCountRepository.repairCount(mentorId, classRoomId);
+        });
+        return repaired == null ? 0 : repaired;
+    }
+}
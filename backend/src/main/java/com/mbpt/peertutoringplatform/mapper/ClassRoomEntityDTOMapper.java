@@ -1,7 +1,9 @@
 package com.mbpt.peertutoringplatform.mapper;
 
 import com.mbpt.peertutoringplatform.dto.ClassRoomDTO;
+import com.mbpt.peertutoringplatform.dto.MentorDTO;
 import com.mbpt.peertutoringplatform.entity.ClassRoomEntity;
+import com.mbpt.peertutoringplatform.repository.projection.ClassRoomMentorView;
 
 public class ClassRoomEntityDTOMapper {
 
@@ -22,4 +24,31 @@ public class ClassRoomEntityDTOMapper {
         classRoomDTO.setClassImage(classRoomEntity.getClassImage());
         return classRoomDTO;
     }
+
+    public static ClassRoomDTO map(ClassRoomMentorView classRoomView) {
+        ClassRoomDTO classRoomDTO = new ClassRoomDTO();
+        classRoomDTO.setClassRoomId(classRoomView.getClassRoomId());
+        classRoomDTO.setTitle(classRoomView.getTitle());
+        classRoomDTO.setEnrolledStudentCount(classRoomView.getEnrolledStudentCount());
+        classRoomDTO.setClassImage(classRoomView.getClassImage());
+        if (classRoomView.getMentorId() != null) {
+            MentorDTO mentorDTO = new MentorDTO();
+            mentorDTO.setMentorId(classRoomView.getMentorId());
+            mentorDTO.setFirstName(classRoomView.getMentorFirstName());
+            mentorDTO.setLastName(classRoomView.getMentorLastName());
+            mentorDTO.setEmail(classRoomView.getMentorEmail());
+            mentorDTO.setAddress(classRoomView.getMentorAddress());
+            mentorDTO.setPhoneNumber(classRoomView.getMentorPhoneNumber());
+            mentorDTO.setTitle(classRoomView.getMentorTitle());
+            mentorDTO.setSessionFee(classRoomView.getMentorSessionFee());
+            mentorDTO.setProfession(classRoomView.getMentorProfession());
+            mentorDTO.setSubject(classRoomView.getMentorSubject());
+            mentorDTO.setQualification(classRoomView.getMentorQualification());
+            mentorDTO.setMentorImage(classRoomView.getMentorImage());
+            mentorDTO.setIsCertified(classRoomView.getMentorIsCertified());
+            mentorDTO.setPositiveReviews(classRoomView.getMentorPositiveReviews());
+            classRoomDTO.setMentorDTO(mentorDTO);
+        }
+        return classRoomDTO;
+    }
 }
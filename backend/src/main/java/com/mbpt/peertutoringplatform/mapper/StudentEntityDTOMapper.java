@@ -2,6 +2,8 @@ package com.mbpt.peertutoringplatform.mapper;
 
 import com.mbpt.peertutoringplatform.dto.StudentDTO;
 import com.mbpt.peertutoringplatform.entity.StudentEntity;
+import com.mbpt.peertutoringplatform.repository.projection.StudentIdentity;
+import com.mbpt.peertutoringplatform.repository.projection.StudentUpsertView;
 
 public class StudentEntityDTOMapper {
 
@@ -18,6 +20,32 @@ public class StudentEntityDTOMapper {
         return studentDTO;
     }
 
+    public static StudentDTO map(StudentUpsertView studentView) {
+        StudentDTO studentDTO = new StudentDTO();
+        studentDTO.setStudentId(studentView.getStudentId());
+        studentDTO.setClerkStudentId(studentView.getClerkStudentId());
+        studentDTO.setFirstName(studentView.getFirstName());
+        studentDTO.setLastName(studentView.getLastName());
+        studentDTO.setEmail(studentView.getEmail());
+        studentDTO.setPhoneNumber(studentView.getPhoneNumber());
+        studentDTO.setAddress(studentView.getAddress());
+        studentDTO.setAge(studentView.getAge());
+        return studentDTO;
+    }
+
+    public static StudentDTO map(StudentIdentity student) {
+        StudentDTO studentDTO = new StudentDTO();
+        studentDTO.setStudentId(student.studentId());
+        studentDTO.setClerkStudentId(student.clerkStudentId());
+        studentDTO.setFirstName(student.firstName());
+        studentDTO.setLastName(student.lastName());
+        studentDTO.setEmail(student.email());
+        studentDTO.setPhoneNumber(student.phoneNumber());
+        studentDTO.setAddress(student.address());
+        studentDTO.setAge(student.age());
+        return studentDTO;
+    }
+
     public static StudentEntity map(StudentDTO studentDTO) {
         StudentEntity studentEntity = new StudentEntity();
         studentEntity.setStudentId(studentDTO.getStudentId());
@@ -0,0 +1,468 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk loading of students, mentors, classrooms and sessions through the PostgreSQL {@code COPY} protocol.
+ * <p>
+ * Rows are copied as text into a temporary staging table, so that a malformed value never aborts the
+ * copy. They are then validated with one set-based statement per rule, each recording the line and
+ * reason of every row it rejects, and the remaining rows are merged into the target table with a single
+ * {@code INSERT ... SELECT}. The staging tables are dropped when the transaction ends, so all methods of
+ * an import must run in the same transaction.
+ */
+@Repository
+public class BulkImportRepository {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String WHOLE_NUMBER = "'^[0-9]{1,9}$'";
+
+    private static final String DECIMAL_NUMBER = "'^[0-9]{1,12}(\\.[0-9]{1,6})?$'";
+
+    private static final String TIMESTAMP = "'^[0-9]{4}-(0[1-9]|1[0-2])-(0[1-9]|[12][0-9]|3[01])[T ]([01][0-9]|2[0-3]):[0-5][0-9]" +
+            "(:[0-5][0-9](\\.[0-9]{1,9})?)?(Z|[+-][0-9]{2}(:?[0-9]{2})?)$'";
+
+    private static final String EMAIL = "'^[^@[:space:]]+@[^@[:space:]]+\\.[^@[:space:]]+$'";
+
+    private static final String PHONE_NUMBER = "'^\\+[1-9][0-9]{6,14}$'";
+
+    private static final String REJECT_SQL = "INSERT INTO import_errors (line_no, message) " +
+            "SELECT r.line_no, ? FROM import_rows r WHERE r.parse_error IS NULL AND (%s)";
+
+    // OFFSET 0 keeps the planner from evaluating the casts of a check on rows with malformed values
+    private static final String REJECT_WELL_FORMED_SQL = "INSERT INTO import_errors (line_no, message) " +
+            "SELECT r.line_no, ? FROM (SELECT * FROM import_rows s " +
+            "WHERE NOT EXISTS (SELECT 1 FROM import_errors e WHERE e.line_no = s.line_no) OFFSET 0) r WHERE %s";
+
+    private static final String VALID_ROWS = "FROM import_rows r " +
+            "WHERE NOT EXISTS (SELECT 1 FROM import_errors e WHERE e.line_no = r.line_no) ";
+
+    private static final String MERGE_STUDENTS_SQL = "INSERT INTO students " +
+            "(clerk_student_id, first_name, last_name, email, phone_number, address, age) " +
+            "SELECT r.clerk_student_id, r.first_name, r.last_name, r.email, r.phone_number, r.address, r.age::int " +
+            VALID_ROWS + "ORDER BY r.line_no " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String MERGE_MENTORS_SQL = "INSERT INTO mentors " +
+            "(first_name, last_name, email, phone_number, address, title, session_fee, profession, subject, qualification, " +
+            "mentor_image, is_certified, positive_reviews) " +
+            "SELECT r.first_name, r.last_name, r.email, r.phone_number, r.address, r.title, r.session_fee::double precision, " +
+            "r.profession, r.subject, r.qualification, r.mentor_image, " +
+            "COALESCE(NULLIF(btrim(r.is_certified), '')::boolean, false), " +
+            "COALESCE(NULLIF(btrim(r.positive_reviews), '')::int, 0) " +
+            VALID_ROWS + "ORDER BY r.line_no " +
+            "ON CONFLICT DO NOTHING " +
+            "RETURNING mentor_id";
+
+    private static final String MERGE_CLASS_ROOMS_SQL = "INSERT INTO classrooms (title, enrolled_student_count, class_image, mentor_id) " +
+            "SELECT r.title, 0, r.class_image, NULLIF(btrim(r.mentor_id), '')::int " +
+            VALID_ROWS + "ORDER BY r.line_no " +
+            "RETURNING class_room_id, title, mentor_id";
+
+    // the maintained session counts and the analytics buckets of the start times are updated in the same statement;
+    // imported sessions are counted under their final status, completed sessions also as accepted
+    private static final String MERGE_SESSIONS_SQL = """
+            WITH inserted AS (
+                INSERT INTO sessions (student_id, class_room_id, mentor_id, topic, start_time, end_time, session_status)
+                SELECT r.student_id::int, r.class_room_id::int, r.mentor_id::int, r.topic,
+                       r.start_time::timestamptz, r.end_time::timestamptz, r.session_status
+                %s
+                ORDER BY r.line_no
+                RETURNING session_id, student_id, class_room_id, mentor_id, start_time, session_status
+            ), counted AS (
+                INSERT INTO mentor_class_session_counts (mentor_id, class_room_id, session_count)
+                SELECT mentor_id, class_room_id, COUNT(*) FROM inserted GROUP BY mentor_id, class_room_id
+                ON CONFLICT (mentor_id, class_room_id)
+                DO UPDATE SET session_count = mentor_class_session_counts.session_count + EXCLUDED.session_count
+            ), rolled_up AS (
+                INSERT INTO session_rollups (granularity, bucket_start, mentor_id, class_room_id,
+                                             created_count, accepted_count, completed_count, revenue)
+                SELECT g.granularity, date_trunc(g.unit, i.start_time AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+                       i.mentor_id, i.class_room_id, COUNT(*),
+                       COUNT(*) FILTER (WHERE i.session_status IN ('ACCEPTED', 'COMPLETED')),
+                       COUNT(*) FILTER (WHERE i.session_status = 'COMPLETED'),
+                       COUNT(*) FILTER (WHERE i.session_status = 'COMPLETED') * m.session_fee
+                FROM inserted i
+                JOIN mentors m ON m.mentor_id = i.mentor_id
+                CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit)
+                GROUP BY 1, 2, 3, 4, m.session_fee
+                ON CONFLICT (granularity, bucket_start, mentor_id, class_room_id)
+                DO UPDATE SET created_count = session_rollups.created_count + EXCLUDED.created_count,
+                              accepted_count = session_rollups.accepted_count + EXCLUDED.accepted_count,
+                              completed_count = session_rollups.completed_count + EXCLUDED.completed_count,
+                              revenue = session_rollups.revenue + EXCLUDED.revenue
+            )
+            SELECT DISTINCT class_room_id, student_id, mentor_id,
+                   MIN(session_id) OVER () AS min_session_id, MAX(session_id) OVER () AS max_session_id
+            FROM inserted
+            """.formatted(VALID_ROWS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BulkImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the staging table of an entity, with one text column per input column, and the table of rejected rows.
+     *
+     * @param entity the imported entity
+     */
+    public void createStagingTables(Constants.ImportEntity entity) {
+        String columns = entity.getColumns().stream().map(column -> column + " text").collect(Collectors.joining(", "));
+        jdbcTemplate.execute("CREATE TEMP TABLE import_rows (line_no bigint NOT NULL, parse_error text, " + columns + ") ON COMMIT DROP");
+        jdbcTemplate.execute("CREATE TEMP TABLE import_errors (line_no bigint NOT NULL, message text NOT NULL) ON COMMIT DROP");
+    }
+
+    /**
+     * Starts copying rows into the staging table. The copier must be finished for the rows to be
+     * stored; closing it before cancels the copy.
+     *
+     * @param entity the imported entity, whose staging table was created
+     * @return the copier
+     */
+    public RowCopier openCopy(Constants.ImportEntity entity) {
+        String sql = "COPY import_rows (line_no, parse_error, " + String.join(", ", entity.getColumns()) + ") FROM STDIN WITH (FORMAT csv)";
+        DataSource dataSource = Objects.requireNonNull(jdbcTemplate.getDataSource());
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            return new RowCopier(copyIn, sql, connection, dataSource);
+        } catch (SQLException e) {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            throw translate(sql, e);
+        }
+    }
+
+    /**
+     * Validates the staged rows, recording every rejected row with the reasons.
+     *
+     * @param entity the imported entity
+     * @return the number of rejected rows
+     */
+    public long validate(Constants.ImportEntity entity) {
+        jdbcTemplate.execute("ANALYZE import_rows");
+        jdbcTemplate.update("INSERT INTO import_errors (line_no, message) SELECT line_no, parse_error FROM import_rows WHERE parse_error IS NOT NULL");
+        Checks checks = checks(entity);
+        // format checks first, so that the row checks can cast the values of the rows that passed them
+        for (Check check : checks.formatChecks) {
+            jdbcTemplate.update(REJECT_SQL.formatted(check.condition), check.message);
+        }
+        for (Check check : checks.rowChecks) {
+            jdbcTemplate.update(REJECT_WELL_FORMED_SQL.formatted(check.condition), check.message);
+        }
+        Long rejected = jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT line_no) FROM import_errors", Long.class);
+        return rejected == null ? 0 : rejected;
+    }
+
+    /**
+     * Reads the rejected rows, ordered by line.
+     *
+     * @param handler receives one row per reason, with the columns {@code line_no} and {@code message}
+     */
+    public void readErrors(RowCallbackHandler handler) {
+        jdbcTemplate.query("SELECT line_no, message FROM import_errors ORDER BY line_no, message", handler);
+    }
+
+    /**
+     * Inserts the valid staged students. Students created concurrently with the same Clerk ID or email are skipped.
+     *
+     * @return the number of inserted students
+     */
+    public int mergeStudents() {
+        return jdbcTemplate.update(MERGE_STUDENTS_SQL);
+    }
+
+    /**
+     * Inserts the valid staged mentors. Mentors created concurrently with the same email are skipped.
+     *
+     * @return the IDs of the inserted mentors
+     */
+    public List<Integer> mergeMentors() {
+        return jdbcTemplate.queryForList(MERGE_MENTORS_SQL, Integer.class);
+    }
+
+    /**
+     * Inserts the valid staged classrooms.
+     *
+     * @return the inserted classrooms
+     */
+    public List<ImportedClassRoom> mergeClassRooms() {
+        return jdbcTemplate.query(MERGE_CLASS_ROOMS_SQL, (rs, rowNum) -> new ImportedClassRoom(rs.getInt("class_room_id"),
+                rs.getString("title"), rs.getObject("mentor_id", Integer.class)));
+    }
+
+    /**
+     * Inserts the valid staged sessions and adds them to the mentor classroom session counts and the analytics rollups.
+     *
+     * @return the distinct classroom, student and mentor combinations and the ID range of the inserted sessions
+     */
+    public ImportedSessions mergeSessions() {
+        List<ImportedEnrollment> enrollments = new ArrayList<>();
+        int[] sessionIdRange = new int[2];
+        jdbcTemplate.query(MERGE_SESSIONS_SQL, (RowCallbackHandler) rs -> {
+            enrollments.add(new ImportedEnrollment(rs.getInt("class_room_id"), rs.getInt("student_id"), rs.getInt("mentor_id")));
+            sessionIdRange[0] = rs.getInt("min_session_id");
+            sessionIdRange[1] = rs.getInt("max_session_id");
+        });
+        return new ImportedSessions(enrollments, sessionIdRange[0], sessionIdRange[1]);
+    }
+
+    private DataAccessException translate(String sql, SQLException e) {
+        DataAccessException translated = jdbcTemplate.getExceptionTranslator().translate("COPY", sql, e);
+        return translated != null ? translated : new UncategorizedSQLException("COPY", sql, e);
+    }
+
+    private static Checks checks(Constants.ImportEntity entity) {
+        return switch (entity) {
+            case STUDENT -> new Checks()
+                    .required("clerk_student_id", "first_name", "last_name", "email", "phone_number", "address", "age")
+                    .maxLength(255, "clerk_student_id", "first_name", "last_name", "email", "phone_number", "address")
+                    .matches("email", EMAIL, "must be a valid email")
+                    .matches("phone_number", PHONE_NUMBER, "must be in E.164 format")
+                    .matches("age", WHOLE_NUMBER, "must be a whole number")
+                    .row("r.age::int < 18", "age must be at least 18")
+                    .uniqueInImport("clerk_student_id")
+                    .uniqueInImport("email")
+                    .notExisting("clerk_student_id", "students")
+                    .notExisting("email", "students");
+            case MENTOR -> new Checks()
+                    .required("first_name", "last_name", "email", "phone_number", "address", "title", "session_fee",
+                            "profession", "subject", "qualification", "mentor_image")
+                    .maxLength(255, "first_name", "last_name", "email", "phone_number", "address", "profession",
+                            "qualification", "mentor_image")
+                    .maxLength(800, "subject")
+                    .matches("email", EMAIL, "must be a valid email")
+                    .matches("phone_number", PHONE_NUMBER, "must be in E.164 format")
+                    .oneOf("title", Arrays.stream(Constants.Title.values()).map(Enum::name).toList())
+                    .matches("session_fee", DECIMAL_NUMBER, "must be a non-negative number")
+                    .oneOf("is_certified", List.of("true", "false"))
+                    .matches("positive_reviews", WHOLE_NUMBER, "must be a whole number")
+                    .uniqueInImport("email")
+                    .notExisting("email", "mentors");
+            case CLASSROOM -> new Checks()
+                    .required("title", "class_image")
+                    .maxLength(255, "title", "class_image")
+                    .matches("mentor_id", WHOLE_NUMBER, "must be a whole number")
+                    .existing("mentor_id", "mentors", "mentor");
+            case SESSION -> new Checks()
+                    .required("student_id", "class_room_id", "mentor_id", "topic", "start_time", "end_time", "session_status")
+                    .maxLength(255, "topic")
+                    .matches("student_id", WHOLE_NUMBER, "must be a whole number")
+                    .matches("class_room_id", WHOLE_NUMBER, "must be a whole number")
+                    .matches("mentor_id", WHOLE_NUMBER, "must be a whole number")
+                    .matches("start_time", TIMESTAMP, "must be an ISO-8601 timestamp with an offset")
+                    .matches("end_time", TIMESTAMP, "must be an ISO-8601 timestamp with an offset")
+                    .oneOf("session_status", Arrays.stream(Constants.SessionStatus.values()).map(Enum::name).toList())
+                    .existing("student_id", "students", "student")
+                    .existing("class_room_id", "classrooms", "classroom")
+                    .existing("mentor_id", "mentors", "mentor")
+                    .row("r.end_time::timestamptz <= r.start_time::timestamptz", "end_time must be after start_time")
+                    .row("r.end_time::timestamptz > now()", "end_time must be in the past, upcoming sessions are booked through the API");
+        };
+    }
+
+    /**
+     * A classroom inserted by an import.
+     *
+     * @param classRoomId the generated ID of the classroom
+     * @param title       the title of the classroom
+     * @param mentorId    the ID of the assigned mentor, or null
+     */
+    public record ImportedClassRoom(int classRoomId, String title, Integer mentorId) {
+    }
+
+    /**
+     * A classroom, student and mentor combination of the sessions inserted by an import.
+     *
+     * @param classRoomId the ID of the classroom
+     * @param studentId   the ID of the student
+     * @param mentorId    the ID of the mentor
+     */
+    public record ImportedEnrollment(int classRoomId, int studentId, int mentorId) {
+    }
+
+    /**
+     * The sessions inserted by an import.
+     *
+     * @param enrollments  the distinct classroom, student and mentor combinations of the sessions
+     * @param minSessionId the lowest ID of the sessions, 0 if none was inserted
+     * @param maxSessionId the highest ID of the sessions, 0 if none was inserted
+     */
+    public record ImportedSessions(List<ImportedEnrollment> enrollments, int minSessionId, int maxSessionId) {
+    }
+
+    /**
+     * Streams rows into the staging table in the CSV format of {@code COPY}, buffering them into large writes.
+     * Null values are written unquoted, which {@code COPY} reads as NULL.
+     */
+    public final class RowCopier implements AutoCloseable {
+
+        private final CopyIn copyIn;
+        private final String sql;
+        private final Connection connection;
+        private final DataSource dataSource;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+        private boolean finished;
+
+        private RowCopier(CopyIn copyIn, String sql, Connection connection, DataSource dataSource) {
+            this.copyIn = copyIn;
+            this.sql = sql;
+            this.connection = connection;
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Writes a row.
+         *
+         * @param lineNo     the line of the row in the input, reported with its errors
+         * @param parseError the reason the line could not be read, or null
+         * @param values     the values of the columns of the entity, in order; null for absent values
+         */
+        public void write(long lineNo, String parseError, String[] values) {
+            buffer.append(lineNo).append(',');
+            appendValue(parseError);
+            for (String value : values) {
+                buffer.append(',');
+                appendValue(value);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Completes the copy.
+         *
+         * @return the number of copied rows
+         */
+        public long finish() {
+            flush();
+            try {
+                long rows = copyIn.endCopy();
+                finished = true;
+                return rows;
+            } catch (SQLException e) {
+                throw translate(sql, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (!finished && copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            } catch (SQLException e) {
+                throw translate(sql, e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+
+        private void appendValue(String value) {
+            if (value == null) {
+                return;
+            }
+            buffer.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') buffer.append('"');
+                buffer.append(c);
+            }
+            buffer.append('"');
+        }
+
+        private void flush() {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.setLength(0);
+            try {
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            } catch (SQLException e) {
+                throw translate(sql, e);
+            }
+        }
+    }
+
+    private record Check(String condition, String message) {
+    }
+
+    /**
+     * The validation rules of an entity. Format checks run on every row and must not cast; row checks
+     * run only on the rows that passed all format checks.
+     */
+    private static final class Checks {
+
+        private final List<Check> formatChecks = new ArrayList<>();
+        private final List<Check> rowChecks = new ArrayList<>();
+
+        Checks required(String... columns) {
+            for (String column : columns) {
+                formatChecks.add(new Check("r.%1$s IS NULL OR btrim(r.%1$s) = ''".formatted(column), column + " must not be blank"));
+            }
+            return this;
+        }
+
+        Checks maxLength(int length, String... columns) {
+            for (String column : columns) {
+                formatChecks.add(new Check("length(r.%s) > %d".formatted(column, length), column + " must be at most " + length + " characters"));
+            }
+            return this;
+        }
+
+        Checks matches(String column, String pattern, String requirement) {
+            formatChecks.add(new Check("btrim(r.%1$s) <> '' AND r.%1$s !~ %2$s".formatted(column, pattern), column + " " + requirement));
+            return this;
+        }
+
+        Checks oneOf(String column, List<String> values) {
+            String list = values.stream().map(value -> "'" + value + "'").collect(Collectors.joining(", "));
+            formatChecks.add(new Check("btrim(r.%1$s) <> '' AND r.%1$s NOT IN (%2$s)".formatted(column, list),
+                    column + " must be one of: " + String.join(", ", values)));
+            return this;
+        }
+
+        Checks uniqueInImport(String column) {
+            return row(("r.line_no IN (SELECT d.line_no FROM (SELECT s.line_no, row_number() OVER (PARTITION BY s.%1$s ORDER BY s.line_no) AS n " +
+                    "FROM import_rows s WHERE NOT EXISTS (SELECT 1 FROM import_errors e WHERE e.line_no = s.line_no)) d " +
+                    "WHERE d.n > 1)").formatted(column), column + " is repeated from an earlier line");
+        }
+
+        Checks notExisting(String column, String table) {
+            return row("EXISTS (SELECT 1 FROM %2$s t WHERE t.%1$s = r.%1$s)".formatted(column, table), column + " already exists");
+        }
+
+        Checks existing(String column, String table, String noun) {
+            return row("btrim(r.%1$s) <> '' AND NOT EXISTS (SELECT 1 FROM %2$s t WHERE t.%1$s = r.%1$s::int)".formatted(column, table),
+                    column + " does not match an existing " + noun);
+        }
+
+        Checks row(String condition, String message) {
+            rowChecks.add(new Check(condition, message));
+            return this;
+        }
+    }
+}
@@ -1,14 +1,126 @@
 package com.mbpt.peertutoringplatform.repository;
 
 import com.mbpt.peertutoringplatform.entity.ClassRoomEntity;
+import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import com.mbpt.peertutoringplatform.repository.projection.ClassRoomMentorView;
+import com.mbpt.peertutoringplatform.repository.projection.ClassRoomTitleView;
+import com.mbpt.peertutoringplatform.repository.projection.MentorClassRoomIdView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ClassRoomRepository extends JpaRepository<ClassRoomEntity, Integer> {
+public interface ClassRoomRepository extends JpaRepository<ClassRoomEntity, Integer>, JpaSpecificationExecutor<ClassRoomEntity>, ClassRoomRepositoryCustom {
 
-    List<ClassRoomEntity> findAllByMentorEntityIsNull();
+    String CLASS_ROOM_MENTOR_VIEW_SELECT = "SELECT c.classRoomId AS classRoomId, c.title AS title, " +
+            "c.enrolledStudentCount AS enrolledStudentCount, c.classImage AS classImage, " +
+            "m.mentorId AS mentorId, m.firstName AS mentorFirstName, m.lastName AS mentorLastName, " +
+            "m.address AS mentorAddress, m.email AS mentorEmail, m.phoneNumber AS mentorPhoneNumber, " +
+            "m.title AS mentorTitle, m.sessionFee AS mentorSessionFee, m.profession AS mentorProfession, " +
+            "m.subject AS mentorSubject, m.qualification AS mentorQualification, m.mentorImage AS mentorImage, " +
+            "m.isCertified AS mentorIsCertified, m.positiveReviews AS mentorPositiveReviews " +
+            "FROM ClassRoomEntity c LEFT JOIN c.mentorEntity m ";
+
+    /**
+     * Retrieves all classrooms with their mentors in a single statement, without loading entities.
+     *
+     * @return all classrooms ordered by classroom ID
+     */
+    @Query(CLASS_ROOM_MENTOR_VIEW_SELECT + "ORDER BY c.classRoomId")
+    List<ClassRoomMentorView> findAllWithMentor();
+
+    /**
+     * Retrieves a classroom with its mentor in a single statement, without loading entities.
+     *
+     * @param classRoomId the ID of the classroom
+     * @return the classroom, or empty if it does not exist
+     */
+    @Query(CLASS_ROOM_MENTOR_VIEW_SELECT + "WHERE c.classRoomId = :classRoomId")
+    Optional<ClassRoomMentorView> findWithMentorById(@Param("classRoomId") Integer classRoomId);
+
+    /**
+     * Retrieves all classrooms that are not assigned to a mentor, without loading entities.
+     *
+     * @return the unassigned classrooms ordered by classroom ID
+     */
+    @Query(CLASS_ROOM_MENTOR_VIEW_SELECT + "WHERE c.mentorEntity IS NULL ORDER BY c.classRoomId")
+    List<ClassRoomMentorView> findAllWithoutMentor();
+
+    /**
+     * Retrieves the ID and title of all classrooms.
+     *
+     * @return the IDs and titles of all classrooms
+     */
+    @Query("SELECT c.classRoomId AS classRoomId, c.title AS title FROM ClassRoomEntity c")
+    List<ClassRoomTitleView> findAllTitles();
+
+    /**
+     * Finds which of the given classroom IDs exist.
+     *
+     * @param classRoomIds the classroom IDs to check
+     * @return the IDs of the existing classrooms
+     */
+    @Query("SELECT c.classRoomId FROM ClassRoomEntity c WHERE c.classRoomId IN :classRoomIds")
+    List<Integer> findExistingIds(@Param("classRoomIds") Collection<Integer> classRoomIds);
+
+    /**
+     * Finds the IDs of the classrooms assigned to the given mentors, together with the mentor ID.
+     *
+     * @param mentorIds the IDs of the mentors
+     * @return the classroom and mentor ID pairs ordered by classroom ID
+     */
+    @Query("SELECT c.mentorEntity.mentorId AS mentorId, c.classRoomId AS classRoomId FROM ClassRoomEntity c " +
+            "WHERE c.mentorEntity.mentorId IN :mentorIds ORDER BY c.classRoomId")
+    List<MentorClassRoomIdView> findAssignedClassRoomIds(@Param("mentorIds") Collection<Integer> mentorIds);
+
+    /**
+     * Finds the IDs of all classrooms that are assigned to a mentor, together with the mentor ID.
+     *
+     * @return the classroom and mentor ID pairs ordered by classroom ID
+     */
+    @Query("SELECT c.mentorEntity.mentorId AS mentorId, c.classRoomId AS classRoomId FROM ClassRoomEntity c " +
+            "WHERE c.mentorEntity IS NOT NULL ORDER BY c.classRoomId")
+    List<MentorClassRoomIdView> findAllAssignedClassRoomIds();
+
+    /**
+     * Finds the distinct mentors currently assigned to any of the given classrooms.
+     *
+     * @param classRoomIds the IDs of the classrooms
+     * @return the IDs of the assigned mentors
+     */
+    @Query("SELECT DISTINCT c.mentorEntity.mentorId FROM ClassRoomEntity c " +
+            "WHERE c.classRoomId IN :classRoomIds AND c.mentorEntity IS NOT NULL")
+    List<Integer> findMentorIdsOfClassRooms(@Param("classRoomIds") Collection<Integer> classRoomIds);
+
+    /**
+     * Assigns the given classrooms to a mentor with a single UPDATE statement, moving them away from
+     * their previous mentors. The persistence context is cleared afterwards, as loaded classrooms are stale.
+     *
+     * @param mentor       the mentor to assign the classrooms to
+     * @param classRoomIds the IDs of the classrooms
+     * @return the number of updated classrooms
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClassRoomEntity c SET c.mentorEntity = :mentor WHERE c.classRoomId IN :classRoomIds")
+    int assignMentor(@Param("mentor") MentorEntity mentor, @Param("classRoomIds") Collection<Integer> classRoomIds);
+
+    /**
+     * Unassigns every classroom of a mentor except the given ones, with a single UPDATE statement.
+     *
+     * @param mentor       the mentor whose classrooms are unassigned
+     * @param classRoomIds the IDs of the classrooms the mentor keeps
+     * @return the number of unassigned classrooms
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClassRoomEntity c SET c.mentorEntity = NULL " +
+            "WHERE c.mentorEntity = :mentor AND c.classRoomId NOT IN :classRoomIds")
+    int unassignMentorExcept(@Param("mentor") MentorEntity mentor, @Param("classRoomIds") Collection<Integer> classRoomIds);
 
 }
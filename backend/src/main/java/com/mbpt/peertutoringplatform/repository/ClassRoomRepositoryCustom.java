@@ -0,0 +1,13 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import java.util.Map;
+
+public interface ClassRoomRepositoryCustom {
+
+    /**
+     * Sets the enrolled student count of the classrooms with a single JDBC batch.
+     *
+     * @param enrolledStudentCounts the enrolled student count by classroom ID
+     */
+    void updateEnrolledStudentCounts(Map<Integer, Integer> enrolledStudentCounts);
+}
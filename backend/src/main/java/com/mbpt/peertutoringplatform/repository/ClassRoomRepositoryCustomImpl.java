@@ -0,0 +1,34 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch update of the enrolled student counts, which are maintained in memory and written back periodically.
+ */
+public class ClassRoomRepositoryCustomImpl implements ClassRoomRepositoryCustom {
+
+    private static final String UPDATE_ENROLLED_STUDENT_COUNT_SQL =
+            "UPDATE classrooms SET enrolled_student_count = ? WHERE class_room_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClassRoomRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void updateEnrolledStudentCounts(Map<Integer, Integer> enrolledStudentCounts) {
+        if (enrolledStudentCounts.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = enrolledStudentCounts.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), entry.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE_ENROLLED_STUDENT_COUNT_SQL, batchArgs);
+    }
+}
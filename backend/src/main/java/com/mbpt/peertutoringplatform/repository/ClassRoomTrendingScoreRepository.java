@@ -0,0 +1,11 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import com.mbpt.peertutoringplatform.entity.ClassRoomTrendingScoreEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClassRoomTrendingScoreRepository extends JpaRepository<ClassRoomTrendingScoreEntity, Integer>,
+        ClassRoomTrendingScoreRepositoryCustom {
+
+}
@@ -0,0 +1,15 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+public interface ClassRoomTrendingScoreRepositoryCustom {
+
+    /**
+     * Replaces all stored trending scores with the given ones, using a single JDBC batch.
+     *
+     * @param scores   the score by classroom ID
+     * @param scoredAt the instant the scores were computed at
+     */
+    void replaceScores(Map<Integer, Double> scores, Instant scoredAt);
+}
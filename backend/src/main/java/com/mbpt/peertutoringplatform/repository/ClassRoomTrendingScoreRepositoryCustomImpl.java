@@ -0,0 +1,40 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch replacement of the trending score snapshot, which is maintained in memory and written back periodically.
+ */
+public class ClassRoomTrendingScoreRepositoryCustomImpl implements ClassRoomTrendingScoreRepositoryCustom {
+
+    private static final String DELETE_SCORES_SQL = "DELETE FROM classroom_trending_scores";
+
+    private static final String INSERT_SCORE_SQL =
+            "INSERT INTO classroom_trending_scores (class_room_id, score, scored_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClassRoomTrendingScoreRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void replaceScores(Map<Integer, Double> scores, Instant scoredAt) {
+        jdbcTemplate.update(DELETE_SCORES_SQL);
+        if (scores.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.from(scoredAt);
+        List<Object[]> batchArgs = scores.entrySet().stream()
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue(), timestamp})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SCORE_SQL, batchArgs);
+    }
+}
@@ -1,10 +1,73 @@
 package com.mbpt.peertutoringplatform.repository;
 
 import com.mbpt.peertutoringplatform.entity.LiteSessionEntity;
+import com.mbpt.peertutoringplatform.repository.projection.ClassRoomStudentIdView;
+import com.mbpt.peertutoringplatform.repository.projection.MentorStudentIdView;
+import com.mbpt.peertutoringplatform.repository.projection.SessionStatusChangeView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface LiteSessionRepository extends JpaRepository<LiteSessionEntity, Integer> {
+public interface LiteSessionRepository extends JpaRepository<LiteSessionEntity, Integer>, LiteSessionRepositoryCustom {
+
+    /**
+     * Finds all sessions that end after the given instant.
+     *
+     * @param instant the instant the sessions must end after
+     * @return the sessions that have not ended at the given instant
+     */
+    List<LiteSessionEntity> findAllByEndTimeAfter(Instant instant);
+
+    /**
+     * Finds every distinct pair of classroom and student that has at least one session.
+     *
+     * @return the distinct classroom and student ID pairs
+     */
+    @Query("SELECT DISTINCT s.classRoomId AS classRoomId, s.studentId AS studentId FROM LiteSessionEntity s")
+    List<ClassRoomStudentIdView> findDistinctClassRoomStudentIds();
+
+    /**
+     * Retrieves the highest session ID.
+     *
+     * @return the highest session ID, or empty if there are no sessions
+     */
+    @Query("SELECT MAX(s.sessionId) FROM LiteSessionEntity s")
+    Optional<Integer> findMaxSessionId();
+
+    /**
+     * Finds the distinct pairs of mentor and student among the sessions with an ID in {@code (afterId, untilId]}.
+     *
+     * @param afterId the session ID to start after
+     * @param untilId the last session ID to include
+     * @return the distinct mentor and student ID pairs
+     */
+    @Query("SELECT DISTINCT s.mentorId AS mentorId, s.studentId AS studentId FROM LiteSessionEntity s " +
+            "WHERE s.sessionId > :afterId AND s.sessionId <= :untilId")
+    List<MentorStudentIdView> findDistinctMentorStudentIds(@Param("afterId") Integer afterId, @Param("untilId") Integer untilId);
+
+    /**
+     * Moves the given sessions to the target status in a single statement. Only sessions in the status
+     * that precedes the target (PENDING before ACCEPTED, ACCEPTED before COMPLETED) are updated; the
+     * others are left unchanged. Must run inside a read-write transaction.
+     *
+     * @param sessionIds   the IDs of the sessions to update
+     * @param targetStatus the name of the new status
+     * @return the sessions that were updated
+     */
+    @Query(value = "UPDATE sessions SET session_status = :targetStatus " +
+            "WHERE session_id IN (:sessionIds) " +
+            "AND session_status = CASE :targetStatus WHEN 'ACCEPTED' THEN 'PENDING' WHEN 'COMPLETED' THEN 'ACCEPTED' END " +
+            "RETURNING session_id AS \"sessionId\", student_id AS \"studentId\", " +
+            "mentor_id AS \"mentorId\", class_room_id AS \"classRoomId\", " +
+            "start_time AS \"startTime\", end_time AS \"endTime\"",
+            nativeQuery = true)
+    List<SessionStatusChangeView> advanceStatus(@Param("sessionIds") Collection<Integer> sessionIds, @Param("targetStatus") String targetStatus);
 
 }
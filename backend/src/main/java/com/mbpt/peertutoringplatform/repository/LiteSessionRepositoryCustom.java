@@ -0,0 +1,16 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import com.mbpt.peertutoringplatform.entity.LiteSessionEntity;
+
+import java.util.List;
+
+public interface LiteSessionRepositoryCustom {
+
+    /**
+     * Inserts the sessions with a single JDBC batch and sets their generated session IDs.
+     *
+     * @param sessions the new sessions to insert
+     * @return the inserted sessions with their generated IDs, in the same order
+     */
+    List<LiteSessionEntity> insertAll(List<LiteSessionEntity> sessions);
+}
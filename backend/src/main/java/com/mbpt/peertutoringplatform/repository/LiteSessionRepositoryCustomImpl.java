@@ -0,0 +1,66 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import com.mbpt.peertutoringplatform.entity.LiteSessionEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch insert of sessions. Hibernate does not batch inserts of entities with identity-generated IDs,
+ * so the batch is sent through JDBC and the generated IDs are read back from the batch.
+ */
+public class LiteSessionRepositoryCustomImpl implements LiteSessionRepositoryCustom {
+
+    private static final String INSERT_SESSION_SQL = "INSERT INTO sessions " +
+            "(student_id, class_room_id, mentor_id, topic, start_time, end_time, session_status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LiteSessionRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<LiteSessionEntity> insertAll(List<LiteSessionEntity> sessions) {
+        if (sessions.isEmpty()) {
+            return sessions;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SESSION_SQL, new String[]{"session_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        LiteSessionEntity session = sessions.get(i);
+                        ps.setInt(1, session.getStudentId());
+                        ps.setInt(2, session.getClassRoomId());
+                        ps.setInt(3, session.getMentorId());
+                        ps.setString(4, session.getTopic());
+                        ps.setObject(5, OffsetDateTime.ofInstant(session.getStartTime(), ZoneOffset.UTC));
+                        ps.setObject(6, OffsetDateTime.ofInstant(session.getEndTime(), ZoneOffset.UTC));
+                        ps.setString(7, session.getSessionStatus().name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return sessions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < sessions.size(); i++) {
+            sessions.get(i).setSessionId(((Number) keys.get(i).get("session_id")).intValue());
+        }
+        return sessions;
+    }
+}
@@ -0,0 +1,122 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import com.mbpt.peertutoringplatform.dto.MentorClassDTO;
+import com.mbpt.peertutoringplatform.entity.MentorClassSessionCountEntity;
+import com.mbpt.peertutoringplatform.repository.projection.MentorClassRoomIdView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MentorClassSessionCountRepository extends JpaRepository<MentorClassSessionCountEntity, MentorClassSessionCountEntity.Key> {
+
+    /**
+     * Adds to the session count of a mentor and classroom, creating the row if it does not exist.
+     *
+     * @param mentorId    the ID of the mentor
+     * @param classRoomId the ID of the classroom
+     * @param delta       the number of sessions to add
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO mentor_class_session_counts (mentor_id, class_room_id, session_count)
+            VALUES (:mentorId, :classRoomId, :delta)
+            ON CONFLICT (mentor_id, class_room_id)
+            DO UPDATE SET session_count = mentor_class_session_counts.session_count + EXCLUDED.session_count
+            """, nativeQuery = true)
+    void increment(@Param("mentorId") Integer mentorId, @Param("classRoomId") Integer classRoomId, @Param("delta") Integer delta);
+
+    /**
+     * Deletes the session counts of a classroom, whose sessions are deleted with it.
+     *
+     * @param classRoomId the ID of the classroom
+     */
+    @Modifying
+    @Query(value = "DELETE FROM mentor_class_session_counts WHERE class_room_id = :classRoomId", nativeQuery = true)
+    void deleteByClassRoomId(@Param("classRoomId") Integer classRoomId);
+
+    /**
+     * Retrieves the classrooms of a mentor with the number of sessions of the mentor in each of them.
+     *
+     * @param mentorId the ID of the mentor
+     * @return the classrooms of the mentor with their session counts
+     */
+    @Query("""
+            SELECT new com.mbpt.peertutoringplatform.dto.MentorClassDTO(c.title, COALESCE(sc.sessionCount, 0))
+            FROM ClassRoomEntity c
+            LEFT JOIN MentorClassSessionCountEntity sc
+                ON sc.key.classRoomId = c.classRoomId AND sc.key.mentorId = :mentorId
+            WHERE c.mentorEntity.mentorId = :mentorId
+            ORDER BY c.classRoomId
+            """)
+    List<MentorClassDTO> findMentorClasses(@Param("mentorId") Integer mentorId);
+
+    /**
+     * Finds the (mentor, classroom) pairs whose stored count differs from the sessions table. Reads a
+     * snapshot without locking, so a pair may also be reported because a booking was in progress.
+     *
+     * @return the drifted pairs
+     */
+    @Query(value = """
+            SELECT COALESCE(actual.mentor_id, stored.mentor_id) AS "mentorId",
+                   COALESCE(actual.class_room_id, stored.class_room_id) AS "classRoomId"
+            FROM (SELECT mentor_id, class_room_id, COUNT(*) AS session_count
+                  FROM sessions GROUP BY mentor_id, class_room_id) actual
+            FULL OUTER JOIN mentor_class_session_counts stored
+                ON stored.mentor_id = actual.mentor_id AND stored.class_room_id = actual.class_room_id
+            WHERE COALESCE(actual.session_count, 0) <> COALESCE(stored.session_count, 0)
+            """, nativeQuery = true)
+    List<MentorClassRoomIdView> findDriftedPairs();
+
+    /**
+     * Creates the count row of a pair with a count of 0 if it does not exist yet.
+     *
+     * @param mentorId    the ID of the mentor
+     * @param classRoomId the ID of the classroom
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO mentor_class_session_counts (mentor_id, class_room_id, session_count)
+            VALUES (:mentorId, :classRoomId, 0)
+            ON CONFLICT (mentor_id, class_room_id) DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("mentorId") Integer mentorId, @Param("classRoomId") Integer classRoomId);
+
+    /**
+     * Locks the count row of a pair until the end of the transaction. Increments of the pair wait for
+     * it, so a count taken by a later statement of the same transaction cannot be overwritten by them.
+     *
+     * @param mentorId    the ID of the mentor
+     * @param classRoomId the ID of the classroom
+     * @return the stored count
+     */
+    @Query(value = """
+            SELECT session_count FROM mentor_class_session_counts
+            WHERE mentor_id = :mentorId AND class_room_id = :classRoomId
+            FOR UPDATE
+            """, nativeQuery = true)
+    Integer lockCount(@Param("mentorId") Integer mentorId, @Param("classRoomId") Integer classRoomId);
+
+    /**
+     * Overwrites the stored count of a pair with the number of its sessions. Must run after
+     * {@link #lockCount}, in a later statement, so that it sees every session whose increment was committed.
+     *
+     * @param mentorId    the ID of the mentor
+     * @param classRoomId the ID of the classroom
+     * @return the number of repaired rows, 0 if the count was correct
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE mentor_class_session_counts stored
+            SET session_count = actual.session_count
+            FROM (SELECT COUNT(*) AS session_count FROM sessions
+                  WHERE mentor_id = :mentorId AND class_room_id = :classRoomId) actual
+            WHERE stored.mentor_id = :mentorId AND stored.class_room_id = :classRoomId
+              AND stored.session_count <> actual.session_count
+            """, nativeQuery = true)
+    int repairCount(@Param("mentorId") Integer mentorId, @Param("classRoomId") Integer classRoomId);
+}
@@ -1,10 +1,60 @@
 package com.mbpt.peertutoringplatform.repository;
 
 import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface MentorRepository extends JpaRepository<MentorEntity, Integer> {
+public interface MentorRepository extends JpaRepository<MentorEntity, Integer>, JpaSpecificationExecutor<MentorEntity> {
+
+    /**
+     * Finds which of the given mentor IDs exist.
+     *
+     * @param mentorIds the mentor IDs to check
+     * @return the IDs of the existing mentors
+     */
+    @Query("SELECT m.mentorId FROM MentorEntity m WHERE m.mentorId IN :mentorIds")
+    List<Integer> findExistingIds(@Param("mentorIds") Collection<Integer> mentorIds);
+
+    /**
+     * Finds which of the given mentors have no classroom assigned.
+     *
+     * @param mentorIds the mentor IDs to check
+     * @return the IDs of the mentors without classrooms
+     */
+    @Query("SELECT m.mentorId FROM MentorEntity m WHERE m.mentorId IN :mentorIds " +
+            "AND NOT EXISTS (SELECT 1 FROM ClassRoomEntity c WHERE c.mentorEntity = m)")
+    List<Integer> findIdsWithoutClassRooms(@Param("mentorIds") Collection<Integer> mentorIds);
+
+    /**
+     * Retrieves the IDs of all mentors.
+     *
+     * @return the IDs of all mentors
+     */
+    @Query("SELECT m.mentorId FROM MentorEntity m")
+    List<Integer> findAllMentorIds();
+
+    /**
+     * Streams all mentors ordered by mentor ID, without their classrooms.
+     * Rows are read through a server-side cursor, so the stream must be consumed inside a transaction.
+     *
+     * @return a stream of all mentors
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM MentorEntity m ORDER BY m.mentorId")
+    Stream<MentorEntity> streamAll();
 
 }
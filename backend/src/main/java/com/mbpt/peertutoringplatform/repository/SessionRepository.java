@@ -1,15 +1,151 @@
 package com.mbpt.peertutoringplatform.repository;
 
+import com.mbpt.peertutoringplatform.common.Constants;
 import com.mbpt.peertutoringplatform.entity.SessionEntity;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface SessionRepository extends JpaRepository<SessionEntity, Integer> {
 
-    @Query("SELECT COUNT(s) FROM SessionEntity s " +
-            "WHERE s.classRoomEntity.classRoomId = :classRoomId AND s.mentorEntity.mentorId = :mentorId")
-    Integer countByClassRoomIdAndMentorId(@Param("classRoomId") Integer classRoomId, @Param("mentorId") Integer mentorId);
+    /**
+     * Finds all sessions with their classroom, mentor and student fetched in the same query.
+     *
+     * @return all sessions
+     */
+    @Override
+    @EntityGraph(SessionEntity.WITH_PARTICIPANTS_GRAPH)
+    List<SessionEntity> findAll();
+
+    /**
+     * Finds a session by ID with its classroom, mentor and student fetched in the same query, and locks
+     * the session row until the end of the transaction so that concurrent status changes are serialized.
+     *
+     * @param sessionId the ID of the session
+     * @return an Optional containing the SessionEntity if found, otherwise empty
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(SessionEntity.WITH_PARTICIPANTS_GRAPH)
+    Optional<SessionEntity> findWithParticipantsBySessionId(Integer sessionId);
+
+    /**
+     * Finds the sessions of a student, ordered by start time.
+     * The student, mentor and classroom are fetched in the same query, and the lookup
+     * is served by the {@code (student_id, start_time)} index on the sessions table.
+     *
+     * @param studentId      the ID of the student
+     * @param startFrom      if not null, only sessions starting at or after this instant are returned
+     * @param startBefore    if not null, only sessions starting before this instant are returned
+     * @param sessionStatus  if not null, only sessions with this status are returned
+     * @return the matching sessions ordered by start time
+     */
+    @Query("SELECT s FROM SessionEntity s " +
+            "JOIN FETCH s.studentEntity " +
+            "JOIN FETCH s.mentorEntity " +
+            "JOIN FETCH s.classRoomEntity " +
+            "WHERE s.studentEntity.studentId = :studentId " +
+            "AND (:startFrom IS NULL OR s.startTime >= :startFrom) " +
+            "AND (:startBefore IS NULL OR s.startTime < :startBefore) " +
+            "AND (:sessionStatus IS NULL OR s.sessionStatus = :sessionStatus) " +
+            "ORDER BY s.startTime, s.sessionId")
+    List<SessionEntity> findAllByStudentId(@Param("studentId") Integer studentId,
+                                           @Param("startFrom") Instant startFrom,
+                                           @Param("startBefore") Instant startBefore,
+                                           @Param("sessionStatus") Constants.SessionStatus sessionStatus);
+
+    /**
+     * Finds the first page of sessions, ordered by start time and session ID.
+     * Only the page size from the {@link Pageable} is used.
+     *
+     * @param sessionStatus if not null, only sessions with this status are returned
+     * @param mentorId      if not null, only sessions of this mentor are returned
+     * @param classRoomId   if not null, only sessions of this classroom are returned
+     * @param startFrom     if not null, only sessions starting at or after this instant are returned
+     * @param startBefore   if not null, only sessions starting before this instant are returned
+     * @param pageable      the page size to fetch
+     * @return the sessions of the page
+     */
+    @Query("SELECT s FROM SessionEntity s " +
+            "JOIN FETCH s.studentEntity " +
+            "JOIN FETCH s.mentorEntity m " +
+            "JOIN FETCH s.classRoomEntity c " +
+            "WHERE (:sessionStatus IS NULL OR s.sessionStatus = :sessionStatus) " +
+            "AND (:mentorId IS NULL OR m.mentorId = :mentorId) " +
+            "AND (:classRoomId IS NULL OR c.classRoomId = :classRoomId) " +
+            "AND (:startFrom IS NULL OR s.startTime >= :startFrom) " +
+            "AND (:startBefore IS NULL OR s.startTime < :startBefore) " +
+            "ORDER BY s.startTime, s.sessionId")
+    List<SessionEntity> findFirstPage(@Param("sessionStatus") Constants.SessionStatus sessionStatus,
+                                      @Param("mentorId") Integer mentorId,
+                                      @Param("classRoomId") Integer classRoomId,
+                                      @Param("startFrom") Instant startFrom,
+                                      @Param("startBefore") Instant startBefore,
+                                      Pageable pageable);
+
+    /**
+     * Finds a page of sessions positioned after the given keyset cursor, ordered by start time and session ID.
+     * Only the page size from the {@link Pageable} is used. The cursor is compared as a row value, which
+     * PostgreSQL uses as the start of a range scan on the {@code (start_time, session_id)} index, so a page
+     * deep in the list costs as much as the first one.
+     *
+     * @param cursorStartTime start time of the last session of the previous page
+     * @param cursorSessionId session ID of the last session of the previous page
+     * @param sessionStatus   if not null, only sessions with this status are returned
+     * @param mentorId        if not null, only sessions of this mentor are returned
+     * @param classRoomId     if not null, only sessions of this classroom are returned
+     * @param startFrom       if not null, only sessions starting at or after this instant are returned
+     * @param startBefore     if not null, only sessions starting before this instant are returned
+     * @param pageable        the page size to fetch
+     * @return the sessions of the page
+     */
+    @Query("SELECT s FROM SessionEntity s " +
+            "JOIN FETCH s.studentEntity " +
+            "JOIN FETCH s.mentorEntity m " +
+            "JOIN FETCH s.classRoomEntity c " +
+            "WHERE (s.startTime, s.sessionId) > (:cursorStartTime, :cursorSessionId) " +
+            "AND (:sessionStatus IS NULL OR s.sessionStatus = :sessionStatus) " +
+            "AND (:mentorId IS NULL OR m.mentorId = :mentorId) " +
+            "AND (:classRoomId IS NULL OR c.classRoomId = :classRoomId) " +
+            "AND (:startFrom IS NULL OR s.startTime >= :startFrom) " +
+            "AND (:startBefore IS NULL OR s.startTime < :startBefore) " +
+            "ORDER BY s.startTime, s.sessionId")
+    List<SessionEntity> findPageAfter(@Param("cursorStartTime") Instant cursorStartTime,
+                                      @Param("cursorSessionId") Integer cursorSessionId,
+                                      @Param("sessionStatus") Constants.SessionStatus sessionStatus,
+                                      @Param("mentorId") Integer mentorId,
+                                      @Param("classRoomId") Integer classRoomId,
+                                      @Param("startFrom") Instant startFrom,
+                                      @Param("startBefore") Instant startBefore,
+                                      Pageable pageable);
+
+    /**
+     * Streams all sessions with their student, mentor and classroom, ordered by session ID.
+     * Rows are read through a server-side cursor, so the stream must be consumed inside a transaction.
+     *
+     * @return a stream of all sessions
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM SessionEntity s " +
+            "JOIN FETCH s.studentEntity " +
+            "JOIN FETCH s.mentorEntity " +
+            "JOIN FETCH s.classRoomEntity " +
+            "ORDER BY s.sessionId")
+    Stream<SessionEntity> streamAll();
 }
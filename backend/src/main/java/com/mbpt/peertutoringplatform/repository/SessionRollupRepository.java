@@ -0,0 +1,113 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.AnalyticsBucketDTO;
+import com.mbpt.peertutoringplatform.dto.AnalyticsTotalDTO;
+import com.mbpt.peertutoringplatform.entity.SessionRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SessionRollupRepository extends JpaRepository<SessionRollupEntity, SessionRollupEntity.Key> {
+
+    /**
+     * Adds session activity to a bucket, creating the bucket if it does not exist. The revenue of the
+     * completed sessions is taken from the current session fee of the mentor.
+     *
+     * @param granularity    the granularity of the bucket, HOUR or DAY
+     * @param bucketStart    the start of the bucket
+     * @param mentorId       the ID of the mentor
+     * @param classRoomId    the ID of the classroom
+     * @param createdCount   the number of created sessions to add
+     * @param acceptedCount  the number of accepted sessions to add
+     * @param completedCount the number of completed sessions to add
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO session_rollups (granularity, bucket_start, mentor_id, class_room_id,
+                                         created_count, accepted_count, completed_count, revenue)
+            SELECT :granularity, :bucketStart, :mentorId, :classRoomId,
+                   :createdCount, :acceptedCount, :completedCount, :completedCount * m.session_fee
+            FROM mentors m WHERE m.mentor_id = :mentorId
+            ON CONFLICT (granularity, bucket_start, mentor_id, class_room_id)
+            DO UPDATE SET created_count = session_rollups.created_count + EXCLUDED.created_count,
+                          accepted_count = session_rollups.accepted_count + EXCLUDED.accepted_count,
+                          completed_count = session_rollups.completed_count + EXCLUDED.completed_count,
+                          revenue = session_rollups.revenue + EXCLUDED.revenue
+            """, nativeQuery = true)
+    void accumulate(@Param("granularity") String granularity, @Param("bucketStart") Instant bucketStart,
+                    @Param("mentorId") Integer mentorId, @Param("classRoomId") Integer classRoomId,
+                    @Param("createdCount") Integer createdCount, @Param("acceptedCount") Integer acceptedCount,
+                    @Param("completedCount") Integer completedCount);
+
+    /**
+     * Sums the buckets of a range per bucket start, optionally restricted to a mentor and a classroom.
+     *
+     * @param granularity the granularity of the buckets
+     * @param from        the start of the range, inclusive
+     * @param to          the end of the range, exclusive
+     * @param mentorId    the ID of the mentor, or {@code null} for all mentors
+     * @param classRoomId the ID of the classroom, or {@code null} for all classrooms
+     * @return the non-empty buckets of the range ordered by bucket start
+     */
+    @Query("""
+            SELECT new com.mbpt.peertutoringplatform.dto.AnalyticsBucketDTO(r.key.bucketStart,
+                SUM(r.createdCount), SUM(r.acceptedCount), SUM(r.completedCount), SUM(r.revenue))
+            FROM SessionRollupEntity r
+            WHERE r.key.granularity = :granularity
+              AND r.key.bucketStart >= :from AND r.key.bucketStart < :to
+              AND (:mentorId IS NULL OR r.key.mentorId = :mentorId)
+              AND (:classRoomId IS NULL OR r.key.classRoomId = :classRoomId)
+            GROUP BY r.key.bucketStart
+            ORDER BY r.key.bucketStart
+            """)
+    List<AnalyticsBucketDTO> sumPerBucket(@Param("granularity") Constants.RollupGranularity granularity,
+                                          @Param("from") Instant from, @Param("to") Instant to,
+                                          @Param("mentorId") Integer mentorId, @Param("classRoomId") Integer classRoomId);
+
+    /**
+     * Sums the buckets of a range per mentor.
+     *
+     * @param granularity the granularity of the buckets
+     * @param from        the start of the range, inclusive
+     * @param to          the end of the range, exclusive
+     * @return the totals of the mentors with activity in the range, highest revenue first
+     */
+    @Query("""
+            SELECT new com.mbpt.peertutoringplatform.dto.AnalyticsTotalDTO(r.key.mentorId,
+                SUM(r.createdCount), SUM(r.acceptedCount), SUM(r.completedCount), SUM(r.revenue))
+            FROM SessionRollupEntity r
+            WHERE r.key.granularity = :granularity
+              AND r.key.bucketStart >= :from AND r.key.bucketStart < :to
+            GROUP BY r.key.mentorId
+            ORDER BY SUM(r.revenue) DESC, r.key.mentorId
+            """)
+    List<AnalyticsTotalDTO> sumPerMentor(@Param("granularity") Constants.RollupGranularity granularity,
+                                         @Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Sums the buckets of a range per classroom.
+     *
+     * @param granularity the granularity of the buckets
+     * @param from        the start of the range, inclusive
+     * @param to          the end of the range, exclusive
+     * @return the totals of the classrooms with activity in the range, highest revenue first
+     */
+    @Query("""
+            SELECT new com.mbpt.peertutoringplatform.dto.AnalyticsTotalDTO(r.key.classRoomId,
+                SUM(r.createdCount), SUM(r.acceptedCount), SUM(r.completedCount), SUM(r.revenue))
+            FROM SessionRollupEntity r
+            WHERE r.key.granularity = :granularity
+              AND r.key.bucketStart >= :from AND r.key.bucketStart < :to
+            GROUP BY r.key.classRoomId
+            ORDER BY SUM(r.revenue) DESC, r.key.classRoomId
+            """)
+    List<AnalyticsTotalDTO> sumPerClassRoom(@Param("granularity") Constants.RollupGranularity granularity,
+                                            @Param("from") Instant from, @Param("to") Instant to);
+}
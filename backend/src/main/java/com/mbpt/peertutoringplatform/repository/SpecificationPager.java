@@ -0,0 +1,51 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fetches one page of entities matching a {@link Specification}, without the count query that
+ * {@code JpaSpecificationExecutor.findAll(Specification, Pageable)} always runs. Totals are counted
+ * separately so they can be cached.
+ */
+@Component
+public class SpecificationPager {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Retrieves the rows of a page.
+     *
+     * @param entityType    the entity class
+     * @param specification the filters, also allowed to add fetch joins
+     * @param pageable      the page index, page size and sort
+     * @return the entities of the page in the requested order
+     */
+    public <T> List<T> findPage(Class<T> entityType, Specification<T> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(entityType);
+        Root<T> root = query.from(entityType);
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
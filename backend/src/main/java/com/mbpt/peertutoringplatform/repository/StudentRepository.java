@@ -1,13 +1,23 @@
 package com.mbpt.peertutoringplatform.repository;
 
 import com.mbpt.peertutoringplatform.entity.StudentEntity;
+import com.mbpt.peertutoringplatform.repository.projection.StudentUpsertView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<StudentEntity, Integer> {
+public interface StudentRepository extends JpaRepository<StudentEntity, Integer>, JpaSpecificationExecutor<StudentEntity> {
 
     /**
      * Finds a student by their clerk student ID.
@@ -17,4 +27,87 @@ public interface StudentRepository extends JpaRepository<StudentEntity, Integer>
      */
     Optional<StudentEntity> findByClerkStudentId(String clerkStudentId);
 
+    /**
+     * Inserts a student unless one with the same clerk student ID exists, and returns the inserted or
+     * existing row in the same statement. Must run inside a read-write transaction.
+     * <p>
+     * The existing row is looked up before inserting, so a returning student does not draw a value from
+     * the {@code student_id} identity; {@code ON CONFLICT} only takes effect, and a value is only lost,
+     * when a concurrent transaction inserts the same clerk student ID first. The insert then waits for it
+     * and does nothing, but the existing row is not visible to this statement and the result is empty.
+     *
+     * @param clerkStudentId the generated ID for the student by Clerk
+     * @param firstName      the first name of the student
+     * @param lastName       the last name of the student
+     * @param email          the email of the student
+     * @param phoneNumber    the phone number of the student
+     * @param address        the address of the student
+     * @param age            the age of the student
+     * @return the inserted or existing student, or empty if it was inserted concurrently
+     */
+    @Query(value = """
+            WITH existing AS (
+                SELECT student_id, clerk_student_id, first_name, last_name, email, phone_number, address, age
+                FROM students
+                WHERE clerk_student_id = :clerkStudentId
+            ), inserted AS (
+                INSERT INTO students (clerk_student_id, first_name, last_name, email, phone_number, address, age)
+                SELECT :clerkStudentId, :firstName, :lastName, :email, :phoneNumber, :address, CAST(:age AS integer)
+                WHERE NOT EXISTS (SELECT 1 FROM existing)
+                ON CONFLICT (clerk_student_id) DO NOTHING
+                RETURNING student_id, clerk_student_id, first_name, last_name, email, phone_number, address, age
+            )
+            SELECT student_id AS "studentId", clerk_student_id AS "clerkStudentId", first_name AS "firstName",
+                   last_name AS "lastName", email AS "email", phone_number AS "phoneNumber", address AS "address",
+                   age AS "age", TRUE AS "created"
+            FROM inserted
+            UNION ALL
+            SELECT student_id, clerk_student_id, first_name, last_name, email, phone_number, address, age, FALSE
+            FROM existing
+            """, nativeQuery = true)
+    Optional<StudentUpsertView> insertIfAbsent(@Param("clerkStudentId") String clerkStudentId,
+                                               @Param("firstName") String firstName,
+                                               @Param("lastName") String lastName,
+                                               @Param("email") String email,
+                                               @Param("phoneNumber") String phoneNumber,
+                                               @Param("address") String address,
+                                               @Param("age") Integer age);
+
+    /**
+     * Finds a student by their clerk student ID, without loading the student's sessions.
+     *
+     * @param clerkStudentId the generated ID for the student by Clerk
+     * @return an Optional containing the student if found, otherwise empty
+     */
+    @Query(value = """
+            SELECT student_id AS "studentId", clerk_student_id AS "clerkStudentId", first_name AS "firstName",
+                   last_name AS "lastName", email AS "email", phone_number AS "phoneNumber", address AS "address",
+                   age AS "age", FALSE AS "created"
+            FROM students
+            WHERE clerk_student_id = :clerkStudentId
+            """, nativeQuery = true)
+    Optional<StudentUpsertView> findRowByClerkStudentId(@Param("clerkStudentId") String clerkStudentId);
+
+    /**
+     * Finds which of the given student IDs exist.
+     *
+     * @param studentIds the student IDs to check
+     * @return the IDs of the existing students
+     */
+    @Query("SELECT s.studentId FROM StudentEntity s WHERE s.studentId IN :studentIds")
+    List<Integer> findExistingIds(@Param("studentIds") Collection<Integer> studentIds);
+
+    /**
+     * Streams all students ordered by student ID.
+     * Rows are read through a server-side cursor, so the stream must be consumed inside a transaction.
+     *
+     * @return a stream of all students
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM StudentEntity s ORDER BY s.studentId")
+    Stream<StudentEntity> streamAll();
+
 }
@@ -0,0 +1,46 @@
+package com.mbpt.peertutoringplatform.repository.projection;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+
+/**
+ * Projection of a classroom together with the mentor it is assigned to.
+ * The mentor columns are {@code null} when the classroom has no mentor.
+ */
+public interface ClassRoomMentorView {
+
+    Integer getClassRoomId();
+
+    String getTitle();
+
+    Integer getEnrolledStudentCount();
+
+    String getClassImage();
+
+    Integer getMentorId();
+
+    String getMentorFirstName();
+
+    String getMentorLastName();
+
+    String getMentorAddress();
+
+    String getMentorEmail();
+
+    String getMentorPhoneNumber();
+
+    Constants.Title getMentorTitle();
+
+    Double getMentorSessionFee();
+
+    String getMentorProfession();
+
+    String getMentorSubject();
+
+    String getMentorQualification();
+
+    String getMentorImage();
+
+    Boolean getMentorIsCertified();
+
+    Integer getMentorPositiveReviews();
+}
@@ -0,0 +1,11 @@
+package com.mbpt.peertutoringplatform.repository.projection;
+
+/**
+ * Projection of a classroom ID and the ID of a student with a session in it.
+ */
+public interface ClassRoomStudentIdView {
+
+    Integer getClassRoomId();
+
+    Integer getStudentId();
+}
@@ -0,0 +1,11 @@
+package com.mbpt.peertutoringplatform.repository.projection;
+
+/**
+ * Projection of a classroom ID and title.
+ */
+public interface ClassRoomTitleView {
+
+    Integer getClassRoomId();
+
+    String getTitle();
+}
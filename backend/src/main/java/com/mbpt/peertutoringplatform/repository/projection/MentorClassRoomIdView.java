@@ -0,0 +1,11 @@
+package com.mbpt.peertutoringplatform.repository.projection;
+
+/**
+ * Projection of a classroom ID and the ID of the mentor it is assigned to.
+ */
+public interface MentorClassRoomIdView {
+
+    Integer getMentorId();
+
+    Integer getClassRoomId();
+}
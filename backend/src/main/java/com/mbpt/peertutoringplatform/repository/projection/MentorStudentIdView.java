@@ -0,0 +1,11 @@
+package com.mbpt.peertutoringplatform.repository.projection;
+
+/**
+ * Projection of a mentor ID and the ID of a student with a session with that mentor.
+ */
+public interface MentorStudentIdView {
+
+    Integer getMentorId();
+
+    Integer getStudentId();
+}
@@ -0,0 +1,21 @@
+package com.mbpt.peertutoringplatform.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Projection of a session whose status was changed by a bulk update.
+ */
+public interface SessionStatusChangeView {
+
+    Integer getSessionId();
+
+    Integer getStudentId();
+
+    Integer getMentorId();
+
+    Integer getClassRoomId();
+
+    Instant getStartTime();
+
+    Instant getEndTime();
+}
@@ -0,0 +1,20 @@
+package com.mbpt.peertutoringplatform.repository.projection;
+
+import com.mbpt.peertutoringplatform.entity.StudentEntity;
+
+/**
+ * An immutable copy of a student row, without the student's sessions, as held by the student identity cache.
+ */
+public record StudentIdentity(Integer studentId, String clerkStudentId, String firstName, String lastName,
+                              String email, String phoneNumber, String address, Integer age) {
+
+    public static StudentIdentity of(StudentEntity student) {
+        return new StudentIdentity(student.getStudentId(), student.getClerkStudentId(), student.getFirstName(),
+                student.getLastName(), student.getEmail(), student.getPhoneNumber(), student.getAddress(), student.getAge());
+    }
+
+    public static StudentIdentity of(StudentUpsertView student) {
+        return new StudentIdentity(student.getStudentId(), student.getClerkStudentId(), student.getFirstName(),
+                student.getLastName(), student.getEmail(), student.getPhoneNumber(), student.getAddress(), student.getAge());
+    }
+}
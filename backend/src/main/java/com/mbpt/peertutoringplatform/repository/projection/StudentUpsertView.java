@@ -0,0 +1,28 @@
+package com.mbpt.peertutoringplatform.repository.projection;
+
+/**
+ * Projection of a student row returned by an insert-if-absent, without the student's sessions.
+ */
+public interface StudentUpsertView {
+
+    Integer getStudentId();
+
+    String getClerkStudentId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    String getPhoneNumber();
+
+    String getAddress();
+
+    Integer getAge();
+
+    /**
+     * @return {@code true} if the row was inserted by this statement, {@code false} if it already existed
+     */
+    Boolean getCreated();
+}
@@ -0,0 +1,49 @@
+package com.mbpt.peertutoringplatform.repository.specification;
+
+import com.mbpt.peertutoringplatform.entity.ClassRoomEntity;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filters of the classroom admin list.
+ */
+public final class ClassRoomSpecifications {
+
+    private ClassRoomSpecifications() {
+    }
+
+    public static Specification<ClassRoomEntity> titleContains(String text) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), pattern);
+    }
+
+    public static Specification<ClassRoomEntity> hasMentor(Integer mentorId) {
+        return (root, query, cb) -> cb.equal(root.get("mentorEntity").get("mentorId"), mentorId);
+    }
+
+    public static Specification<ClassRoomEntity> isAssigned(boolean assigned) {
+        return (root, query, cb) -> assigned ? cb.isNotNull(root.get("mentorEntity")) : cb.isNull(root.get("mentorEntity"));
+    }
+
+    public static Specification<ClassRoomEntity> enrolledAtLeast(Integer minEnrolled) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("enrolledStudentCount"), minEnrolled);
+    }
+
+    public static Specification<ClassRoomEntity> enrolledAtMost(Integer maxEnrolled) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("enrolledStudentCount"), maxEnrolled);
+    }
+
+    /**
+     * Fetches the mentor in the same statement. Ignored by count queries.
+     */
+    public static Specification<ClassRoomEntity> fetchMentor() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("mentorEntity", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.mbpt.peertutoringplatform.repository.specification;
+
+import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filters of the mentor admin list.
+ */
+public final class MentorSpecifications {
+
+    private MentorSpecifications() {
+    }
+
+    public static Specification<MentorEntity> isCertified(Boolean certified) {
+        return (root, query, cb) -> cb.equal(root.get("isCertified"), certified);
+    }
+
+    public static Specification<MentorEntity> sessionFeeAtLeast(Double minFee) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("sessionFee"), minFee);
+    }
+
+    public static Specification<MentorEntity> sessionFeeAtMost(Double maxFee) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("sessionFee"), maxFee);
+    }
+
+    public static Specification<MentorEntity> nameContains(String text) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("firstName")), pattern),
+                cb.like(cb.lower(root.get("lastName")), pattern));
+    }
+
+    public static Specification<MentorEntity> subjectContains(String text) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("subject")), pattern);
+    }
+}
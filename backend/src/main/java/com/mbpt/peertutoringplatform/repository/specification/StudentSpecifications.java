@@ -0,0 +1,35 @@
+package com.mbpt.peertutoringplatform.repository.specification;
+
+import com.mbpt.peertutoringplatform.entity.StudentEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filters of the student admin list.
+ */
+public final class StudentSpecifications {
+
+    private StudentSpecifications() {
+    }
+
+    public static Specification<StudentEntity> ageAtLeast(Integer minAge) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("age"), minAge);
+    }
+
+    public static Specification<StudentEntity> ageAtMost(Integer maxAge) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("age"), maxAge);
+    }
+
+    public static Specification<StudentEntity> nameContains(String text) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("firstName")), pattern),
+                cb.like(cb.lower(root.get("lastName")), pattern));
+    }
+
+    public static Specification<StudentEntity> emailContains(String text) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("email")), pattern);
+    }
+}
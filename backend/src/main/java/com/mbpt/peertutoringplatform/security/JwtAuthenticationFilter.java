@@ -1,27 +1,75 @@
 package com.mbpt.peertutoringplatform.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Authenticates requests by the Clerk session token in the {@code Authorization} header.
+ * <p>
+ * The frontend sends the same token with every request until it is refreshed, so verified tokens are
+ * cached by their SHA-256 hash together with their user ID, authorities and expiry, and repeated
+ * requests skip the RSA signature check. Only this immutable data is shared between requests, every
+ * request gets its own {@link Authentication}. A token is cached only after it was fully verified and only until its
+ * {@code exp} claim, capped at {@link #MAX_CACHE_TTL}, so an expired token is never accepted from the
+ * cache. Tokens without an expiry are verified on every request.
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final PublicKey publicKey;
+    private static final Duration MAX_CACHE_TTL = Duration.ofMinutes(1);
 
-    public JwtAuthenticationFilter(PublicKey publicKey) {
-        this.publicKey = publicKey;
+    private final Clock clock;
+
+    private final JwtParser jwtParser;
+
+    // null when caching is disabled
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * @param publicKey the key verifying the token signatures
+     * @param cacheSize the maximum number of cached tokens, 0 to verify every request
+     */
+    public JwtAuthenticationFilter(PublicKey publicKey, int cacheSize) {
+        this(publicKey, cacheSize, Clock.systemUTC());
+    }
+
+    // the clock checks the exp claim, both when verifying and on a cache hit
+    JwtAuthenticationFilter(PublicKey publicKey, int cacheSize, Clock clock) {
+        this.clock = clock;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(publicKey)
+                .setClock(() -> new Date(clock.millis()))
+                .build();
+        this.verifiedTokens = cacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
     @Override
@@ -33,34 +81,98 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         String token = header.substring(7); // Remove "Bearer "
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(publicKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            String userId = claims.getSubject();
-            List<String> roles;
-            Object rawRoles = claims.get("role");
-            if (rawRoles instanceof List<?> rawList) {
-                roles = rawList.stream().map(Object::toString).collect(Collectors.toList());
-            } else if (rawRoles instanceof String singleRole) {
-                roles = List.of(singleRole);
-            } else {
-                roles = List.of();
-            }
-            var authorities = roles.stream()
-                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
-                    .collect(Collectors.toList());
-            var auth = new UsernamePasswordAuthenticationToken(
-                    new org.springframework.security.core.userdetails.User(userId, "", authorities),
-                    null,
-                    authorities
-            );
-            SecurityContextHolder.getContext().setAuthentication(auth);
+            SecurityContextHolder.getContext().setAuthentication(authenticate(token));
         } catch (Exception e) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
         filterChain.doFilter(request, response);
     }
+
+    private Authentication authenticate(String token) {
+        if (verifiedTokens == null) {
+            return verify(token).toAuthentication();
+        }
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        // the cache expires entries on its own ticker, the claim is checked again against the wall clock
+        if (cached != null && cached.expiresAtMillis() > clock.millis()) {
+            return cached.toAuthentication();
+        }
+        VerifiedToken verified = verify(token);
+        if (verified.expiresAtMillis() != Long.MAX_VALUE) {
+            verifiedTokens.put(key, verified);
+        }
+        return verified.toAuthentication();
+    }
+
+    VerifiedToken verify(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        String userId = claims.getSubject();
+        List<String> roles;
+        Object rawRoles = claims.get("role");
+        if (rawRoles instanceof List<?> rawList) {
+            roles = rawList.stream().map(Object::toString).collect(Collectors.toList());
+        } else if (rawRoles instanceof String singleRole) {
+            roles = List.of(singleRole);
+        } else {
+            roles = List.of();
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
+                .toList();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(userId, authorities, expiration == null ? Long.MAX_VALUE : expiration.getTime());
+    }
+
+    // the token itself is not kept in memory, a heap dump must not leak usable credentials
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The immutable result of verifying a token.
+     *
+     * @param userId          the subject of the token
+     * @param authorities     the roles of the token, unmodifiable
+     * @param expiresAtMillis the exp claim, {@link Long#MAX_VALUE} if the token has none
+     */
+    record VerifiedToken(String userId, List<GrantedAuthority> authorities, long expiresAtMillis) {
+
+        // Authentication is mutable (setAuthenticated, eraseCredentials, setDetails), so it is never shared
+        Authentication toAuthentication() {
+            return new UsernamePasswordAuthenticationToken(
+                    new org.springframework.security.core.userdetails.User(userId, "", authorities),
+                    null,
+                    authorities
+            );
+        }
+    }
+
+    /**
+     * Expires every cached token at its own {@code exp}, or after {@link #MAX_CACHE_TTL} if that is sooner.
+     */
+    private final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = Math.max(0, value.expiresAtMillis() - clock.millis());
+            return TimeUnit.MILLISECONDS.toNanos(Math.min(remainingMillis, MAX_CACHE_TTL.toMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
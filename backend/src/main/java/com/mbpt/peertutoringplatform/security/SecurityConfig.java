@@ -2,6 +2,8 @@ package com.mbpt.peertutoringplatform.security;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -28,7 +30,8 @@ public class SecurityConfig {
     private static final String JWKS_URL = "https://finer-flamingo-13.clerk.accounts.dev/.well-known/jwks.json";
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${security.jwt.cache-size:10000}") int jwtCacheSize) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(request -> {
@@ -39,16 +42,19 @@ public class SecurityConfig {
                     return corsConfiguration;
                 }))
                 .authorizeHttpRequests(authz -> authz
+                        // async dispatches of streamed responses were already authorized on the initial request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/public/**",
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**",
                                 "/actuator/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/academic/classroom/**", "/academic/mentor/profile/**")
+                        .requestMatchers(HttpMethod.GET, "/academic/classroom/**", "/academic/mentor/profile/**",
+                                "/academic/mentor/search")
                         .permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(clerkPublicKey()), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthenticationFilter(clerkPublicKey(), jwtCacheSize), UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
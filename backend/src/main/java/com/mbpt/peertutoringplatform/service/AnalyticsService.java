@@ -0,0 +1,49 @@
+package com.mbpt.peertutoringplatform.service;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.AnalyticsBucketDTO;
+import com.mbpt.peertutoringplatform.dto.AnalyticsTotalDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service Interface for booking and revenue analytics.
+ * Answers from hourly and daily rollups, so the cost of a query depends on the number of buckets, not sessions.
+ */
+
+public interface AnalyticsService {
+
+    /**
+     * Retrieves the session activity of a date range per hour or day.
+     *
+     * @param granularity the size of the buckets, HOUR or DAY
+     * @param from        the start of the range, inclusive
+     * @param to          the end of the range, exclusive
+     * @param mentorId    restricts the activity to a mentor, or {@code null} for all mentors
+     * @param classRoomId restricts the activity to a classroom, or {@code null} for all classrooms
+     * @return a list of {@link AnalyticsBucketDTO} objects ordered by bucket start, empty buckets omitted
+     */
+    List<AnalyticsBucketDTO> getSessionTimeline(Constants.RollupGranularity granularity, Instant from, Instant to,
+                                                Integer mentorId, Integer classRoomId);
+
+    /**
+     * Retrieves the session activity of a date range per mentor.
+     *
+     * @param granularity the size of the buckets the range is aligned to, HOUR or DAY
+     * @param from        the start of the range, inclusive
+     * @param to          the end of the range, exclusive
+     * @return a list of {@link AnalyticsTotalDTO} objects keyed by mentor ID, highest revenue first
+     */
+    List<AnalyticsTotalDTO> getMentorTotals(Constants.RollupGranularity granularity, Instant from, Instant to);
+
+    /**
+     * Retrieves the session activity of a date range per classroom.
+     *
+     * @param granularity the size of the buckets the range is aligned to, HOUR or DAY
+     * @param from        the start of the range, inclusive
+     * @param to          the end of the range, exclusive
+     * @return a list of {@link AnalyticsTotalDTO} objects keyed by classroom ID, highest revenue first
+     */
+    List<AnalyticsTotalDTO> getClassRoomTotals(Constants.RollupGranularity granularity, Instant from, Instant to);
+}
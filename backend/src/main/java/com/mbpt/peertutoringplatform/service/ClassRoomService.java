@@ -1,6 +1,9 @@
 package com.mbpt.peertutoringplatform.service;
 
 import com.mbpt.peertutoringplatform.dto.ClassRoomDTO;
+import com.mbpt.peertutoringplatform.dto.ClassRoomSuggestionDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
+import com.mbpt.peertutoringplatform.dto.TrendingClassRoomDTO;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -65,4 +68,37 @@ public interface ClassRoomService {
      * @return a list of {@link ClassRoomDTO} objects representing classrooms without an assigned mentor
      */
     List<ClassRoomDTO> getClassroomsWithoutMentor();
+
+    /**
+     * Suggests classrooms whose title matches the text typed by the user, ignoring case and accents.
+     *
+     * @param query the text typed by the user
+     * @param limit the maximum number of suggestions
+     * @return a list of {@link ClassRoomSuggestionDTO} objects, best matches first
+     */
+    List<ClassRoomSuggestionDTO> suggestClassRooms(String query, Integer limit);
+
+    /**
+     * Retrieves the classrooms with the most recent bookings, where older bookings count less.
+     *
+     * @param limit the maximum number of classrooms
+     * @return a list of {@link TrendingClassRoomDTO} objects, highest score first
+     */
+    List<TrendingClassRoomDTO> getTrendingClassRooms(Integer limit);
+
+    /**
+     * Retrieves one page of classrooms matching the given filters. Null filters are ignored.
+     *
+     * @param page        the zero-based page index
+     * @param size        the page size
+     * @param sort        the sort parameters, each of the form {@code field[,asc|desc]}
+     * @param title       restricts the page to classrooms whose title contains this text
+     * @param mentorId    restricts the page to classrooms of this mentor
+     * @param assigned    restricts the page to classrooms with ({@code true}) or without ({@code false}) a mentor
+     * @param minEnrolled the minimum number of enrolled students
+     * @param maxEnrolled the maximum number of enrolled students
+     * @return a {@link PageDTO} of {@link ClassRoomDTO} objects
+     */
+    PageDTO<ClassRoomDTO> getClassRoomsPage(int page, int size, List<String> sort, String title, Integer mentorId,
+                                            Boolean assigned, Integer minEnrolled, Integer maxEnrolled);
 }
@@ -0,0 +1,24 @@
+package com.mbpt.peertutoringplatform.service;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service Interface for bulk exports.
+ * Streams every row of an entity to an output stream without loading the whole result in memory.
+ */
+
+public interface ExportService {
+
+    /**
+     * Streams all rows of the given entity to the output stream, using the same field layout as the JSON API.
+     *
+     * @param exportEntity the entity to export
+     * @param exportFormat the format of the export, either NDJSON or CSV
+     * @param outputStream the stream to write the export to
+     * @throws IOException if writing to the output stream fails
+     */
+    void export(Constants.ExportEntity exportEntity, Constants.ExportFormat exportFormat, OutputStream outputStream) throws IOException;
+}
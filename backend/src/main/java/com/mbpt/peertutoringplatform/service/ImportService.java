@@ -0,0 +1,37 @@
+package com.mbpt.peertutoringplatform.service;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.ImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Service Interface for bulk imports.
+ * Streams rows from an input stream into the database without loading the whole input in memory.
+ */
+
+public interface ImportService {
+
+    /**
+     * Imports all rows of the input. Rows that fail validation are skipped and listed with their line
+     * and reasons in an error report file; all other rows are inserted in one transaction.
+     *
+     * @param importEntity the entity to import
+     * @param importFormat the format of the input, either CSV with a header line or NDJSON
+     * @param inputStream  the UTF-8 input, using the field names of the JSON API
+     * @return the number of read, imported and rejected rows and the ID of the error report
+     * @throws IOException if reading the input or writing the error report fails
+     */
+    ImportResultDTO importRows(Constants.ImportEntity importEntity, Constants.ImportFormat importFormat, InputStream inputStream) throws IOException;
+
+    /**
+     * Finds the error report of an import by the ID returned with its result.
+     *
+     * @param errorReportId the ID of the error report
+     * @return the path of the report file
+     * @throws com.mbpt.peertutoringplatform.exception.ResourceNotFoundException if no report has this ID
+     */
+    Path findErrorReport(String errorReportId);
+}
@@ -1,10 +1,17 @@
 package com.mbpt.peertutoringplatform.service;
 
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.ClassRoomAssignmentDTO;
 import com.mbpt.peertutoringplatform.dto.LiteMentorDTO;
+import com.mbpt.peertutoringplatform.dto.MentorAvailabilityDTO;
 import com.mbpt.peertutoringplatform.dto.MentorDTO;
 import com.mbpt.peertutoringplatform.dto.MentorProfileDTO;
+import com.mbpt.peertutoringplatform.dto.MentorRecommendationDTO;
+import com.mbpt.peertutoringplatform.dto.MentorSearchResultDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -32,4 +39,83 @@ public interface MentorService {
     List<MentorDTO> getAllMentors();
 
     MentorProfileDTO getMentorProfile(Integer id);
+
+    /**
+     * Retrieves the free time of a mentor within a date range.
+     *
+     * @param id          the ID of the mentor
+     * @param from        the start of the range, inclusive
+     * @param to          the end of the range, exclusive
+     * @param granularity the length in minutes of the free blocks, a multiple of 15
+     * @return the {@link MentorAvailabilityDTO} with the free intervals of the mentor
+     */
+    MentorAvailabilityDTO getMentorAvailability(Integer id, Instant from, Instant to, Integer granularity);
+
+    /**
+     * Retrieves one page of mentors matching the given filters. Null filters are ignored.
+     *
+     * @param page        the zero-based page index
+     * @param size        the page size
+     * @param sort        the sort parameters, each of the form {@code field[,asc|desc]}
+     * @param isCertified restricts the page to certified or uncertified mentors
+     * @param minFee      the minimum session fee
+     * @param maxFee      the maximum session fee
+     * @param name        restricts the page to mentors whose first or last name contains this text
+     * @param subject     restricts the page to mentors whose subject contains this text
+     * @return a {@link PageDTO} of {@link MentorDTO} objects
+     */
+    PageDTO<MentorDTO> getMentorsPage(int page, int size, List<String> sort, Boolean isCertified, Double minFee, Double maxFee,
+                                      String name, String subject);
+
+    /**
+     * Searches mentors in memory and counts the mentors per filter value. Null filters are ignored.
+     *
+     * @param isCertified        restricts the result to certified or uncertified mentors
+     * @param title              restricts the result to mentors with this title
+     * @param minFee             the minimum session fee
+     * @param maxFee             the maximum session fee
+     * @param minPositiveReviews the minimum positive reviews percentage
+     * @param classRoomId        restricts the result to the mentor of this classroom
+     * @param page               the zero-based page index
+     * @param size               the page size
+     * @return the {@link MentorSearchResultDTO} with the matching mentors and the facet counts
+     */
+    MentorSearchResultDTO searchMentors(Boolean isCertified, Constants.Title title, Double minFee, Double maxFee,
+                                        Integer minPositiveReviews, Integer classRoomId, int page, int size);
+
+    /**
+     * Retrieves the mentors most often booked by the students of a mentor, served from memory.
+     *
+     * @param id    the ID of the mentor
+     * @param limit the maximum number of mentors to return
+     * @return the related mentors, most similar first
+     */
+    List<MentorRecommendationDTO> getRelatedMentors(Integer id, Integer limit);
+
+    /**
+     * Recommends mentors to a student from the mentors related to the ones the student has booked, served from memory.
+     *
+     * @param studentId the ID of the student
+     * @param limit     the maximum number of mentors to return
+     * @return the recommended mentors, best first; empty if the student has no sessions yet
+     */
+    List<MentorRecommendationDTO> getRecommendedMentors(Integer studentId, Integer limit);
+
+    /**
+     * Sets the classrooms of a mentor. The given classrooms are moved to the mentor and the mentor's
+     * other classrooms are left unassigned.
+     *
+     * @param id              the ID of the mentor
+     * @param classRoomIdList the IDs of the classrooms the mentor teaches
+     * @return the updated {@link MentorDTO}
+     */
+    MentorDTO assignClassRooms(Integer id, List<Integer> classRoomIdList);
+
+    /**
+     * Moves many classrooms between mentors at once. Every mentor that loses classrooms must keep at least one.
+     *
+     * @param assignments the classrooms to move, grouped by target mentor
+     * @return the {@link MentorDTO} of every mentor that gained or lost classrooms
+     */
+    List<MentorDTO> reassignClassRooms(List<ClassRoomAssignmentDTO> assignments);
 }
@@ -1,9 +1,14 @@
 package com.mbpt.peertutoringplatform.service;
 
 import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.SessionBatchResultDTO;
 import com.mbpt.peertutoringplatform.dto.SessionDTO;
 import com.mbpt.peertutoringplatform.dto.SessionLiteDTO;
+import com.mbpt.peertutoringplatform.dto.SessionPageDTO;
+import com.mbpt.peertutoringplatform.dto.SessionStatusDTO;
+import com.mbpt.peertutoringplatform.exception.InvalidStatusTransitionException;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -22,6 +27,17 @@ public interface SessionService {
     SessionLiteDTO createSession(SessionLiteDTO sessionDTO);
 
 
+    /**
+     * Creates a batch of sessions in a single transaction.
+     * Every session is validated on its own; the valid sessions are inserted with one JDBC batch
+     * and the invalid ones are reported as rejected.
+     *
+     * @param sessionDTOS the sessions to create
+     * @return the result of every session, in the order of the request
+     */
+    List<SessionBatchResultDTO> createSessions(List<SessionLiteDTO> sessionDTOS);
+
+
     /**
      * Retrieves all session records with student, mentor, and classroom details.
      *
@@ -31,20 +47,51 @@ public interface SessionService {
 
 
     /**
-     * Retrieves all sessions by student Clerk ID.
+     * Retrieves a page of sessions using keyset pagination on start time and session ID.
+     *
+     * @param cursor        the opaque cursor returned with the previous page, or {@code null} for the first page
+     * @param size          the maximum number of sessions in the page
+     * @param sessionStatus optional filter for the session status
+     * @param mentorId      optional filter for the mentor of the sessions
+     * @param classRoomId   optional filter for the classroom of the sessions
+     * @param startFrom     optional lower bound (inclusive) of the session start time
+     * @param startBefore   optional upper bound (exclusive) of the session start time
+     * @return a {@link SessionPageDTO} with the sessions and the cursor of the next page
+     */
+    SessionPageDTO getSessionsPage(String cursor, int size, Constants.SessionStatus sessionStatus, Integer mentorId,
+                                   Integer classRoomId, Instant startFrom, Instant startBefore);
+
+
+    /**
+     * Retrieves all sessions by student Clerk ID, ordered by start time.
      *
      * @param studentClerkId the ID for the student generated by Clerk, to retrieve all sessions of the student
+     * @param sessionPeriod  optional filter for upcoming or past sessions, {@code null} for all sessions
+     * @param sessionStatus  optional filter for the session status, {@code null} for all statuses
      * @return a list of {@link SessionDTO} instances representing the sessions
      */
-    List<SessionDTO> getAllSessionsByStudentClerkId(String studentClerkId);
+    List<SessionDTO> getAllSessionsByStudentClerkId(String studentClerkId, Constants.SessionPeriod sessionPeriod, Constants.SessionStatus sessionStatus);
 
     /**
-     * Updates the status of an existing session
+     * Updates the status of an existing session. A session moves from PENDING to ACCEPTED to COMPLETED,
+     * one step at a time; setting the current status again leaves the session unchanged.
      *
      * @param sessionId     the ID of the session to update
      * @param sessionStatus the new status to set
      * @return a SessionDTO object representing the updated session
+     * @throws InvalidStatusTransitionException if the session can't move from its current status to the new one
      */
     SessionDTO updateSessionStatus(Integer sessionId, Constants.SessionStatus sessionStatus);
 
+    /**
+     * Moves many sessions to a new status with a single set-based update.
+     * Only the allowed transitions PENDING to ACCEPTED and ACCEPTED to COMPLETED are applied;
+     * sessions that are missing or not in the preceding status are left unchanged and not returned.
+     *
+     * @param sessionIds    the IDs of the sessions to update
+     * @param sessionStatus the new status, either ACCEPTED or COMPLETED
+     * @return the IDs and new status of the sessions that were updated
+     */
+    List<SessionStatusDTO> updateSessionStatuses(List<Integer> sessionIds, Constants.SessionStatus sessionStatus);
+
 }
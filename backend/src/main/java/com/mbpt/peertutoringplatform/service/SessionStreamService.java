@@ -0,0 +1,19 @@
+package com.mbpt.peertutoringplatform.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service Interface for pushing session changes to students over Server-Sent Events.
+ */
+
+public interface SessionStreamService {
+
+    /**
+     * Opens an event stream for a student. The stream receives an event whenever one of the
+     * student's sessions is created or changes status.
+     *
+     * @param clerkStudentId the ID generated for the student by Clerk
+     * @return the {@link SseEmitter} of the stream
+     */
+    SseEmitter subscribe(String clerkStudentId);
+}
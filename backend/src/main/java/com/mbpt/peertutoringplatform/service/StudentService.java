@@ -1,5 +1,7 @@
 package com.mbpt.peertutoringplatform.service;
 
+import com.mbpt.peertutoringplatform.dto.MentorRecommendationDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
 import com.mbpt.peertutoringplatform.dto.StudentDTO;
 
 import java.util.List;
@@ -35,4 +37,26 @@ public interface StudentService {
      */
     StudentDTO findStudentByClerkId(String clerkId);
 
+    /**
+     * Retrieves one page of students matching the given filters. Null filters are ignored.
+     *
+     * @param page   the zero-based page index
+     * @param size   the page size
+     * @param sort   the sort parameters, each of the form {@code field[,asc|desc]}
+     * @param minAge the minimum age
+     * @param maxAge the maximum age
+     * @param name   restricts the page to students whose first or last name contains this text
+     * @param email  restricts the page to students whose email contains this text
+     * @return a {@link PageDTO} of {@link StudentDTO} objects
+     */
+    PageDTO<StudentDTO> getStudentsPage(int page, int size, List<String> sort, Integer minAge, Integer maxAge, String name, String email);
+
+    /**
+     * Recommends mentors to a student based on the mentors booked by students with similar bookings.
+     *
+     * @param clerkId the Clerk ID of the student
+     * @param limit   the maximum number of mentors to return
+     * @return the recommended mentors, best first
+     */
+    List<MentorRecommendationDTO> getRecommendedMentors(String clerkId, Integer limit);
 }
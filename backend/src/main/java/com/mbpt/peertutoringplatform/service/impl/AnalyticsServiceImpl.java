@@ -0,0 +1,116 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.AnalyticsBucketDTO;
+import com.mbpt.peertutoringplatform.dto.AnalyticsTotalDTO;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.SessionRollupRepository;
+import com.mbpt.peertutoringplatform.service.AnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    @Value("${spring.datasource.url}")
+    private String datasource;
+
+    private final SessionRollupRepository sessionRollupRepository;
+
+    public AnalyticsServiceImpl(SessionRollupRepository sessionRollupRepository) {
+        this.sessionRollupRepository = sessionRollupRepository;
+    }
+
+    /**
+     * Adds the changed sessions to the hourly and daily buckets of their start times, inside the
+     * transaction that changed them, so that a session is always counted in the bucket in which it
+     * takes place, like the sessions counted by the migration backfill and by bulk imports. Changes of
+     * the same mentor, classroom and bucket are merged into one upsert.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSessionChanged(SessionChangedEvent event) {
+        for (Constants.RollupGranularity granularity : Constants.RollupGranularity.values()) {
+            Map<BucketKey, int[]> countsByBucket = new HashMap<>();
+            for (SessionChangedEvent.SessionChange change : event.changes()) {
+                if (change.sessionStatus() == change.previousStatus()) {
+                    continue;
+                }
+                int[] counts = countsByBucket.computeIfAbsent(new BucketKey(change.startTime().truncatedTo(granularity.getUnit()),
+                        change.mentorId(), change.classRoomId()), bucket -> new int[3]);
+                if (change.isCreation()) {
+                    counts[0]++;
+                }
+                if (change.sessionStatus() == Constants.SessionStatus.ACCEPTED) {
+                    counts[1]++;
+                } else if (change.sessionStatus() == Constants.SessionStatus.COMPLETED) {
+                    counts[2]++;
+                }
+            }
+            countsByBucket.forEach((bucket, counts) -> sessionRollupRepository.accumulate(granularity.name(),
+                    bucket.bucketStart(), bucket.mentorId(), bucket.classRoomId(), counts[0], counts[1], counts[2]));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnalyticsBucketDTO> getSessionTimeline(Constants.RollupGranularity granularity, Instant from, Instant to,
+                                                       Integer mentorId, Integer classRoomId) {
+        log.info("Fetching {} session timeline between {} and {} ...", granularity, from, to);
+        validateRange(granularity, from, to);
+
+        List<AnalyticsBucketDTO> buckets = sessionRollupRepository.sumPerBucket(granularity,
+                from.truncatedTo(granularity.getUnit()), to, mentorId, classRoomId);
+
+        log.info("Found {} non-empty buckets from data-source: {}", buckets.size(), this.datasource);
+        return buckets;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnalyticsTotalDTO> getMentorTotals(Constants.RollupGranularity granularity, Instant from, Instant to) {
+        log.info("Fetching mentor totals between {} and {} ...", from, to);
+        validateRange(granularity, from, to);
+
+        List<AnalyticsTotalDTO> totals = sessionRollupRepository.sumPerMentor(granularity, from.truncatedTo(granularity.getUnit()), to);
+
+        log.info("Found totals of {} mentors from data-source: {}", totals.size(), this.datasource);
+        return totals;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AnalyticsTotalDTO> getClassRoomTotals(Constants.RollupGranularity granularity, Instant from, Instant to) {
+        log.info("Fetching classroom totals between {} and {} ...", from, to);
+        validateRange(granularity, from, to);
+
+        List<AnalyticsTotalDTO> totals = sessionRollupRepository.sumPerClassRoom(granularity, from.truncatedTo(granularity.getUnit()), to);
+
+        log.info("Found totals of {} classrooms from data-source: {}", totals.size(), this.datasource);
+        return totals;
+    }
+
+    private static void validateRange(Constants.RollupGranularity granularity, Instant from, Instant to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            log.error("Failed to fetch analytics: invalid range from {} to {}", from, to);
+            throw new IllegalArgumentException("A range with 'from' before 'to' is required.");
+        }
+        if (Duration.between(from, to).compareTo(granularity.getMaxRange()) > 0) {
+            throw new IllegalArgumentException(String.format("The range must not exceed %d days for %s granularity.",
+                    granularity.getMaxRange().toDays(), granularity));
+        }
+    }
+
+    private record BucketKey(Instant bucketStart, Integer mentorId, Integer classRoomId) {
+    }
+}
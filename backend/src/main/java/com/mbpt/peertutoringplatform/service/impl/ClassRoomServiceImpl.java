@@ -1,37 +1,104 @@
 package com.mbpt.peertutoringplatform.service.impl;
 
+import com.mbpt.peertutoringplatform.cache.MentorProfileCache;
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.common.SortParameters;
 import com.mbpt.peertutoringplatform.dto.ClassRoomDTO;
-import com.mbpt.peertutoringplatform.dto.MentorDTO;
+import com.mbpt.peertutoringplatform.dto.ClassRoomSuggestionDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
+import com.mbpt.peertutoringplatform.dto.TrendingClassRoomDTO;
 import com.mbpt.peertutoringplatform.entity.ClassRoomEntity;
 import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import com.mbpt.peertutoringplatform.event.ClassRoomCatalogChangedEvent;
 import com.mbpt.peertutoringplatform.exception.ResourceNotFoundException;
+import com.mbpt.peertutoringplatform.index.ClassRoomEnrollmentIndex;
+import com.mbpt.peertutoringplatform.index.ClassRoomTitleIndex;
+import com.mbpt.peertutoringplatform.index.MentorAvailabilityIndex;
+import com.mbpt.peertutoringplatform.index.MentorSearchIndex;
+import com.mbpt.peertutoringplatform.index.SessionIntervalIndex;
+import com.mbpt.peertutoringplatform.index.TrendingClassRoomIndex;
 import com.mbpt.peertutoringplatform.mapper.ClassRoomEntityDTOMapper;
 import com.mbpt.peertutoringplatform.mapper.MentorEntityDTOMapper;
 import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.MentorClassSessionCountRepository;
+import com.mbpt.peertutoringplatform.repository.SpecificationPager;
+import com.mbpt.peertutoringplatform.repository.specification.ClassRoomSpecifications;
 import com.mbpt.peertutoringplatform.service.ClassRoomService;
 import com.mbpt.peertutoringplatform.service.FileService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class ClassRoomServiceImpl implements ClassRoomService {
 
+    private static final Map<String, String> SORTABLE_FIELDS = Map.of(
+            "class_room_id", "classRoomId",
+            "title", "title",
+            "enrolled_student_count", "enrolledStudentCount");
+
     @Value("${spring.datasource.url}")
     private String datasource;
 
     private final ClassRoomRepository classRoomRepository;
     private final FileService fileService;
 
-    public ClassRoomServiceImpl(ClassRoomRepository classRoomRepository, FileService fileService) {
+    private final MentorClassSessionCountRepository mentorClassSessionCountRepository;
+
+    private final SessionIntervalIndex sessionIntervalIndex;
+
+    private final MentorAvailabilityIndex mentorAvailabilityIndex;
+
+    private final MentorSearchIndex mentorSearchIndex;
+
+    private final ClassRoomTitleIndex classRoomTitleIndex;
+
+    private final ClassRoomEnrollmentIndex classRoomEnrollmentIndex;
+
+    private final TrendingClassRoomIndex trendingClassRoomIndex;
+
+    private final SpecificationPager specificationPager;
+
+    private final PageCountCache pageCountCache;
+
+    private final MentorProfileCache mentorProfileCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ClassRoomServiceImpl(ClassRoomRepository classRoomRepository, FileService fileService,
+                                MentorClassSessionCountRepository mentorClassSessionCountRepository, SessionIntervalIndex sessionIntervalIndex,
+                                MentorAvailabilityIndex mentorAvailabilityIndex, MentorSearchIndex mentorSearchIndex,
+                                ClassRoomTitleIndex classRoomTitleIndex,
+                                ClassRoomEnrollmentIndex classRoomEnrollmentIndex, TrendingClassRoomIndex trendingClassRoomIndex,
+                                SpecificationPager specificationPager,
+                                PageCountCache pageCountCache, MentorProfileCache mentorProfileCache,
+                                ApplicationEventPublisher eventPublisher) {
         this.classRoomRepository = classRoomRepository;
         this.fileService = fileService;
+        this.mentorClassSessionCountRepository = mentorClassSessionCountRepository;
+        this.sessionIntervalIndex = sessionIntervalIndex;
+        this.mentorAvailabilityIndex = mentorAvailabilityIndex;
+        this.mentorSearchIndex = mentorSearchIndex;
+        this.classRoomTitleIndex = classRoomTitleIndex;
+        this.classRoomEnrollmentIndex = classRoomEnrollmentIndex;
+        this.trendingClassRoomIndex = trendingClassRoomIndex;
+        this.specificationPager = specificationPager;
+        this.pageCountCache = pageCountCache;
+        this.mentorProfileCache = mentorProfileCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -50,6 +117,9 @@ public class ClassRoomServiceImpl implements ClassRoomService {
         ClassRoomEntity classRoomEntity = new ClassRoomEntity(title, 0, imageUrl);
 
         ClassRoomEntity savedClassroomEntity = classRoomRepository.save(classRoomEntity);
+        classRoomTitleIndex.put(savedClassroomEntity.getClassRoomId(), savedClassroomEntity.getTitle());
+        pageCountCache.invalidate(PageCountCache.CLASS_ROOMS);
+        eventPublisher.publishEvent(new ClassRoomCatalogChangedEvent("classroom created"));
 
         log.info("Created classroom with ID: {} at data-source: {}", savedClassroomEntity.getClassRoomId(), this.datasource);
 
@@ -62,19 +132,9 @@ public class ClassRoomServiceImpl implements ClassRoomService {
     public List<ClassRoomDTO> getAllClassRooms() {
         log.info("Fetching all classrooms...");
 
-        List<ClassRoomEntity> classRoomEntities = classRoomRepository.findAll();
-
-        List<ClassRoomDTO> classRoomDTOList = classRoomEntities.stream()
-                .map(entity -> {
-                    ClassRoomDTO classRoomDTO = ClassRoomEntityDTOMapper.map(entity);
-
-                    if (entity.getMentorEntity() != null) {
-                        MentorDTO mentorDTO = MentorEntityDTOMapper.map(entity.getMentorEntity());
-                        classRoomDTO.setMentorDTO(mentorDTO);
-                    }
-
-                    return classRoomDTO;
-                })
+        // one statement joining the mentor, no entities or sessions are loaded
+        List<ClassRoomDTO> classRoomDTOList = classRoomRepository.findAllWithMentor().stream()
+                .map(ClassRoomEntityDTOMapper::map)
                 .collect(Collectors.toList());
 
         log.info("Found {} classrooms from data-source: {}", classRoomDTOList.size(), this.datasource);
@@ -90,12 +150,10 @@ public class ClassRoomServiceImpl implements ClassRoomService {
 
         if (id == null) throw new IllegalArgumentException("Classroom id is required");
 
-        return classRoomRepository.findById(id)
-                .map(classRoom -> {
-                    log.info("Classroom found: {}", classRoom);
-                    ClassRoomDTO classRoomDTO = ClassRoomEntityDTOMapper.map(classRoom);
-                    MentorDTO mentorDTO = MentorEntityDTOMapper.map(classRoom.getMentorEntity());
-                    classRoomDTO.setMentorDTO(mentorDTO);
+        return classRoomRepository.findWithMentorById(id)
+                .map(classRoomView -> {
+                    ClassRoomDTO classRoomDTO = ClassRoomEntityDTOMapper.map(classRoomView);
+                    log.info("Classroom found: {}", classRoomDTO);
                     return classRoomDTO;
                 })
                 .orElseThrow(() -> {
@@ -109,7 +167,7 @@ public class ClassRoomServiceImpl implements ClassRoomService {
     public List<ClassRoomDTO> getClassroomsWithoutMentor() {
         log.info("Fetching classrooms without an assigned mentor...");
 
-        List<ClassRoomDTO> classRoomDTOS = classRoomRepository.findAllByMentorEntityIsNull()
+        List<ClassRoomDTO> classRoomDTOS = classRoomRepository.findAllWithoutMentor()
                 .stream().map(ClassRoomEntityDTOMapper::map).toList();
 
         log.info("Found {} classrooms without an assigned mentor from data-source: {}", classRoomDTOS.size(), this.datasource);
@@ -141,6 +199,12 @@ public class ClassRoomServiceImpl implements ClassRoomService {
         }
 
         ClassRoomEntity updatedClassroomEntity = classRoomRepository.save(classRoomEntity);
+        classRoomTitleIndex.put(id, updatedClassroomEntity.getTitle());
+        if (updatedClassroomEntity.getMentorEntity() != null) {
+            // the title is shown on the mentor's profile
+            mentorProfileCache.evict(updatedClassroomEntity.getMentorEntity().getMentorId());
+        }
+        eventPublisher.publishEvent(new ClassRoomCatalogChangedEvent("classroom updated"));
 
         log.info("Updated classroom with ID: {}", id);
 
@@ -173,9 +237,85 @@ public class ClassRoomServiceImpl implements ClassRoomService {
         }
 
         classRoomRepository.deleteById(id);
+        // the sessions of the classroom are deleted with it
+        mentorClassSessionCountRepository.deleteByClassRoomId(id);
+        sessionIntervalIndex.removeClassRoom(id);
+        mentorAvailabilityIndex.rebuildMentor(mentorEntity.getMentorId());
+        classRoomTitleIndex.remove(id);
+        trendingClassRoomIndex.removeClassRoom(id);
+        classRoomEnrollmentIndex.removeClassRoom(id);
+        mentorProfileCache.evict(mentorEntity.getMentorId());
+        mentorSearchIndex.refreshMentors(List.of(mentorEntity.getMentorId()));
+        pageCountCache.invalidate(PageCountCache.CLASS_ROOMS);
+        eventPublisher.publishEvent(new ClassRoomCatalogChangedEvent("classroom deleted"));
         log.info("Deleted classroom with ID: {} ", id);
         return ClassRoomEntityDTOMapper.map(classRoomEntity);
     }
 
 
+    @Override
+    public List<ClassRoomSuggestionDTO> suggestClassRooms(String query, Integer limit) {
+        log.debug("Suggesting classrooms for query: {}", query);
+
+        if (limit == null || limit < 1) throw new IllegalArgumentException("Limit must be a positive integer");
+
+        // answered from memory, no database query per keystroke
+        return classRoomTitleIndex.suggest(query, limit);
+    }
+
+
+    @Override
+    public List<TrendingClassRoomDTO> getTrendingClassRooms(Integer limit) {
+        log.debug("Fetching {} trending classrooms", limit);
+
+        if (limit == null || limit < 1 || limit > TrendingClassRoomIndex.MAX_TRENDING) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + TrendingClassRoomIndex.MAX_TRENDING);
+        }
+
+        List<TrendingClassRoomDTO> trendingClassRooms = new ArrayList<>(limit);
+        for (TrendingClassRoomIndex.TrendingClassRoom trending : trendingClassRoomIndex.findTrending(limit)) {
+            String title = classRoomTitleIndex.findTitle(trending.classRoomId());
+            if (title != null) {
+                trendingClassRooms.add(new TrendingClassRoomDTO(trending.classRoomId(), title, trending.score()));
+            }
+        }
+        return trendingClassRooms;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<ClassRoomDTO> getClassRoomsPage(int page, int size, List<String> sort, String title, Integer mentorId,
+                                                   Boolean assigned, Integer minEnrolled, Integer maxEnrolled) {
+        log.info("Fetching page {} of classrooms with size {} ...", page, size);
+
+        Sort sortOrder = SortParameters.parse(sort, SORTABLE_FIELDS, "classRoomId");
+
+        List<Specification<ClassRoomEntity>> filters = new ArrayList<>();
+        if (title != null && !title.isBlank()) filters.add(ClassRoomSpecifications.titleContains(title.trim()));
+        if (mentorId != null) filters.add(ClassRoomSpecifications.hasMentor(mentorId));
+        if (assigned != null) filters.add(ClassRoomSpecifications.isAssigned(assigned));
+        if (minEnrolled != null) filters.add(ClassRoomSpecifications.enrolledAtLeast(minEnrolled));
+        if (maxEnrolled != null) filters.add(ClassRoomSpecifications.enrolledAtMost(maxEnrolled));
+        Specification<ClassRoomEntity> filter = Specification.allOf(filters);
+
+        long total = pageCountCache.count(PageCountCache.CLASS_ROOMS,
+                Arrays.asList(title, mentorId, assigned, minEnrolled, maxEnrolled).toString(),
+                () -> classRoomRepository.count(filter));
+
+        List<ClassRoomDTO> classRoomDTOS = total <= (long) page * size ? List.of() : specificationPager
+                .findPage(ClassRoomEntity.class, filter.and(ClassRoomSpecifications.fetchMentor()), PageRequest.of(page, size, sortOrder))
+                .stream()
+                .map(entity -> {
+                    ClassRoomDTO classRoomDTO = ClassRoomEntityDTOMapper.map(entity);
+                    if (entity.getMentorEntity() != null) {
+                        classRoomDTO.setMentorDTO(MentorEntityDTOMapper.map(entity.getMentorEntity()));
+                    }
+                    return classRoomDTO;
+                })
+                .toList();
+
+        log.info("Found {} of {} classrooms from data-source: {}", classRoomDTOS.size(), total, this.datasource);
+        return PageDTO.of(classRoomDTOS, page, size, total);
+    }
+
 }
@@ -0,0 +1,140 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.common.CsvRowWriter;
+import com.mbpt.peertutoringplatform.dto.ClassRoomDTO;
+import com.mbpt.peertutoringplatform.dto.MentorDTO;
+import com.mbpt.peertutoringplatform.dto.SessionDTO;
+import com.mbpt.peertutoringplatform.dto.StudentDTO;
+import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import com.mbpt.peertutoringplatform.entity.SessionEntity;
+import com.mbpt.peertutoringplatform.entity.StudentEntity;
+import com.mbpt.peertutoringplatform.mapper.MentorEntityDTOMapper;
+import com.mbpt.peertutoringplatform.mapper.SessionEntityDTOMapper;
+import com.mbpt.peertutoringplatform.mapper.StudentEntityDTOMapper;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.MentorRepository;
+import com.mbpt.peertutoringplatform.repository.SessionRepository;
+import com.mbpt.peertutoringplatform.repository.StudentRepository;
+import com.mbpt.peertutoringplatform.repository.projection.MentorClassRoomIdView;
+import com.mbpt.peertutoringplatform.service.ExportService;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    // rows between flushes of the response and clears of the persistence context, matches the JDBC fetch size
+    private static final int CHUNK_SIZE = 500;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${spring.datasource.url}")
+    private String datasource;
+
+    private final SessionRepository sessionRepository;
+
+    private final StudentRepository studentRepository;
+
+    private final MentorRepository mentorRepository;
+
+    private final ClassRoomRepository classRoomRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    public ExportServiceImpl(SessionRepository sessionRepository, StudentRepository studentRepository, MentorRepository mentorRepository,
+                             ClassRoomRepository classRoomRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.sessionRepository = sessionRepository;
+        this.studentRepository = studentRepository;
+        this.mentorRepository = mentorRepository;
+        this.classRoomRepository = classRoomRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(Constants.ExportEntity exportEntity, Constants.ExportFormat exportFormat, OutputStream outputStream) throws IOException {
+        log.info("Exporting all {} rows as {}...", exportEntity, exportFormat);
+
+        long rowCount = switch (exportEntity) {
+            case SESSION -> {
+                SessionDTO template = new SessionDTO();
+                template.setStudentDTO(new StudentDTO());
+                template.setClassRoomDTO(new ClassRoomDTO());
+                template.setMentorDTO(new MentorDTO());
+                try (Stream<SessionEntity> sessions = sessionRepository.streamAll()) {
+                    yield write(sessions, SessionEntityDTOMapper::map, template, exportFormat, outputStream);
+                }
+            }
+            case STUDENT -> {
+                try (Stream<StudentEntity> students = studentRepository.streamAll()) {
+                    yield write(students, StudentEntityDTOMapper::map, new StudentDTO(), exportFormat, outputStream);
+                }
+            }
+            case MENTOR -> {
+                // classroom IDs are read up front in one query instead of lazily per mentor
+                Map<Integer, List<Integer>> classRoomIdsByMentor = new HashMap<>();
+                for (MentorClassRoomIdView view : classRoomRepository.findAllAssignedClassRoomIds()) {
+                    classRoomIdsByMentor.computeIfAbsent(view.getMentorId(), id -> new ArrayList<>()).add(view.getClassRoomId());
+                }
+                try (Stream<MentorEntity> mentors = mentorRepository.streamAll()) {
+                    yield write(mentors, mentorEntity -> {
+                        MentorDTO mentorDTO = MentorEntityDTOMapper.map(mentorEntity);
+                        mentorDTO.setClassRoomIdList(classRoomIdsByMentor.getOrDefault(mentorEntity.getMentorId(), List.of()));
+                        return mentorDTO;
+                    }, new MentorDTO(), exportFormat, outputStream);
+                }
+            }
+        };
+
+        log.info("Exported {} {} rows from data-source: {}", rowCount, exportEntity, this.datasource);
+    }
+
+    private <E, D> long write(Stream<E> entities, Function<E, D> mapper, D template, Constants.ExportFormat exportFormat,
+                              OutputStream outputStream) throws IOException {
+        BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        CsvRowWriter csvRowWriter = null;
+        if (exportFormat == Constants.ExportFormat.CSV) {
+            csvRowWriter = new CsvRowWriter(objectMapper, bufferedOutputStream, template);
+            csvRowWriter.writeHeader();
+        }
+
+        long rowCount = 0;
+        var iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            D dto = mapper.apply(iterator.next());
+            if (csvRowWriter != null) {
+                csvRowWriter.writeRow(dto);
+            } else {
+                bufferedOutputStream.write(objectMapper.writeValueAsBytes(dto));
+                bufferedOutputStream.write('\n');
+            }
+            rowCount++;
+            if (rowCount % CHUNK_SIZE == 0 || rowCount == 1) {
+                // keep the persistence context from growing with the export and send the chunk to the client
+                entityManager.clear();
+                bufferedOutputStream.flush();
+            }
+        }
+        bufferedOutputStream.flush();
+        return rowCount;
+    }
+}
@@ -0,0 +1,283 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mbpt.peertutoringplatform.cache.MentorProfileCache;
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.common.CsvRowReader;
+import com.mbpt.peertutoringplatform.dto.ImportResultDTO;
+import com.mbpt.peertutoringplatform.event.ClassRoomCatalogChangedEvent;
+import com.mbpt.peertutoringplatform.exception.ResourceNotFoundException;
+import com.mbpt.peertutoringplatform.index.ClassRoomEnrollmentIndex;
+import com.mbpt.peertutoringplatform.index.ClassRoomTitleIndex;
+import com.mbpt.peertutoringplatform.index.MentorAvailabilityIndex;
+import com.mbpt.peertutoringplatform.index.MentorRecommendationIndex;
+import com.mbpt.peertutoringplatform.index.MentorSearchIndex;
+import com.mbpt.peertutoringplatform.repository.BulkImportRepository;
+import com.mbpt.peertutoringplatform.service.ImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${spring.datasource.url}")
+    private String datasource;
+
+    @Value("${import.error-report-dir:${java.io.tmpdir}}")
+    private String errorReportDir;
+
+    private final BulkImportRepository bulkImportRepository;
+
+    private final MentorAvailabilityIndex mentorAvailabilityIndex;
+
+    private final MentorSearchIndex mentorSearchIndex;
+
+    private final ClassRoomTitleIndex classRoomTitleIndex;
+
+    private final ClassRoomEnrollmentIndex classRoomEnrollmentIndex;
+
+    private final MentorRecommendationIndex mentorRecommendationIndex;
+
+    private final PageCountCache pageCountCache;
+
+    private final MentorProfileCache mentorProfileCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper;
+
+    public ImportServiceImpl(BulkImportRepository bulkImportRepository, MentorAvailabilityIndex mentorAvailabilityIndex,
+                             MentorSearchIndex mentorSearchIndex, ClassRoomTitleIndex classRoomTitleIndex,
+                             ClassRoomEnrollmentIndex classRoomEnrollmentIndex, MentorRecommendationIndex mentorRecommendationIndex,
+                             PageCountCache pageCountCache,
+                             MentorProfileCache mentorProfileCache, ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper) {
+        this.bulkImportRepository = bulkImportRepository;
+        this.mentorAvailabilityIndex = mentorAvailabilityIndex;
+        this.mentorSearchIndex = mentorSearchIndex;
+        this.classRoomTitleIndex = classRoomTitleIndex;
+        this.classRoomEnrollmentIndex = classRoomEnrollmentIndex;
+        this.mentorRecommendationIndex = mentorRecommendationIndex;
+        this.pageCountCache = pageCountCache;
+        this.mentorProfileCache = mentorProfileCache;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResultDTO importRows(Constants.ImportEntity importEntity, Constants.ImportFormat importFormat, InputStream inputStream) throws IOException {
+        log.info("Importing {} rows from {}...", importEntity, importFormat);
+
+        if (importEntity == null || importFormat == null || inputStream == null) {
+            log.error("Failed to import: entity, format or input is null.");
+            throw new IllegalArgumentException("Import entity, format and input must not be null.");
+        }
+
+        long startedAt = System.nanoTime();
+        bulkImportRepository.createStagingTables(importEntity);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long totalRows;
+        try (BulkImportRepository.RowCopier copier = bulkImportRepository.openCopy(importEntity)) {
+            totalRows = importFormat == Constants.ImportFormat.CSV
+                    ? copyCsv(importEntity, reader, copier)
+                    : copyNdjson(importEntity, reader, copier);
+            copier.finish();
+        }
+        log.debug("Copied {} {} rows into the staging table", totalRows, importEntity);
+
+        long invalidRows = bulkImportRepository.validate(importEntity);
+        String errorReportId = invalidRows > 0 ? writeErrorReport(importEntity) : null;
+
+        long importedRows = switch (importEntity) {
+            case STUDENT -> {
+                int inserted = bulkImportRepository.mergeStudents();
+                pageCountCache.invalidate(PageCountCache.STUDENTS);
+                yield inserted;
+            }
+            case MENTOR -> {
+                List<Integer> mentorIds = bulkImportRepository.mergeMentors();
+                mentorIds.forEach(mentorAvailabilityIndex::registerMentor);
+                mentorSearchIndex.refreshMentors(mentorIds);
+                pageCountCache.invalidate(PageCountCache.MENTORS);
+                yield mentorIds.size();
+            }
+            case CLASSROOM -> {
+                List<BulkImportRepository.ImportedClassRoom> classRooms = bulkImportRepository.mergeClassRooms();
+                Set<Integer> mentorIds = new HashSet<>();
+                for (BulkImportRepository.ImportedClassRoom classRoom : classRooms) {
+                    classRoomTitleIndex.put(classRoom.classRoomId(), classRoom.title());
+                    if (classRoom.mentorId() != null) mentorIds.add(classRoom.mentorId());
+                }
+                mentorSearchIndex.refreshMentors(mentorIds);
+                mentorProfileCache.evict(mentorIds);
+                pageCountCache.invalidate(PageCountCache.CLASS_ROOMS);
+                eventPublisher.publishEvent(new ClassRoomCatalogChangedEvent("classrooms imported"));
+                yield classRooms.size();
+            }
+            case SESSION -> {
+                BulkImportRepository.ImportedSessions sessions = bulkImportRepository.mergeSessions();
+                Map<Integer, Set<Integer>> studentIdsByClassRoom = new HashMap<>();
+                Set<Integer> mentorIds = new HashSet<>();
+                for (BulkImportRepository.ImportedEnrollment enrollment : sessions.enrollments()) {
+                    studentIdsByClassRoom.computeIfAbsent(enrollment.classRoomId(), id -> new HashSet<>()).add(enrollment.studentId());
+                    mentorIds.add(enrollment.mentorId());
+                }
+                classRoomEnrollmentIndex.addEnrollments(studentIdsByClassRoom);
+                if (!sessions.enrollments().isEmpty()) {
+                    // the IDs were taken when the import started, the recommendation job may have read past them before it commits
+                    mentorRecommendationIndex.rescanSessions(sessions.minSessionId(), sessions.maxSessionId());
+                }
+                mentorProfileCache.evict(mentorIds);
+                // every valid session is inserted, there is no conflict to skip
+                yield totalRows - invalidRows;
+            }
+        };
+
+        log.info("Imported {} of {} {} rows in {} ms at data-source: {}", importedRows, totalRows, importEntity,
+                (System.nanoTime() - startedAt) / 1_000_000, this.datasource);
+        return new ImportResultDTO(importEntity, totalRows, importedRows, totalRows - importedRows, errorReportId);
+    }
+
+    @Override
+    public Path findErrorReport(String errorReportId) {
+        Path report = null;
+        try {
+            // only IDs handed out by writeErrorReport resolve to a file, anything else cannot name a path
+            UUID id = UUID.fromString(errorReportId);
+            if (id.toString().equals(errorReportId)) {
+                report = errorReportPath(id);
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Invalid error report ID: {}", errorReportId);
+        }
+        if (report == null || !Files.isRegularFile(report)) {
+            log.error("Error report not found with ID: {}", errorReportId);
+            throw new ResourceNotFoundException("Error report not found with ID: " + errorReportId);
+        }
+        return report;
+    }
+
+    private long copyCsv(Constants.ImportEntity importEntity, BufferedReader reader, BulkImportRepository.RowCopier copier) throws IOException {
+        CsvRowReader csvRowReader = new CsvRowReader(reader);
+        List<String> header = csvRowReader.readRow();
+        if (header == null) {
+            return 0;
+        }
+        // a byte order mark written by spreadsheet tools would otherwise hide the first column
+        header.set(0, header.get(0).replace("\uFEFF", ""));
+
+        List<String> columns = importEntity.getColumns();
+        int[] positions = new int[columns.size()];
+        boolean anyColumn = false;
+        for (int i = 0; i < columns.size(); i++) {
+            positions[i] = header.indexOf(columns.get(i));
+            anyColumn |= positions[i] >= 0;
+        }
+        if (!anyColumn) {
+            log.error("Failed to import: CSV header does not name any column of {}.", importEntity);
+            throw new IllegalArgumentException("The CSV header must name the columns: " + String.join(", ", columns));
+        }
+
+        long lineNo = 1;
+        long rows = 0;
+        String[] values = new String[columns.size()];
+        List<String> record;
+        while ((record = csvRowReader.readRow()) != null) {
+            lineNo++;
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            for (int i = 0; i < positions.length; i++) {
+                values[i] = positions[i] >= 0 && positions[i] < record.size() ? record.get(positions[i]) : null;
+            }
+            copier.write(lineNo, null, values);
+            rows++;
+        }
+        return rows;
+    }
+
+    private long copyNdjson(Constants.ImportEntity importEntity, BufferedReader reader, BulkImportRepository.RowCopier copier) throws IOException {
+        List<String> columns = importEntity.getColumns();
+        long lineNo = 0;
+        long rows = 0;
+        String[] values = new String[columns.size()];
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            String parseError = null;
+            JsonNode node = null;
+            try {
+                node = objectMapper.readTree(line);
+                if (!node.isObject()) parseError = "line is not a JSON object";
+            } catch (JsonProcessingException e) {
+                parseError = "line is not valid JSON: " + e.getOriginalMessage();
+            }
+            for (int i = 0; i < values.length; i++) {
+                JsonNode value = parseError == null ? node.get(columns.get(i)) : null;
+                values[i] = value == null || value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString();
+            }
+            copier.write(lineNo, parseError, values);
+            rows++;
+        }
+        return rows;
+    }
+
+    /**
+     * Writes the line and reasons of every rejected row to a new CSV file in the error report directory.
+     *
+     * @return the opaque ID of the report, which is all a client gets to see of it
+     */
+    private String writeErrorReport(Constants.ImportEntity importEntity) throws IOException {
+        Files.createDirectories(Path.of(errorReportDir));
+        UUID id = UUID.randomUUID();
+        Path report = errorReportPath(id);
+        try (BufferedWriter writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW)) {
+            writer.write("line,message\r\n");
+            bulkImportRepository.readErrors(rs -> {
+                try {
+                    writer.write(rs.getLong("line_no") + ",\"" + Objects.toString(rs.getString("message"), "").replace("\"", "\"\"") + "\"\r\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Wrote the rejected {} rows to error report with ID: {} at: {}", importEntity, id, report);
+        return id.toString();
+    }
+
+    private Path errorReportPath(UUID id) {
+        return Path.of(errorReportDir, "import-errors-" + id + ".csv");
+    }
+}
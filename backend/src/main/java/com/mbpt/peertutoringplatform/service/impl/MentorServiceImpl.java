@@ -1,31 +1,74 @@
 package com.mbpt.peertutoringplatform.service.impl;
 
+import com.mbpt.peertutoringplatform.cache.MentorProfileCache;
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.common.SortParameters;
+import com.mbpt.peertutoringplatform.dto.ClassRoomAssignmentDTO;
 import com.mbpt.peertutoringplatform.dto.LiteMentorDTO;
+import com.mbpt.peertutoringplatform.dto.MentorAvailabilityDTO;
 import com.mbpt.peertutoringplatform.dto.MentorClassDTO;
 import com.mbpt.peertutoringplatform.dto.MentorDTO;
 import com.mbpt.peertutoringplatform.dto.MentorProfileDTO;
+import com.mbpt.peertutoringplatform.dto.MentorRecommendationDTO;
+import com.mbpt.peertutoringplatform.dto.MentorSearchResultDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
+import com.mbpt.peertutoringplatform.dto.TimeSlotDTO;
 import com.mbpt.peertutoringplatform.entity.ClassRoomEntity;
 import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import com.mbpt.peertutoringplatform.event.ClassRoomCatalogChangedEvent;
 import com.mbpt.peertutoringplatform.exception.ResourceNotFoundException;
+import com.mbpt.peertutoringplatform.index.MentorAvailabilityIndex;
+import com.mbpt.peertutoringplatform.index.MentorRecommendationIndex;
+import com.mbpt.peertutoringplatform.index.MentorSearchIndex;
 import com.mbpt.peertutoringplatform.mapper.MentorEntityDTOMapper;
 import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.MentorClassSessionCountRepository;
 import com.mbpt.peertutoringplatform.repository.MentorRepository;
-import com.mbpt.peertutoringplatform.repository.SessionRepository;
+import com.mbpt.peertutoringplatform.repository.SpecificationPager;
+import com.mbpt.peertutoringplatform.repository.projection.MentorClassRoomIdView;
+import com.mbpt.peertutoringplatform.repository.specification.MentorSpecifications;
 import com.mbpt.peertutoringplatform.service.FileService;
 import com.mbpt.peertutoringplatform.service.MentorService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class MentorServiceImpl implements MentorService {
 
+    private static final Duration MAX_AVAILABILITY_RANGE = Duration.ofDays(92);
+
+    private static final Map<String, String> SORTABLE_FIELDS = Map.of(
+            "mentor_id", "mentorId",
+            "last_name", "lastName",
+            "session_fee", "sessionFee",
+            "positive_reviews", "positiveReviews");
+
     @Value("${spring.datasource.url}")
     private String datasource;
 
@@ -33,15 +76,40 @@ public class MentorServiceImpl implements MentorService {
 
     private final ClassRoomRepository classRoomRepository;
 
-    private final SessionRepository sessionRepository;
+    private final MentorClassSessionCountRepository mentorClassSessionCountRepository;
 
     private final FileService fileService;
 
-    public MentorServiceImpl(MentorRepository mentorRepository, ClassRoomRepository classRoomRepository, SessionRepository sessionRepository, FileService fileService) {
+    private final MentorAvailabilityIndex mentorAvailabilityIndex;
+
+    private final MentorSearchIndex mentorSearchIndex;
+
+    private final MentorRecommendationIndex mentorRecommendationIndex;
+
+    private final SpecificationPager specificationPager;
+
+    private final PageCountCache pageCountCache;
+
+    private final MentorProfileCache mentorProfileCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MentorServiceImpl(MentorRepository mentorRepository, ClassRoomRepository classRoomRepository,
+                             MentorClassSessionCountRepository mentorClassSessionCountRepository,
+                             FileService fileService, MentorAvailabilityIndex mentorAvailabilityIndex, MentorSearchIndex mentorSearchIndex,
+                             MentorRecommendationIndex mentorRecommendationIndex, SpecificationPager specificationPager,
+                             PageCountCache pageCountCache, MentorProfileCache mentorProfileCache, ApplicationEventPublisher eventPublisher) {
         this.mentorRepository = mentorRepository;
         this.classRoomRepository = classRoomRepository;
-        this.sessionRepository = sessionRepository;
+        this.mentorClassSessionCountRepository = mentorClassSessionCountRepository;
         this.fileService = fileService;
+        this.mentorAvailabilityIndex = mentorAvailabilityIndex;
+        this.mentorSearchIndex = mentorSearchIndex;
+        this.mentorRecommendationIndex = mentorRecommendationIndex;
+        this.specificationPager = specificationPager;
+        this.pageCountCache = pageCountCache;
+        this.mentorProfileCache = mentorProfileCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -54,6 +122,14 @@ public class MentorServiceImpl implements MentorService {
             throw new IllegalArgumentException("Mentor data are required.");
         }
 
+        List<Integer> classRoomIdList = liteMentorDTO.getClassRoomIdList();
+        if (classRoomIdList == null || classRoomIdList.stream().noneMatch(Objects::nonNull)) {
+            log.error("Failed to create mentor: list of classroom's ID is null or empty.");
+            throw new IllegalArgumentException("At least one classroom ID must be provided.");
+        }
+        // validated before the image upload, so a bad request leaves no orphan file behind
+        Set<Integer> classRoomIds = requireExistingClassRooms(classRoomIdList);
+
         String imageUrl = fileService.uploadImage(image, "mentors");
 
         log.debug("image url received: {}", imageUrl);
@@ -64,28 +140,23 @@ public class MentorServiceImpl implements MentorService {
 
         MentorEntity savedMentor = mentorRepository.save(mentorEntity);
 
-        List<Integer> classRoomIdList = mentorDTO.getClassRoomIdList();
-        if (classRoomIdList == null || classRoomIdList.isEmpty()) {
-            log.error("Failed to create mentor: list of classroom's ID is null or empty.");
-            throw new IllegalArgumentException("At least one classroom ID must be provided.");
-        }
-        classRoomIdList.forEach(classRoomId -> {
-            if (classRoomId != null) {
-                ClassRoomEntity classRoomEntity = classRoomRepository.findById(classRoomId)
-                        .orElseThrow(() -> {
-                            log.error("Classroom not found with ID: {}", classRoomId);
-                            return new ResourceNotFoundException("Classroom not found with ID: " + classRoomId);
-                        });
-                classRoomEntity.setMentorEntity(mentorEntity);
-                classRoomRepository.save(classRoomEntity);
-            }
-        });
+        // the classrooms are taken away from their current mentors, whose profiles change
+        Set<Integer> previousMentorIds = new HashSet<>(classRoomRepository.findMentorIdsOfClassRooms(classRoomIds));
+        classRoomRepository.assignMentor(savedMentor, classRoomIds);
+        requireClassRoomsLeft(previousMentorIds);
+        mentorProfileCache.evict(previousMentorIds);
+        mentorSearchIndex.refreshMentors(previousMentorIds);
+        mentorSearchIndex.refreshMentors(List.of(savedMentor.getMentorId()));
 
+        mentorAvailabilityIndex.registerMentor(savedMentor.getMentorId());
+        pageCountCache.invalidate(PageCountCache.MENTORS);
+        pageCountCache.invalidate(PageCountCache.CLASS_ROOMS);
+        eventPublisher.publishEvent(new ClassRoomCatalogChangedEvent("mentor assigned to classrooms"));
 
         log.info("Mentor created with ID: {} at data-source: {}", savedMentor.getMentorId(), this.datasource);
 
         MentorDTO savedMentorDTO = MentorEntityDTOMapper.map(savedMentor);
-        savedMentorDTO.setClassRoomIdList(classRoomIdList);
+        savedMentorDTO.setClassRoomIdList(new ArrayList<>(classRoomIds));
         return savedMentorDTO;
     }
 
@@ -130,18 +201,272 @@ public class MentorServiceImpl implements MentorService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = MentorProfileCache.NAME, key = "#id")
     public MentorProfileDTO getMentorProfile(Integer id) {
         MentorEntity mentor = mentorRepository.findById(id).orElseThrow(() -> {
             log.error("Mentor not found with ID: {}", id);
             return new ResourceNotFoundException("Failed load mentor's profile. Mentor not found with ID: " + id);
         });
         MentorDTO mentorDTO = MentorEntityDTOMapper.map(mentor);
-        mentorDTO.setClassRoomIdList(mentor.getClassRoomEntityList().stream().map(ClassRoomEntity::getClassRoomId).collect(Collectors.toList()));
-        List<MentorClassDTO> mentorClassDTOS = mentor.getClassRoomEntityList().stream().map(cls -> {
-            Integer count = sessionRepository.countByClassRoomIdAndMentorId(cls.getClassRoomId(), mentor.getMentorId());
-            return new MentorClassDTO(cls.getTitle(), count);
-        }).toList();
+        mentorDTO.setClassRoomIdList(classRoomRepository.findAssignedClassRoomIds(List.of(id)).stream()
+                .map(MentorClassRoomIdView::getClassRoomId).collect(Collectors.toList()));
+        // one indexed read of the maintained counters instead of a COUNT query per classroom
+        List<MentorClassDTO> mentorClassDTOS = mentorClassSessionCountRepository.findMentorClasses(mentor.getMentorId());
+        log.debug("Loaded profile of mentor with ID: {} from data-source: {}", id, this.datasource);
         return new MentorProfileDTO(mentorDTO, mentorClassDTOS);
     }
 
+    @Override
+    public MentorAvailabilityDTO getMentorAvailability(Integer id, Instant from, Instant to, Integer granularity) {
+        log.info("Fetching availability of mentor with ID: {} between {} and {} ...", id, from, to);
+
+        if (from == null || to == null || !from.isBefore(to)) {
+            log.error("Failed to fetch mentor availability: invalid range from {} to {}", from, to);
+            throw new IllegalArgumentException("A range with 'from' before 'to' is required.");
+        }
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_RANGE) > 0) {
+            throw new IllegalArgumentException("The range must not exceed " + MAX_AVAILABILITY_RANGE.toDays() + " days.");
+        }
+        int slotMinutes = MentorAvailabilityIndex.SLOT_MINUTES;
+        if (granularity == null || granularity < slotMinutes || granularity > 24 * 60 || granularity % slotMinutes != 0) {
+            throw new IllegalArgumentException("Granularity must be a multiple of " + slotMinutes + " minutes, at most one day.");
+        }
+        if (!mentorAvailabilityIndex.isKnownMentor(id)) {
+            log.error("Mentor not found with ID: {}", id);
+            throw new ResourceNotFoundException("Failed to load mentor's availability. Mentor not found with ID: " + id);
+        }
+
+        // time that has already passed is never free
+        Instant now = Instant.now();
+        Instant searchFrom = from.isBefore(now) ? now : from;
+        List<TimeSlotDTO> freeSlots = searchFrom.isBefore(to)
+                ? mentorAvailabilityIndex.findFreeSlots(id, searchFrom, to, granularity / slotMinutes)
+                : List.of();
+
+        log.info("Found {} free intervals of mentor with ID: {}", freeSlots.size(), id);
+        return new MentorAvailabilityDTO(id, from, to, granularity, freeSlots);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<MentorDTO> getMentorsPage(int page, int size, List<String> sort, Boolean isCertified, Double minFee, Double maxFee,
+                                             String name, String subject) {
+        log.info("Fetching page {} of mentors with size {} ...", page, size);
+
+        Sort sortOrder = SortParameters.parse(sort, SORTABLE_FIELDS, "mentorId");
+
+        List<Specification<MentorEntity>> filters = new ArrayList<>();
+        if (isCertified != null) filters.add(MentorSpecifications.isCertified(isCertified));
+        if (minFee != null) filters.add(MentorSpecifications.sessionFeeAtLeast(minFee));
+        if (maxFee != null) filters.add(MentorSpecifications.sessionFeeAtMost(maxFee));
+        if (name != null && !name.isBlank()) filters.add(MentorSpecifications.nameContains(name.trim()));
+        if (subject != null && !subject.isBlank()) filters.add(MentorSpecifications.subjectContains(subject.trim()));
+        Specification<MentorEntity> filter = Specification.allOf(filters);
+
+        long total = pageCountCache.count(PageCountCache.MENTORS,
+                Arrays.asList(isCertified, minFee, maxFee, name, subject).toString(),
+                () -> mentorRepository.count(filter));
+
+        List<MentorEntity> mentorEntities = total <= (long) page * size ? List.of()
+                : specificationPager.findPage(MentorEntity.class, filter, PageRequest.of(page, size, sortOrder));
+
+        // classroom IDs of the whole page in one query instead of loading each mentor's classrooms
+        Map<Integer, List<Integer>> classRoomIdsByMentor = mentorEntities.isEmpty() ? Map.of()
+                : classRoomRepository.findAssignedClassRoomIds(mentorEntities.stream().map(MentorEntity::getMentorId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(MentorClassRoomIdView::getMentorId,
+                        Collectors.mapping(MentorClassRoomIdView::getClassRoomId, Collectors.toList())));
+
+        List<MentorDTO> mentorDTOS = mentorEntities.stream().map(mentorEntity -> {
+            MentorDTO mentorDTO = MentorEntityDTOMapper.map(mentorEntity);
+            mentorDTO.setClassRoomIdList(classRoomIdsByMentor.getOrDefault(mentorEntity.getMentorId(), List.of()));
+            return mentorDTO;
+        }).toList();
+
+        log.info("Found {} of {} mentors from data-source: {}", mentorDTOS.size(), total, this.datasource);
+        return PageDTO.of(mentorDTOS, page, size, total);
+    }
+
+    @Override
+    public MentorSearchResultDTO searchMentors(Boolean isCertified, Constants.Title title, Double minFee, Double maxFee,
+                                               Integer minPositiveReviews, Integer classRoomId, int page, int size) {
+        log.info("Searching page {} of mentors with size {} ...", page, size);
+
+        if ((minFee != null && minFee < 0) || (maxFee != null && maxFee < 0)) {
+            throw new IllegalArgumentException("Session fee bounds must be non-negative.");
+        }
+        if (minFee != null && maxFee != null && minFee > maxFee) {
+            throw new IllegalArgumentException("The minimum session fee must not exceed the maximum session fee.");
+        }
+
+        MentorSearchResultDTO result = mentorSearchIndex.search(isCertified, title, minFee, maxFee, minPositiveReviews,
+                classRoomId, page, size);
+        log.info("Found {} mentors matching the search", result.getMentors().getTotalElements());
+        return result;
+    }
+
+    @Override
+    public List<MentorRecommendationDTO> getRelatedMentors(Integer id, Integer limit) {
+        log.info("Fetching mentors related to mentor with ID: {} ...", id);
+
+        if (mentorSearchIndex.findMentors(List.of(id)).isEmpty()) {
+            log.error("Mentor not found with ID: {}", id);
+            throw new ResourceNotFoundException("Failed to load related mentors. Mentor not found with ID: " + id);
+        }
+        List<MentorRecommendationIndex.RelatedMentor> relatedMentors = mentorRecommendationIndex.findRelatedMentors(id);
+        List<MentorRecommendationDTO> mentorRecommendationDTOS = toRecommendations(
+                relatedMentors.subList(0, Math.min(limit, relatedMentors.size())));
+
+        log.info("Found {} mentors related to mentor with ID: {}", mentorRecommendationDTOS.size(), id);
+        return mentorRecommendationDTOS;
+    }
+
+    @Override
+    public List<MentorRecommendationDTO> getRecommendedMentors(Integer studentId, Integer limit) {
+        List<MentorRecommendationDTO> mentorRecommendationDTOS = toRecommendations(
+                mentorRecommendationIndex.recommendMentors(studentId, limit));
+        log.info("Found {} recommended mentors for student with ID: {}", mentorRecommendationDTOS.size(), studentId);
+        return mentorRecommendationDTOS;
+    }
+
+    /**
+     * Attaches the indexed mentor details to scored mentors, skipping mentors that are no longer indexed.
+     *
+     * @param relatedMentors the scored mentors
+     * @return the recommendations in the order of the scored mentors
+     */
+    private List<MentorRecommendationDTO> toRecommendations(List<MentorRecommendationIndex.RelatedMentor> relatedMentors) {
+        Map<Integer, MentorDTO> mentorsById = mentorSearchIndex.findMentors(relatedMentors.stream()
+                        .map(MentorRecommendationIndex.RelatedMentor::mentorId).toList()).stream()
+                .collect(Collectors.toMap(MentorDTO::getMentorId, mentorDTO -> mentorDTO));
+        return relatedMentors.stream()
+                .filter(relatedMentor -> mentorsById.containsKey(relatedMentor.mentorId()))
+                .map(relatedMentor -> new MentorRecommendationDTO(mentorsById.get(relatedMentor.mentorId()), relatedMentor.score()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public MentorDTO assignClassRooms(Integer id, List<Integer> classRoomIdList) {
+        log.info("Assigning {} classrooms to mentor with ID: {} ...", classRoomIdList.size(), id);
+
+        MentorEntity mentor = mentorRepository.findById(id).orElseThrow(() -> {
+            log.error("Mentor not found with ID: {}", id);
+            return new ResourceNotFoundException("Failed to assign classrooms. Mentor not found with ID: " + id);
+        });
+        Set<Integer> classRoomIds = requireExistingClassRooms(classRoomIdList);
+
+        Set<Integer> previousMentorIds = new HashSet<>(classRoomRepository.findMentorIdsOfClassRooms(classRoomIds));
+        previousMentorIds.remove(id);
+
+        int unassigned = classRoomRepository.unassignMentorExcept(mentor, classRoomIds);
+        classRoomRepository.assignMentor(mentor, classRoomIds);
+        requireClassRoomsLeft(previousMentorIds);
+
+        mentorProfileCache.evict(id);
+        mentorProfileCache.evict(previousMentorIds);
+        previousMentorIds.add(id);
+        mentorSearchIndex.refreshMentors(previousMentorIds);
+        afterClassRoomsMoved();
+        log.info("Assigned {} classrooms to mentor with ID: {} and unassigned {} at data-source: {}",
+                classRoomIds.size(), id, unassigned, this.datasource);
+        return findMentorsWithClassRooms(List.of(id)).get(0);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<MentorDTO> reassignClassRooms(List<ClassRoomAssignmentDTO> assignments) {
+        log.info("Reassigning classrooms to {} mentors...", assignments.size());
+
+        Map<Integer, Set<Integer>> classRoomIdsByMentor = new LinkedHashMap<>();
+        Set<Integer> allClassRoomIds = new HashSet<>();
+        for (ClassRoomAssignmentDTO assignment : assignments) {
+            Set<Integer> classRoomIds = classRoomIdsByMentor.computeIfAbsent(assignment.getMentorId(), mentorId -> new HashSet<>());
+            for (Integer classRoomId : assignment.getClassRoomIds()) {
+                if (!allClassRoomIds.add(classRoomId) && !classRoomIds.contains(classRoomId)) {
+                    log.error("Failed to reassign classrooms: classroom with ID: {} is assigned to more than one mentor", classRoomId);
+                    throw new IllegalArgumentException("Classroom with ID: " + classRoomId + " is assigned to more than one mentor.");
+                }
+                classRoomIds.add(classRoomId);
+            }
+        }
+
+        Set<Integer> missingMentorIds = new TreeSet<>(classRoomIdsByMentor.keySet());
+        missingMentorIds.removeAll(mentorRepository.findExistingIds(classRoomIdsByMentor.keySet()));
+        if (!missingMentorIds.isEmpty()) {
+            log.error("Mentors not found with IDs: {}", missingMentorIds);
+            throw new ResourceNotFoundException("Mentors not found with IDs: " + missingMentorIds);
+        }
+        requireExistingClassRooms(allClassRoomIds);
+
+        Set<Integer> affectedMentorIds = new TreeSet<>(classRoomRepository.findMentorIdsOfClassRooms(allClassRoomIds));
+        // one UPDATE per target mentor, however many classrooms it receives
+        classRoomIdsByMentor.forEach((mentorId, classRoomIds) ->
+                classRoomRepository.assignMentor(mentorRepository.getReferenceById(mentorId), classRoomIds));
+        requireClassRoomsLeft(affectedMentorIds);
+        affectedMentorIds.addAll(classRoomIdsByMentor.keySet());
+
+        mentorProfileCache.evict(affectedMentorIds);
+        mentorSearchIndex.refreshMentors(affectedMentorIds);
+        afterClassRoomsMoved();
+        log.info("Reassigned {} classrooms across {} mentors at data-source: {}", allClassRoomIds.size(),
+                affectedMentorIds.size(), this.datasource);
+        return findMentorsWithClassRooms(affectedMentorIds);
+    }
+
+    /**
+     * Checks with a single query that all given classrooms exist.
+     *
+     * @param classRoomIdList the classroom IDs, null entries are ignored
+     * @return the distinct classroom IDs
+     * @throws ResourceNotFoundException if any classroom does not exist
+     */
+    private Set<Integer> requireExistingClassRooms(Collection<Integer> classRoomIdList) {
+        Set<Integer> classRoomIds = classRoomIdList.stream().filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Integer> missingIds = new TreeSet<>(classRoomIds);
+        classRoomRepository.findExistingIds(classRoomIds).forEach(missingIds::remove);
+        if (!missingIds.isEmpty()) {
+            log.error("Classrooms not found with IDs: {}", missingIds);
+            throw new ResourceNotFoundException("Classrooms not found with IDs: " + missingIds);
+        }
+        return classRoomIds;
+    }
+
+    /**
+     * Rejects a reassignment that leaves any of the given mentors without a classroom, which rolls
+     * back the surrounding transaction.
+     *
+     * @param mentorIds the IDs of the mentors that lost classrooms
+     */
+    private void requireClassRoomsLeft(Collection<Integer> mentorIds) {
+        if (mentorIds.isEmpty()) {
+            return;
+        }
+        List<Integer> emptyMentorIds = mentorRepository.findIdsWithoutClassRooms(mentorIds);
+        if (!emptyMentorIds.isEmpty()) {
+            log.error("Failed to reassign classrooms: mentors with IDs: {} would have no classroom left", emptyMentorIds);
+            throw new IllegalArgumentException("Mentors must keep at least one classroom. Mentors left without classrooms: " + emptyMentorIds);
+        }
+    }
+
+    private void afterClassRoomsMoved() {
+        pageCountCache.invalidate(PageCountCache.CLASS_ROOMS);
+        eventPublisher.publishEvent(new ClassRoomCatalogChangedEvent("classrooms reassigned"));
+    }
+
+    private List<MentorDTO> findMentorsWithClassRooms(Collection<Integer> mentorIds) {
+        Map<Integer, List<Integer>> classRoomIdsByMentor = classRoomRepository.findAssignedClassRoomIds(mentorIds).stream()
+                .collect(Collectors.groupingBy(MentorClassRoomIdView::getMentorId,
+                        Collectors.mapping(MentorClassRoomIdView::getClassRoomId, Collectors.toList())));
+        return mentorRepository.findAllById(mentorIds).stream()
+                .sorted(Comparator.comparing(MentorEntity::getMentorId))
+                .map(mentorEntity -> {
+                    MentorDTO mentorDTO = MentorEntityDTOMapper.map(mentorEntity);
+                    mentorDTO.setClassRoomIdList(classRoomIdsByMentor.getOrDefault(mentorEntity.getMentorId(), List.of()));
+                    return mentorDTO;
+                }).toList();
+    }
+
 }
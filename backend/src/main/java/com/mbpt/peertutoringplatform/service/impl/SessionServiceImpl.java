@@ -1,22 +1,47 @@
 package com.mbpt.peertutoringplatform.service.impl;
 
+import com.mbpt.peertutoringplatform.cache.StudentIdentityCache;
 import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.common.SessionCursor;
+import com.mbpt.peertutoringplatform.dto.SessionBatchResultDTO;
 import com.mbpt.peertutoringplatform.dto.SessionDTO;
 import com.mbpt.peertutoringplatform.dto.SessionLiteDTO;
+import com.mbpt.peertutoringplatform.dto.SessionPageDTO;
+import com.mbpt.peertutoringplatform.dto.SessionStatusDTO;
 import com.mbpt.peertutoringplatform.entity.LiteSessionEntity;
+import com.mbpt.peertutoringplatform.entity.MentorClassSessionCountEntity;
 import com.mbpt.peertutoringplatform.entity.SessionEntity;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.exception.BookingConflictException;
+import com.mbpt.peertutoringplatform.exception.InvalidStatusTransitionException;
 import com.mbpt.peertutoringplatform.exception.ResourceNotFoundException;
+import com.mbpt.peertutoringplatform.index.SessionIntervalIndex;
 import com.mbpt.peertutoringplatform.mapper.LiteSessionEntityDTOMapper;
 import com.mbpt.peertutoringplatform.mapper.SessionEntityDTOMapper;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
 import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import com.mbpt.peertutoringplatform.repository.MentorClassSessionCountRepository;
+import com.mbpt.peertutoringplatform.repository.MentorRepository;
 import com.mbpt.peertutoringplatform.repository.SessionRepository;
+import com.mbpt.peertutoringplatform.repository.StudentRepository;
+import com.mbpt.peertutoringplatform.repository.projection.SessionStatusChangeView;
 import com.mbpt.peertutoringplatform.service.SessionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -29,9 +54,33 @@ public class SessionServiceImpl implements SessionService {
 
     private final LiteSessionRepository liteSessionRepository;
 
-    public SessionServiceImpl(SessionRepository sessionRepository, LiteSessionRepository liteSessionRepository) {
+    private final StudentRepository studentRepository;
+
+    private final MentorRepository mentorRepository;
+
+    private final ClassRoomRepository classRoomRepository;
+
+    private final MentorClassSessionCountRepository mentorClassSessionCountRepository;
+
+    private final SessionIntervalIndex sessionIntervalIndex;
+
+    private final StudentIdentityCache studentIdentityCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SessionServiceImpl(SessionRepository sessionRepository, LiteSessionRepository liteSessionRepository, StudentRepository studentRepository,
+                              MentorRepository mentorRepository, ClassRoomRepository classRoomRepository,
+                              MentorClassSessionCountRepository mentorClassSessionCountRepository, SessionIntervalIndex sessionIntervalIndex,
+                              StudentIdentityCache studentIdentityCache, ApplicationEventPublisher eventPublisher) {
         this.sessionRepository = sessionRepository;
         this.liteSessionRepository = liteSessionRepository;
+        this.studentRepository = studentRepository;
+        this.mentorRepository = mentorRepository;
+        this.classRoomRepository = classRoomRepository;
+        this.mentorClassSessionCountRepository = mentorClassSessionCountRepository;
+        this.sessionIntervalIndex = sessionIntervalIndex;
+        this.studentIdentityCache = studentIdentityCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -43,12 +92,107 @@ public class SessionServiceImpl implements SessionService {
             throw new IllegalArgumentException("Session data must not be null.");
         }
         log.debug("ClassRoomDTO received: {}", sessionDTO);
+        validateSessionTime(sessionDTO);
+
+        // rejects overlapping sessions of the mentor or student, released again if this transaction rolls back
+        SessionIntervalIndex.Booking booking = sessionIntervalIndex.reserve(sessionDTO.getMentorId(), sessionDTO.getStudentId(),
+                sessionDTO.getClassRoomId(), sessionDTO.getStartTime(), sessionDTO.getEndTime());
+
         LiteSessionEntity sessionEntity = LiteSessionEntityDTOMapper.map(sessionDTO);
         LiteSessionEntity savedEntity = liteSessionRepository.save(sessionEntity);
+        booking.confirm(savedEntity.getSessionId());
+        mentorClassSessionCountRepository.increment(savedEntity.getMentorId(), savedEntity.getClassRoomId(), 1);
+        eventPublisher.publishEvent(new SessionChangedEvent(List.of(toCreatedChange(savedEntity))));
         log.info("Created classroom with ID: {} at data-source: {}", savedEntity.getSessionId(), this.datasource);
         return LiteSessionEntityDTOMapper.map(savedEntity);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<SessionBatchResultDTO> createSessions(List<SessionLiteDTO> sessionDTOS) {
+        log.info("Creating batch of sessions...");
+        if (sessionDTOS == null || sessionDTOS.isEmpty()) {
+            log.error("Failed to create batch of sessions: input list is null or empty.");
+            throw new IllegalArgumentException("At least one session must be provided.");
+        }
+
+        // one IN query per referenced entity instead of a lookup per session
+        Set<Integer> existingStudentIds = new HashSet<>(studentRepository.findExistingIds(collectIds(sessionDTOS, SessionLiteDTO::getStudentId)));
+        Set<Integer> existingMentorIds = new HashSet<>(mentorRepository.findExistingIds(collectIds(sessionDTOS, SessionLiteDTO::getMentorId)));
+        Set<Integer> existingClassRoomIds = new HashSet<>(classRoomRepository.findExistingIds(collectIds(sessionDTOS, SessionLiteDTO::getClassRoomId)));
+
+        SessionBatchResultDTO[] results = new SessionBatchResultDTO[sessionDTOS.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<SessionIntervalIndex.Booking> bookings = new ArrayList<>();
+        List<LiteSessionEntity> acceptedEntities = new ArrayList<>();
+
+        for (int i = 0; i < sessionDTOS.size(); i++) {
+            SessionLiteDTO sessionDTO = sessionDTOS.get(i);
+            try {
+                validateSessionTime(sessionDTO);
+                if (!existingStudentIds.contains(sessionDTO.getStudentId())) {
+                    throw new IllegalArgumentException("Student not found with ID: " + sessionDTO.getStudentId());
+                }
+                if (!existingMentorIds.contains(sessionDTO.getMentorId())) {
+                    throw new IllegalArgumentException("Mentor not found with ID: " + sessionDTO.getMentorId());
+                }
+                if (!existingClassRoomIds.contains(sessionDTO.getClassRoomId())) {
+                    throw new IllegalArgumentException("Classroom not found with ID: " + sessionDTO.getClassRoomId());
+                }
+                // also rejects sessions overlapping an earlier session of the same batch
+                bookings.add(sessionIntervalIndex.reserve(sessionDTO.getMentorId(), sessionDTO.getStudentId(),
+                        sessionDTO.getClassRoomId(), sessionDTO.getStartTime(), sessionDTO.getEndTime()));
+                acceptedIndexes.add(i);
+                acceptedEntities.add(LiteSessionEntityDTOMapper.map(sessionDTO));
+            } catch (IllegalArgumentException | BookingConflictException e) {
+                log.debug("Rejected session at index {} of batch: {}", i, e.getMessage());
+                results[i] = new SessionBatchResultDTO(i, Constants.BatchItemStatus.REJECTED, null, e.getMessage());
+            }
+        }
+
+        List<LiteSessionEntity> savedEntities = liteSessionRepository.insertAll(acceptedEntities);
+
+        for (int k = 0; k < savedEntities.size(); k++) {
+            LiteSessionEntity savedEntity = savedEntities.get(k);
+            bookings.get(k).confirm(savedEntity.getSessionId());
+            int index = acceptedIndexes.get(k);
+            results[index] = new SessionBatchResultDTO(index, Constants.BatchItemStatus.CREATED, LiteSessionEntityDTOMapper.map(savedEntity), null);
+        }
+
+        // one counter upsert per (mentor, classroom) pair of the batch
+        Map<MentorClassSessionCountEntity.Key, Long> countsByPair = savedEntities.stream().collect(Collectors.groupingBy(
+                entity -> new MentorClassSessionCountEntity.Key(entity.getMentorId(), entity.getClassRoomId()), Collectors.counting()));
+        countsByPair.forEach((pair, count) ->
+                mentorClassSessionCountRepository.increment(pair.getMentorId(), pair.getClassRoomId(), count.intValue()));
+
+        if (!savedEntities.isEmpty()) {
+            eventPublisher.publishEvent(new SessionChangedEvent(savedEntities.stream().map(SessionServiceImpl::toCreatedChange).toList()));
+        }
+
+        log.info("Created {} of {} sessions in batch at data-source: {}", savedEntities.size(), sessionDTOS.size(), this.datasource);
+        return Arrays.asList(results);
+    }
+
+    private static SessionChangedEvent.SessionChange toCreatedChange(LiteSessionEntity sessionEntity) {
+        return new SessionChangedEvent.SessionChange(sessionEntity.getSessionId(), sessionEntity.getStudentId(), sessionEntity.getMentorId(),
+                sessionEntity.getClassRoomId(), sessionEntity.getStartTime(), sessionEntity.getEndTime(), null, sessionEntity.getSessionStatus());
+    }
+
+    private static Set<Integer> collectIds(List<SessionLiteDTO> sessionDTOS, Function<SessionLiteDTO, Integer> idGetter) {
+        return sessionDTOS.stream().map(idGetter).collect(Collectors.toSet());
+    }
+
+    private static void validateSessionTime(SessionLiteDTO sessionDTO) {
+        if (!sessionDTO.getStartTime().isBefore(sessionDTO.getEndTime())) {
+            log.error("Failed to create session: start time {} is not before end time {}.", sessionDTO.getStartTime(), sessionDTO.getEndTime());
+            throw new IllegalArgumentException("Session start time must be before the end time.");
+        }
+        if (sessionDTO.getStartTime().isBefore(Instant.now())) {
+            log.error("Failed to create session: start time {} is in the past.", sessionDTO.getStartTime());
+            throw new IllegalArgumentException("Session start time must be in the future.");
+        }
+    }
+
 
     @Override
     @Transactional(readOnly = true)
@@ -62,12 +206,49 @@ public class SessionServiceImpl implements SessionService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<SessionDTO> getAllSessionsByStudentClerkId(String studentClerkId) {
+    public SessionPageDTO getSessionsPage(String cursor, int size, Constants.SessionStatus sessionStatus, Integer mentorId,
+                                          Integer classRoomId, Instant startFrom, Instant startBefore) {
+        log.info("Fetching page of sessions...");
+
+        if (size < 1) {
+            log.error("Failed to fetch page of sessions: page size {} is not positive.", size);
+            throw new IllegalArgumentException("Page size must be a positive integer.");
+        }
+
+        SessionCursor sessionCursor = SessionCursor.decode(cursor);
+
+        // fetch one extra row to know whether there is a next page without a COUNT query
+        PageRequest pageRequest = PageRequest.of(0, size + 1);
+        List<SessionEntity> sessionEntities = sessionCursor == null
+                ? sessionRepository.findFirstPage(sessionStatus, mentorId, classRoomId, startFrom, startBefore, pageRequest)
+                : sessionRepository.findPageAfter(sessionCursor.startTime(), sessionCursor.sessionId(), sessionStatus,
+                        mentorId, classRoomId, startFrom, startBefore, pageRequest);
+
+        boolean hasNextPage = sessionEntities.size() > size;
+        List<SessionEntity> pageEntities = hasNextPage ? sessionEntities.subList(0, size) : sessionEntities;
+
+        String nextCursor = null;
+        if (hasNextPage) {
+            SessionEntity last = pageEntities.get(pageEntities.size() - 1);
+            nextCursor = new SessionCursor(last.getStartTime(), last.getSessionId()).encode();
+        }
+
+        List<SessionDTO> sessionDTOS = pageEntities.stream().map(SessionEntityDTOMapper::map).toList();
+        log.info("Found {} sessions in page from data-source: {}", sessionDTOS.size(), this.datasource);
+        return new SessionPageDTO(sessionDTOS, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SessionDTO> getAllSessionsByStudentClerkId(String studentClerkId, Constants.SessionPeriod sessionPeriod, Constants.SessionStatus sessionStatus) {
         log.info("Fetching session by student Clerk ID...");
-        List<SessionEntity> sessionEntities = sessionRepository.findAll();
-        List<SessionDTO> sessionDTOS = sessionEntities.stream()
-                .filter(sessionEntity -> sessionEntity.getStudentEntity().getClerkStudentId().equals(studentClerkId))
-                .map(SessionEntityDTOMapper::map).toList();
+        Instant now = Instant.now();
+        Instant startFrom = sessionPeriod == Constants.SessionPeriod.UPCOMING ? now : null;
+        Instant startBefore = sessionPeriod == Constants.SessionPeriod.PAST ? now : null;
+        List<SessionEntity> sessionEntities = studentIdentityCache.findStudentId(studentClerkId)
+                .map(studentId -> sessionRepository.findAllByStudentId(studentId, startFrom, startBefore, sessionStatus))
+                .orElse(List.of());
+        List<SessionDTO> sessionDTOS = sessionEntities.stream().map(SessionEntityDTOMapper::map).toList();
         log.info("Found {} sessions of student with Clerk ID: {} from data-source: {}", sessionDTOS.size(), studentClerkId, this.datasource);
         return sessionDTOS;
 
@@ -83,16 +264,68 @@ public class SessionServiceImpl implements SessionService {
             throw new IllegalArgumentException("session ID and session status must not be null for update the status.");
         }
 
-        SessionEntity sessionEntity = sessionRepository.findById(sessionId).orElseThrow(() -> {
+        SessionEntity sessionEntity = sessionRepository.findWithParticipantsBySessionId(sessionId).orElseThrow(() -> {
             log.error("Failed to update session status: session not found with ID: {}", sessionId);
             return new ResourceNotFoundException("session not found with ID: " + sessionId);
         });
 
+        Constants.SessionStatus previousStatus = sessionEntity.getSessionStatus();
+        // the analytics rollups only ever add, so a status may only move one step forward
+        if (previousStatus != sessionStatus && !isNextStatus(previousStatus, sessionStatus)) {
+            log.error("Failed to update session status: session with ID: {} can't move from {} to {}", sessionId, previousStatus, sessionStatus);
+            throw new InvalidStatusTransitionException(String.format(
+                    "Session with ID: %d can't move from %s to %s. Sessions move from PENDING to ACCEPTED to COMPLETED.",
+                    sessionId, previousStatus, sessionStatus));
+        }
         sessionEntity.setSessionStatus(sessionStatus);
         SessionEntity updatedEntity = sessionRepository.save(sessionEntity);
 
+        if (previousStatus != sessionStatus) {
+            eventPublisher.publishEvent(new SessionChangedEvent(List.of(new SessionChangedEvent.SessionChange(
+                    updatedEntity.getSessionId(), updatedEntity.getStudentEntity().getStudentId(), updatedEntity.getMentorEntity().getMentorId(),
+                    updatedEntity.getClassRoomEntity().getClassRoomId(), updatedEntity.getStartTime(), updatedEntity.getEndTime(),
+                    previousStatus, sessionStatus))));
+        }
+
         log.info("Updated status of the session with ID: {}", sessionId);
         return SessionEntityDTOMapper.map(updatedEntity);
     }
 
+    private static boolean isNextStatus(Constants.SessionStatus previousStatus, Constants.SessionStatus sessionStatus) {
+        return (previousStatus == Constants.SessionStatus.PENDING && sessionStatus == Constants.SessionStatus.ACCEPTED)
+                || (previousStatus == Constants.SessionStatus.ACCEPTED && sessionStatus == Constants.SessionStatus.COMPLETED);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<SessionStatusDTO> updateSessionStatuses(List<Integer> sessionIds, Constants.SessionStatus sessionStatus) {
+        log.info("Updating status of {} sessions to {}...", sessionIds == null ? 0 : sessionIds.size(), sessionStatus);
+
+        if (sessionIds == null || sessionIds.isEmpty() || sessionStatus == null) {
+            log.error("Failed to update session statuses: session IDs or session status is null or empty.");
+            throw new IllegalArgumentException("session IDs and session status must not be null for update the status.");
+        }
+        if (sessionStatus == Constants.SessionStatus.PENDING) {
+            log.error("Failed to update session statuses: sessions can't be moved back to PENDING.");
+            throw new IllegalArgumentException("Sessions can only be moved to ACCEPTED or COMPLETED.");
+        }
+
+        List<SessionStatusChangeView> changedSessions = liteSessionRepository.advanceStatus(new HashSet<>(sessionIds), sessionStatus.name());
+
+        if (!changedSessions.isEmpty()) {
+            Constants.SessionStatus previousStatus = sessionStatus == Constants.SessionStatus.ACCEPTED
+                    ? Constants.SessionStatus.PENDING : Constants.SessionStatus.ACCEPTED;
+            eventPublisher.publishEvent(new SessionChangedEvent(changedSessions.stream()
+                    .map(changedSession -> new SessionChangedEvent.SessionChange(changedSession.getSessionId(), changedSession.getStudentId(),
+                            changedSession.getMentorId(), changedSession.getClassRoomId(), changedSession.getStartTime(),
+                            changedSession.getEndTime(), previousStatus, sessionStatus))
+                    .toList()));
+        }
+
+        log.info("Updated status of {} of {} sessions to {}", changedSessions.size(), sessionIds.size(), sessionStatus);
+        return changedSessions.stream()
+                .map(changedSession -> new SessionStatusDTO(changedSession.getSessionId(), sessionStatus))
+                .toList();
+    }
+
 }
@@ -0,0 +1,283 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.mbpt.peertutoringplatform.cache.StudentIdentityCache;
+import com.mbpt.peertutoringplatform.dto.SessionStatusDTO;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.exception.ResourceNotFoundException;
+import com.mbpt.peertutoringplatform.service.SessionStreamService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the open session streams in memory, keyed by student ID. Idle streams hold no request
+ * thread (they are async servlet requests) and cost no database queries.
+ * <p>
+ * Events of the committed {@link SessionChangedEvent} are offered to a bounded queue per stream, so
+ * publishing never blocks, and each stream is drained by at most one thread of a small sender pool
+ * at a time. A stream whose queue is full, or whose send has not returned within
+ * {@link #SEND_TIMEOUT}, belongs to a client that stopped reading: it is dropped and completed, and
+ * the browser reconnects and reloads its sessions. A stalled client therefore holds a sender thread
+ * for at most about {@link #SEND_TIMEOUT} and never delays the events of the other streams for longer.
+ */
+@Slf4j
+@Service
+public class SessionStreamServiceImpl implements SessionStreamService {
+
+    private static final long STREAM_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+
+    static final int QUEUE_CAPACITY = 32;
+
+    static final Duration SEND_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int SENDER_THREADS = 8;
+
+    private final StudentIdentityCache studentIdentityCache;
+
+    private final Map<Integer, Set<Subscriber>> subscribersByStudent = new ConcurrentHashMap<>();
+
+    private final ExecutorService sender = Executors.newFixedThreadPool(SENDER_THREADS, new SenderThreadFactory());
+
+    public SessionStreamServiceImpl(StudentIdentityCache studentIdentityCache) {
+        this.studentIdentityCache = studentIdentityCache;
+    }
+
+    @Override
+    public SseEmitter subscribe(String clerkStudentId) {
+        Integer studentId = studentIdentityCache.findStudentId(clerkStudentId).orElseThrow(() -> {
+            log.error("Failed to open session stream: student not found with Clerk ID: {}", clerkStudentId);
+            return new ResourceNotFoundException("Student not found with Clerk ID: " + clerkStudentId);
+        });
+
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(studentId, emitter);
+        subscribersByStudent.computeIfAbsent(studentId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        log.debug("Opened session stream for student with ID: {}", studentId);
+        return emitter;
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(STREAM_TIMEOUT_MILLIS);
+    }
+
+    int openStreamCount() {
+        return subscribersByStudent.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(SessionChangedEvent event) {
+        for (SessionChangedEvent.SessionChange change : event.changes()) {
+            Set<Subscriber> subscribers = subscribersByStudent.get(change.studentId());
+            if (subscribers == null) {
+                continue;
+            }
+            // built once, a builder is not safe to share between the threads sending it
+            Set<ResponseBodyEmitter.DataWithMediaType> sseEvent = SseEmitter.event()
+                    .id(String.valueOf(change.sessionId()))
+                    .name(change.isCreation() ? "session-created" : "session-status-changed")
+                    .data(new SessionStatusDTO(change.sessionId(), change.sessionStatus()), MediaType.APPLICATION_JSON)
+                    .build();
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(sseEvent);
+            }
+        }
+    }
+
+    // keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedRate = 25_000)
+    void sendHeartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Subscriber subscriber : allSubscribers()) {
+            // a stream with pending events needs no heartbeat, and heartbeats never pile up behind a slow client
+            if (subscriber.queue.isEmpty()) {
+                subscriber.offer(heartbeat);
+            }
+        }
+    }
+
+    @Scheduled(fixedRate = 5_000)
+    void dropStalledStreams() {
+        dropStalledStreams(System.nanoTime());
+    }
+
+    void dropStalledStreams(long now) {
+        for (Subscriber subscriber : allSubscribers()) {
+            if (subscriber.isSendStalled(now)) {
+                subscriber.drop("send did not complete within " + SEND_TIMEOUT.toSeconds() + " s");
+            }
+        }
+    }
+
+    private List<Subscriber> allSubscribers() {
+        List<Subscriber> subscribers = new ArrayList<>();
+        subscribersByStudent.values().forEach(subscribers::addAll);
+        return subscribers;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        allSubscribers().forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * An open stream with its pending events.
+     */
+    private final class Subscriber {
+
+        private final Integer studentId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        // whether a drain is submitted or running, so that events of one stream are sent in order by one thread
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        // guarded by this, set only while a send is in progress
+        private Thread sendingThread;
+
+        private volatile long sendStartedAt;
+
+        private Subscriber(Integer studentId, SseEmitter emitter) {
+            this.studentId = studentId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> sseEvent) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(sseEvent)) {
+                drop("event queue is full");
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> sseEvent;
+                while (!closed && (sseEvent = queue.poll()) != null) {
+                    if (!send(sseEvent)) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    // dropped, completed here rather than by the caller of drop, which must not wait for a stalled send
+                    emitter.complete();
+                }
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private boolean send(Set<ResponseBodyEmitter.DataWithMediaType> sseEvent) {
+            synchronized (this) {
+                sendingThread = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            try {
+                emitter.send(sseEvent);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+                return false;
+            } finally {
+                synchronized (this) {
+                    sendingThread = null;
+                    // an interrupt of a stalled send that returned meanwhile must not fail the next stream's send
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        boolean isSendStalled(long now) {
+            synchronized (this) {
+                return sendingThread != null && now - sendStartedAt > SEND_TIMEOUT.toNanos();
+            }
+        }
+
+        /**
+         * Stops delivering events to a client that does not keep up, and completes its stream once no send is in progress.
+         */
+        void drop(String reason) {
+            if (closed) {
+                return;
+            }
+            log.warn("Dropping session stream of student with ID: {}: {}", studentId, reason);
+            close();
+            synchronized (this) {
+                if (sendingThread != null) {
+                    sendingThread.interrupt();
+                }
+            }
+            scheduleDrain();
+        }
+
+        void close() {
+            closed = true;
+            queue.clear();
+            subscribersByStudent.computeIfPresent(studentId, (id, current) -> {
+                current.remove(this);
+                return current.isEmpty() ? null : current;
+            });
+        }
+    }
+
+    private static final class SenderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "session-stream-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
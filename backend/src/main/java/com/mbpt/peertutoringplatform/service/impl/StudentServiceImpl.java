@@ -1,18 +1,33 @@
 package com.mbpt.peertutoringplatform.service.impl;
 
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.cache.StudentIdentityCache;
+import com.mbpt.peertutoringplatform.common.SortParameters;
+import com.mbpt.peertutoringplatform.dto.MentorRecommendationDTO;
+import com.mbpt.peertutoringplatform.dto.PageDTO;
 import com.mbpt.peertutoringplatform.dto.StudentDTO;
 import com.mbpt.peertutoringplatform.entity.StudentEntity;
 import com.mbpt.peertutoringplatform.exception.ResourceNotFoundException;
 import com.mbpt.peertutoringplatform.mapper.StudentEntityDTOMapper;
+import com.mbpt.peertutoringplatform.repository.SpecificationPager;
 import com.mbpt.peertutoringplatform.repository.StudentRepository;
+import com.mbpt.peertutoringplatform.repository.projection.StudentUpsertView;
+import com.mbpt.peertutoringplatform.repository.specification.StudentSpecifications;
+import com.mbpt.peertutoringplatform.service.MentorService;
 import com.mbpt.peertutoringplatform.service.StudentService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,13 +35,31 @@ import java.util.stream.Collectors;
 @Service
 public class StudentServiceImpl implements StudentService {
 
+    private static final Map<String, String> SORTABLE_FIELDS = Map.of(
+            "student_id", "studentId",
+            "last_name", "lastName",
+            "age", "age");
+
     @Value("${spring.datasource.url}")
     private String datasource;
 
     private final StudentRepository studentRepository;
 
-    public StudentServiceImpl(StudentRepository studentRepository) {
+    private final SpecificationPager specificationPager;
+
+    private final PageCountCache pageCountCache;
+
+    private final StudentIdentityCache studentIdentityCache;
+
+    private final MentorService mentorService;
+
+    public StudentServiceImpl(StudentRepository studentRepository, SpecificationPager specificationPager, PageCountCache pageCountCache,
+                              StudentIdentityCache studentIdentityCache, MentorService mentorService) {
         this.studentRepository = studentRepository;
+        this.specificationPager = specificationPager;
+        this.pageCountCache = pageCountCache;
+        this.studentIdentityCache = studentIdentityCache;
+        this.mentorService = mentorService;
     }
 
     @Override
@@ -41,26 +74,34 @@ public class StudentServiceImpl implements StudentService {
 
         log.debug("StudentDTO received: {}", studentDTO);
 
-        // First check if student already exists by clerk ID
+        // one round trip: inserts a new student or returns the existing one, without loading sessions
+        Optional<StudentUpsertView> student;
         try {
-            Optional<StudentEntity> existingStudent = studentRepository.findByClerkStudentId(studentDTO.getClerkStudentId());
-            if (existingStudent.isPresent()) {
-                log.info("Student already exists with clerk ID: {}", studentDTO.getClerkStudentId());
-                return StudentEntityDTOMapper.map(existingStudent.get());
-            }
-
-            final StudentEntity studentEntity = StudentEntityDTOMapper.map(studentDTO);
-            final StudentEntity savedEntity = studentRepository.save(studentEntity);
-            log.info("Student created with ID: {} at data-source: {}", savedEntity.getStudentId(), this.datasource);
-            return StudentEntityDTOMapper.map(savedEntity);
+            student = studentRepository.insertIfAbsent(studentDTO.getClerkStudentId(), studentDTO.getFirstName(),
+                    studentDTO.getLastName(), studentDTO.getEmail(), studentDTO.getPhoneNumber(), studentDTO.getAddress(),
+                    studentDTO.getAge());
         } catch (DataIntegrityViolationException e) {
+            // the clerk ID conflict is handled by the statement, so this is another student's email
             log.error("Data integrity violation while creating student: {}", e.getMessage());
-            // Retry finding the student in case it was created concurrently
-            return studentRepository.findByClerkStudentId(studentDTO.getClerkStudentId())
-                    .map(StudentEntityDTOMapper::map)
-                    .orElseThrow(() -> new ResourceNotFoundException("Failed to create student due to data integrity violation"));
+            throw new IllegalArgumentException("A student with email: " + studentDTO.getEmail() + " already exists.");
+        }
+        if (student.isEmpty()) {
+            // inserted by a concurrent first login that committed while this statement waited
+            student = studentRepository.findRowByClerkStudentId(studentDTO.getClerkStudentId());
         }
 
+        StudentUpsertView studentView = student.orElseThrow(() -> {
+            log.error("Failed to create student with clerk ID: {}", studentDTO.getClerkStudentId());
+            return new IllegalStateException("Failed to create student with clerk ID: " + studentDTO.getClerkStudentId());
+        });
+        if (Boolean.TRUE.equals(studentView.getCreated())) {
+            pageCountCache.invalidate(PageCountCache.STUDENTS);
+            log.info("Student created with ID: {} at data-source: {}", studentView.getStudentId(), this.datasource);
+        } else {
+            log.info("Student already exists with clerk ID: {}", studentDTO.getClerkStudentId());
+        }
+        studentIdentityCache.put(studentView);
+        return StudentEntityDTOMapper.map(studentView);
     }
 
     @Override
@@ -82,7 +123,7 @@ public class StudentServiceImpl implements StudentService {
     @Transactional(readOnly = true)
     public StudentDTO findStudentByClerkId(String clerkId) {
         log.info("Fetching student by Clerk ID: {} ...", clerkId);
-        return studentRepository.findByClerkStudentId(clerkId)
+        return studentIdentityCache.find(clerkId)
                 .map(student -> {
                     log.info("Student found: {}", student);
                     return StudentEntityDTOMapper.map(student);
@@ -93,4 +134,42 @@ public class StudentServiceImpl implements StudentService {
                 });
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageDTO<StudentDTO> getStudentsPage(int page, int size, List<String> sort, Integer minAge, Integer maxAge, String name, String email) {
+        log.info("Fetching page {} of students with size {} ...", page, size);
+
+        Sort sortOrder = SortParameters.parse(sort, SORTABLE_FIELDS, "studentId");
+
+        List<Specification<StudentEntity>> filters = new ArrayList<>();
+        if (minAge != null) filters.add(StudentSpecifications.ageAtLeast(minAge));
+        if (maxAge != null) filters.add(StudentSpecifications.ageAtMost(maxAge));
+        if (name != null && !name.isBlank()) filters.add(StudentSpecifications.nameContains(name.trim()));
+        if (email != null && !email.isBlank()) filters.add(StudentSpecifications.emailContains(email.trim()));
+        Specification<StudentEntity> filter = Specification.allOf(filters);
+
+        long total = pageCountCache.count(PageCountCache.STUDENTS,
+                Arrays.asList(minAge, maxAge, name, email).toString(),
+                () -> studentRepository.count(filter));
+
+        List<StudentDTO> studentDTOS = total <= (long) page * size ? List.of() : specificationPager
+                .findPage(StudentEntity.class, filter, PageRequest.of(page, size, sortOrder))
+                .stream()
+                .map(StudentEntityDTOMapper::map)
+                .toList();
+
+        log.info("Found {} of {} students from data-source: {}", studentDTOS.size(), total, this.datasource);
+        return PageDTO.of(studentDTOS, page, size, total);
+    }
+
+    @Override
+    public List<MentorRecommendationDTO> getRecommendedMentors(String clerkId, Integer limit) {
+        log.info("Fetching recommended mentors for student with Clerk ID: {} ...", clerkId);
+
+        Integer studentId = studentIdentityCache.findStudentId(clerkId).orElseThrow(() -> {
+            log.error("Student not found with Clerk ID: {} from data-source:{}", clerkId, this.datasource);
+            return new ResourceNotFoundException("Student not found with Clerk ID: " + clerkId);
+        });
+        return mentorService.getRecommendedMentors(studentId, limit);
+    }
 }
@@ -0,0 +1,53 @@
+-- Schema of the platform before it was managed by migrations. Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate), so this script only runs against an empty database.
+
+CREATE TABLE students
+(
+    student_id       integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    clerk_student_id varchar(255) NOT NULL UNIQUE,
+    first_name       varchar(255) NOT NULL,
+    last_name        varchar(255) NOT NULL,
+    email            varchar(255) NOT NULL UNIQUE,
+    phone_number     varchar(255) NOT NULL,
+    address          varchar(255) NOT NULL,
+    age              integer
+);
+
+CREATE TABLE mentors
+(
+    mentor_id        integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name       varchar(255)     NOT NULL,
+    last_name        varchar(255)     NOT NULL,
+    email            varchar(255)     NOT NULL UNIQUE,
+    address          varchar(255)     NOT NULL,
+    phone_number     varchar(255)     NOT NULL,
+    title            varchar(255)     NOT NULL,
+    session_fee      double precision NOT NULL,
+    profession       varchar(255)     NOT NULL,
+    subject          varchar(800)     NOT NULL,
+    qualification    varchar(255)     NOT NULL,
+    mentor_image     varchar(255)     NOT NULL,
+    is_certified     boolean          NOT NULL,
+    positive_reviews integer          NOT NULL
+);
+
+CREATE TABLE classrooms
+(
+    class_room_id          integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title                  varchar(255) NOT NULL,
+    enrolled_student_count integer      NOT NULL,
+    class_image            varchar(255) NOT NULL,
+    mentor_id              integer REFERENCES mentors (mentor_id)
+);
+
+CREATE TABLE sessions
+(
+    session_id     integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    class_room_id  integer                     NOT NULL REFERENCES classrooms (class_room_id),
+    mentor_id      integer                     NOT NULL REFERENCES mentors (mentor_id),
+    student_id     integer                     NOT NULL REFERENCES students (student_id),
+    topic          varchar(255)                NOT NULL,
+    start_time     timestamp(6) WITH TIME ZONE NOT NULL,
+    end_time       timestamp(6) WITH TIME ZONE NOT NULL,
+    session_status varchar(255)                NOT NULL
+);
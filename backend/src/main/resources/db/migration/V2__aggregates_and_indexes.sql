@@ -0,0 +1,68 @@
+-- Number of sessions per mentor and classroom, maintained with every booking (MentorClassSessionCountEntity).
+CREATE TABLE IF NOT EXISTS mentor_class_session_counts
+(
+    mentor_id     integer NOT NULL,
+    class_room_id integer NOT NULL,
+    session_count integer NOT NULL,
+    PRIMARY KEY (mentor_id, class_room_id)
+);
+
+INSERT INTO mentor_class_session_counts (mentor_id, class_room_id, session_count)
+SELECT mentor_id, class_room_id, COUNT(*)
+FROM sessions
+GROUP BY mentor_id, class_room_id
+ON CONFLICT (mentor_id, class_room_id) DO UPDATE SET session_count = EXCLUDED.session_count;
+
+-- Hourly and daily session activity per mentor and classroom (SessionRollupEntity). The primary key is the
+-- conflict target of the upserts and also serves the range scans by granularity and bucket start.
+CREATE TABLE IF NOT EXISTS session_rollups
+(
+    granularity     varchar(8)                  NOT NULL,
+    bucket_start    timestamp(6) WITH TIME ZONE NOT NULL,
+    mentor_id       integer                     NOT NULL,
+    class_room_id   integer                     NOT NULL,
+    created_count   integer                     NOT NULL,
+    accepted_count  integer                     NOT NULL,
+    completed_count integer                     NOT NULL,
+    revenue         double precision            NOT NULL,
+    PRIMARY KEY (granularity, bucket_start, mentor_id, class_room_id)
+);
+
+-- existing sessions are counted in the buckets of their start times, under their current status
+INSERT INTO session_rollups (granularity, bucket_start, mentor_id, class_room_id,
+                             created_count, accepted_count, completed_count, revenue)
+SELECT g.granularity, date_trunc(g.unit, s.start_time AT TIME ZONE 'UTC') AT TIME ZONE 'UTC',
+       s.mentor_id, s.class_room_id, COUNT(*),
+       COUNT(*) FILTER (WHERE s.session_status IN ('ACCEPTED', 'COMPLETED')),
+       COUNT(*) FILTER (WHERE s.session_status = 'COMPLETED'),
+       COUNT(*) FILTER (WHERE s.session_status = 'COMPLETED') * m.session_fee
+FROM sessions s
+JOIN mentors m ON m.mentor_id = s.mentor_id
+CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g (granularity, unit)
+GROUP BY 1, 2, 3, 4, m.session_fee
+ON CONFLICT (granularity, bucket_start, mentor_id, class_room_id) DO NOTHING;
+
+-- Periodic snapshot of the time-decayed booking scores of the trending classrooms (ClassRoomTrendingScoreEntity).
+CREATE TABLE IF NOT EXISTS classroom_trending_scores
+(
+    class_room_id integer                     NOT NULL PRIMARY KEY,
+    score         double precision            NOT NULL,
+    scored_at     timestamp(6) WITH TIME ZONE NOT NULL
+);
+
+-- Sessions of a student by start time (SessionRepository.findAllByStudentId).
+CREATE INDEX IF NOT EXISTS idx_sessions_student_start_time ON sessions (student_id, start_time);
+
+-- Keyset pages of all sessions (SessionRepository.findFirstPage and findPageAfter).
+CREATE INDEX IF NOT EXISTS idx_sessions_start_time_id ON sessions (start_time, session_id);
+
+-- Sorting and filtering of the paged admin lists (ClassRoomSpecifications, MentorSpecifications, StudentSpecifications).
+CREATE INDEX IF NOT EXISTS idx_classrooms_mentor_id ON classrooms (mentor_id);
+CREATE INDEX IF NOT EXISTS idx_classrooms_title ON classrooms (title);
+CREATE INDEX IF NOT EXISTS idx_classrooms_enrolled_student_count ON classrooms (enrolled_student_count);
+CREATE INDEX IF NOT EXISTS idx_mentors_is_certified_session_fee ON mentors (is_certified, session_fee);
+CREATE INDEX IF NOT EXISTS idx_mentors_session_fee ON mentors (session_fee);
+CREATE INDEX IF NOT EXISTS idx_mentors_last_name ON mentors (last_name);
+CREATE INDEX IF NOT EXISTS idx_mentors_positive_reviews ON mentors (positive_reviews);
+CREATE INDEX IF NOT EXISTS idx_students_age ON students (age);
+CREATE INDEX IF NOT EXISTS idx_students_last_name ON students (last_name);
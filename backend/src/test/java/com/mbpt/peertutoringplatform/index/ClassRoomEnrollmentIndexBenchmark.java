@@ -0,0 +1,136 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the throughput of recording bookings of one hot classroom from 8 threads, through
+ * {@link ClassRoomEnrollmentIndex} and, for comparison, through a per-booking {@code UPDATE} of the
+ * classroom row, which serializes all bookings of the classroom on its row lock. The row update runs
+ * on an in-memory H2 database, not PostgreSQL, so it is a lower bound of what the row lock costs
+ * there. Run with {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.mbpt.peertutoringplatform.index.ClassRoomEnrollmentIndexBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ClassRoomEnrollmentIndexBenchmark {
+
+    private static final int CLASS_ROOM_ID = 1;
+
+    private static final int STUDENTS = 1_000_000;
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:enrollment_benchmark;DB_CLOSE_DELAY=-1";
+
+    private ClassRoomEnrollmentIndex enrollmentIndex;
+
+    private Connection schemaConnection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        enrollmentIndex = new ClassRoomEnrollmentIndex(mock(ClassRoomRepository.class), mock(LiteSessionRepository.class),
+                mock(ApplicationEventPublisher.class));
+        schemaConnection = dataSource().getConnection();
+        try (Statement statement = schemaConnection.createStatement()) {
+            statement.execute("CREATE TABLE classrooms (class_room_id integer PRIMARY KEY, enrolled_student_count integer NOT NULL)");
+            statement.execute("INSERT INTO classrooms VALUES (" + CLASS_ROOM_ID + ", 0)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = schemaConnection.createStatement()) {
+            statement.execute("DROP TABLE classrooms");
+        }
+        schemaConnection.close();
+    }
+
+    @Benchmark
+    public void enrollmentIndex() {
+        int studentId = ThreadLocalRandom.current().nextInt(STUDENTS);
+        Instant startTime = Instant.now();
+        enrollmentIndex.onSessionChanged(new SessionChangedEvent(List.of(new SessionChangedEvent.SessionChange(1, studentId,
+                1, CLASS_ROOM_ID, startTime, startTime.plus(Duration.ofHours(1)), null, Constants.SessionStatus.PENDING))));
+    }
+
+    @Benchmark
+    public int rowUpdate(RowUpdateConnection connection) throws SQLException {
+        int updated = connection.increment.executeUpdate();
+        connection.connection.commit();
+        return updated;
+    }
+
+    /**
+     * A connection per thread, like a booking request holding a pooled connection for its transaction.
+     */
+    @State(Scope.Thread)
+    public static class RowUpdateConnection {
+
+        private Connection connection;
+
+        private PreparedStatement increment;
+
+        // takes the benchmark state, so that the table exists before the statement is prepared
+        @Setup(Level.Trial)
+        public void setUp(ClassRoomEnrollmentIndexBenchmark benchmark) throws SQLException {
+            connection = dataSource().getConnection();
+            connection.setAutoCommit(false);
+            increment = connection.prepareStatement(
+                    "UPDATE classrooms SET enrolled_student_count = enrolled_student_count + 1 WHERE class_room_id = " + CLASS_ROOM_ID);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            increment.close();
+            connection.close();
+        }
+    }
+
+    private static JdbcDataSource dataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(DATABASE_URL);
+        return dataSource;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ClassRoomEnrollmentIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
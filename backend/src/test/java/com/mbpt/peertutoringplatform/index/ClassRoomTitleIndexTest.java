@@ -0,0 +1,130 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.dto.ClassRoomSuggestionDTO;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.projection.ClassRoomTitleView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the typeahead suggestions: every query word has to prefix a title word, matches are ranked
+ * by a leading match, whole words and length, and put and remove replace the suggestions.
+ */
+class ClassRoomTitleIndexTest {
+
+    @Test
+    void everyQueryWordMustPrefixAWordOfTheTitle() {
+        ClassRoomTitleIndex index = newIndex(Map.of(
+                1, "Intro to Java Programming",
+                2, "Java Concurrency",
+                3, "Python Programming",
+                4, "Advanced Java"));
+
+        assertThat(classRoomIds(index.suggest("jav prog", 10))).containsExactly(1);
+        assertThat(classRoomIds(index.suggest("prog", 10))).containsExactlyInAnyOrder(1, 3);
+        assertThat(classRoomIds(index.suggest("PROG   intro!", 10))).containsExactly(1);
+        assertThat(index.suggest("java ruby", 10)).isEmpty();
+        assertThat(index.suggest(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    void accentsAndCaseAreIgnored() {
+        ClassRoomTitleIndex index = newIndex(Map.of(1, "Café Français", 2, "Cafeteria Management"));
+
+        assertThat(index.suggest("CAFE fra", 10)).containsExactly(new ClassRoomSuggestionDTO(1, "Café Français"));
+        assertThat(classRoomIds(index.suggest("caf", 10))).containsExactly(1, 2);
+    }
+
+    @Test
+    void leadingMatchesRankFirstThenWholeWordsThenShorterTitles() {
+        ClassRoomTitleIndex index = newIndex(Map.of(
+                1, "Intro to Java Programming",
+                2, "Java Concurrency",
+                3, "Javascript Basics",
+                4, "Advanced Java",
+                5, "Java",
+                6, "Applied Javanese"));
+
+        assertThat(classRoomIds(index.suggest("java", 10))).containsExactly(5, 2, 3, 4, 1, 6);
+        assertThat(classRoomIds(index.suggest("java", 3))).containsExactly(5, 2, 3);
+    }
+
+    @Test
+    void suggestionsMatchAScanOfAllTitles() {
+        String[] vocabulary = {"data", "database", "design", "java", "javascript", "math", "mathematics", "machine", "learning", "lean"};
+        Random random = new Random(3);
+        Map<Integer, String> titles = new TreeMap<>();
+        for (int classRoomId = 1; classRoomId <= 500; classRoomId++) {
+            List<String> words = new ArrayList<>();
+            for (int i = 0, count = 1 + random.nextInt(4); i < count; i++) {
+                words.add(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            titles.put(classRoomId, String.join(" ", words));
+        }
+        ClassRoomTitleIndex index = newIndex(titles);
+
+        for (String query : List.of("d", "da", "java", "ma le", "lea ja d", "mathematics data", "learning learning", "x")) {
+            Set<Integer> expected = titles.entrySet().stream()
+                    .filter(title -> Arrays.stream(query.split(" ")).allMatch(queryWord ->
+                            Arrays.stream(title.getValue().split(" ")).anyMatch(word -> word.startsWith(queryWord))))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toSet());
+            assertThat(classRoomIds(index.suggest(query, titles.size()))).as("suggestions for %s", query)
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void putAndRemoveReplaceTheSuggestions() {
+        ClassRoomTitleIndex index = newIndex(Map.of(1, "Java Basics", 2, "Python Basics"));
+
+        index.put(1, "Kotlin Basics");
+        index.put(3, "Java Streams");
+        index.remove(2);
+
+        assertThat(classRoomIds(index.suggest("basics", 10))).containsExactly(1);
+        assertThat(classRoomIds(index.suggest("java", 10))).containsExactly(3);
+        assertThat(index.findTitle(1)).isEqualTo("Kotlin Basics");
+        assertThat(index.findTitle(2)).isNull();
+    }
+
+    private static ClassRoomTitleIndex newIndex(Map<Integer, String> titles) {
+        ClassRoomRepository classRoomRepository = mock(ClassRoomRepository.class);
+        List<ClassRoomTitleView> views = new ArrayList<>();
+        titles.forEach((classRoomId, title) -> views.add(view(classRoomId, title)));
+        when(classRoomRepository.findAllTitles()).thenReturn(views);
+        ClassRoomTitleIndex index = new ClassRoomTitleIndex(classRoomRepository);
+        index.load();
+        return index;
+    }
+
+    private static List<Integer> classRoomIds(List<ClassRoomSuggestionDTO> suggestions) {
+        return suggestions.stream().map(ClassRoomSuggestionDTO::getClassRoomId).toList();
+    }
+
+    private static ClassRoomTitleView view(Integer classRoomId, String title) {
+        return new ClassRoomTitleView() {
+            @Override
+            public Integer getClassRoomId() {
+                return classRoomId;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.mbpt.peertutoringplatform.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the open-addressing map against a {@link HashMap} through collisions and resizes.
+ */
+class IntIntMapTest {
+
+    @Test
+    void absentKeysMapToZero() {
+        IntIntMap map = new IntIntMap();
+        map.increment(7, 3);
+
+        assertThat(map.get(7)).isEqualTo(3);
+        assertThat(map.get(8)).isZero();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void keysProbingPastEachOtherKeepTheirValuesAcrossResizes() {
+        IntIntMap map = new IntIntMap();
+        // keys sharing their low bits, which only the hash spreads; at a load factor of 0.6 many still share
+        // a home slot, so lookups have to probe past other keys
+        for (int i = 1; i <= 1_000; i++) {
+            map.increment(i * 1024, i);
+        }
+        for (int i = 1; i <= 1_000; i++) {
+            map.increment(i * 1024, 1);
+        }
+
+        assertThat(map.size()).isEqualTo(1_000);
+        for (int i = 1; i <= 1_000; i++) {
+            assertThat(map.get(i * 1024)).as("value of key %d", i * 1024).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomIncrements() {
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = 1 + random.nextInt(5_000);
+            int delta = random.nextInt(5) - 1;
+            map.increment(key, delta);
+            expected.merge(key, delta, Integer::sum);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertThat(actual).isEqualTo(expected);
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    }
+}
@@ -0,0 +1,99 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.TimeSlotDTO;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import com.mbpt.peertutoringplatform.repository.MentorRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures a 90-day availability query of {@link MentorAvailabilityIndex#findFreeSlots} for a mentor
+ * with a given number of one-hour sessions per day, at the finest granularity (one 15-minute slot) and
+ * at one hour. Run with {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.mbpt.peertutoringplatform.index.MentorAvailabilityIndexBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MentorAvailabilityIndexBenchmark {
+
+    private static final int MENTOR_ID = 1;
+
+    private static final int DAYS = 90;
+
+    @Param({"0", "4", "16"})
+    private int sessionsPerDay;
+
+    @Param({"1", "4"})
+    private int granularitySlots;
+
+    private MentorAvailabilityIndex availabilityIndex;
+
+    private Instant from;
+
+    private Instant to;
+
+    @Setup
+    public void setUp() {
+        availabilityIndex = new MentorAvailabilityIndex(mock(LiteSessionRepository.class), mock(MentorRepository.class),
+                new SessionIntervalIndex(mock(LiteSessionRepository.class)));
+        from = Instant.now().truncatedTo(ChronoUnit.DAYS).plus(Duration.ofDays(1));
+        to = from.plus(Duration.ofDays(DAYS));
+
+        // sessions at random quarter hours, so that free runs of every length are merged
+        List<SessionChangedEvent.SessionChange> changes = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int day = 0; day < DAYS; day++) {
+            for (int i = 0; i < sessionsPerDay; i++) {
+                Instant startTime = from.plus(Duration.ofDays(day)).plus(Duration.ofMinutes(15L * random.nextInt(92)));
+                changes.add(new SessionChangedEvent.SessionChange(changes.size() + 1, 1, MENTOR_ID, 1, startTime,
+                        startTime.plus(Duration.ofHours(1)), null, Constants.SessionStatus.PENDING));
+            }
+        }
+        // the index is created for a mentor on its first session, an empty mentor still needs one outside the range
+        if (changes.isEmpty()) {
+            Instant startTime = from.minus(Duration.ofDays(1));
+            changes.add(new SessionChangedEvent.SessionChange(1, 1, MENTOR_ID, 1, startTime,
+                    startTime.plus(Duration.ofHours(1)), null, Constants.SessionStatus.PENDING));
+        }
+        availabilityIndex.onSessionChanged(new SessionChangedEvent(changes));
+    }
+
+    @Benchmark
+    public List<TimeSlotDTO> findFreeSlots() {
+        return availabilityIndex.findFreeSlots(MENTOR_ID, from, to, granularitySlots);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MentorAvailabilityIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,122 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.TimeSlotDTO;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import com.mbpt.peertutoringplatform.repository.MentorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks that rebuilding the occupancy of a mentor neither loses a committed booking whose event is
+ * being handled nor keeps a reservation that is rolled back.
+ */
+class MentorAvailabilityIndexTest {
+
+    private static final int MENTOR_ID = 1;
+
+    private final Instant start = Instant.now().truncatedTo(ChronoUnit.DAYS).plus(Duration.ofDays(2)).plus(Duration.ofHours(9));
+
+    private final Instant end = start.plus(Duration.ofHours(1));
+
+    private final SessionIntervalIndex sessionIntervalIndex = new SessionIntervalIndex(mock(LiteSessionRepository.class));
+
+    private final MentorAvailabilityIndex availabilityIndex = new MentorAvailabilityIndex(mock(LiteSessionRepository.class),
+            mock(MentorRepository.class), sessionIntervalIndex);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuildBetweenCommitAndEventKeepsTheBooking() {
+        TransactionSynchronizationManager.initSynchronization();
+        SessionIntervalIndex.Booking booking = sessionIntervalIndex.reserve(MENTOR_ID, 1, 1, start, end);
+        booking.confirm(10);
+        // the session event is published after the reservation and handled after commit, like the
+        // transactional event listener; a classroom delete rebuilds the mentor just before it is handled
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runInOtherThread(() -> availabilityIndex.rebuildMentor(MENTOR_ID));
+                availabilityIndex.onSessionChanged(creation(booking));
+            }
+        });
+
+        complete(true);
+
+        assertThat(booking.isCommitted()).isTrue();
+        assertThat(isFree()).as("slot of the committed booking").isFalse();
+
+        runInOtherThread(() -> availabilityIndex.rebuildMentor(MENTOR_ID));
+        assertThat(isFree()).as("slot of the committed booking after another rebuild").isFalse();
+    }
+
+    @Test
+    void rebuildSkipsReservationsThatRollBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        SessionIntervalIndex.Booking booking = sessionIntervalIndex.reserve(MENTOR_ID, 1, 1, start, end);
+        booking.confirm(10);
+
+        runInOtherThread(() -> availabilityIndex.rebuildMentor(MENTOR_ID));
+        assertThat(isFree()).as("slot of a booking still in flight").isTrue();
+
+        complete(false);
+
+        assertThat(booking.isCommitted()).isFalse();
+        assertThat(sessionIntervalIndex.findMentorBookings(MENTOR_ID, start, end)).isEmpty();
+        runInOtherThread(() -> availabilityIndex.rebuildMentor(MENTOR_ID));
+        assertThat(isFree()).as("slot of the rolled back booking").isTrue();
+    }
+
+    private boolean isFree() {
+        List<TimeSlotDTO> free = availabilityIndex.findFreeSlots(MENTOR_ID, start, end, 4);
+        return !free.isEmpty();
+    }
+
+    private static SessionChangedEvent creation(SessionIntervalIndex.Booking booking) {
+        return new SessionChangedEvent(List.of(new SessionChangedEvent.SessionChange(booking.getSessionId(),
+                booking.getStudentId(), booking.getMentorId(), booking.getClassRoomId(), booking.getStartTime(),
+                booking.getEndTime(), null, Constants.SessionStatus.PENDING)));
+    }
+
+    /**
+     * Completes the transaction of this thread like the transaction manager does.
+     */
+    private static void complete(boolean commit) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (commit) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, commit
+                ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    // outside of this thread's transaction, like a concurrent request
+    private static void runInOtherThread(Runnable action) {
+        Thread thread = new Thread(action);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import com.mbpt.peertutoringplatform.repository.projection.MentorStudentIdView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Feeds the recommendation index from an in-memory session table and checks the incremental runs
+ * against a rebuild from all sessions: in steps, with sessions committing out of order below the
+ * watermark, and with a bulk import far below it.
+ */
+class MentorRecommendationIndexTest {
+
+    private static final int MENTORS = 60;
+
+    private static final int STUDENTS = 400;
+
+    @Test
+    void incrementalRunsMatchARebuild() {
+        SessionTable sessions = new SessionTable();
+        MentorRecommendationIndex incremental = sessions.newIndex();
+        Random random = new Random(7);
+        for (int run = 0; run < 10; run++) {
+            for (int i = 0; i < 500; i++) {
+                sessions.commit(1 + random.nextInt(MENTORS), 1 + random.nextInt(STUDENTS));
+            }
+            incremental.refresh();
+        }
+
+        assertSameRecommendations(incremental, sessions.rebuild());
+    }
+
+    @Test
+    void sessionsCommittingBelowTheWatermarkAreReadWithinTheOverlap() {
+        SessionTable sessions = new SessionTable();
+        MentorRecommendationIndex incremental = sessions.newIndex();
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            sessions.commit(1 + random.nextInt(MENTORS), 1 + random.nextInt(STUDENTS));
+        }
+        // numbered before the last sessions but still in flight when the job runs
+        int late = sessions.reserve(1, 1);
+        for (int i = 0; i < 500; i++) {
+            sessions.commit(1 + random.nextInt(MENTORS), 1 + random.nextInt(STUDENTS));
+        }
+        incremental.refresh();
+
+        sessions.commitReserved(late);
+        sessions.commit(2, 1);
+        incremental.refresh();
+
+        assertSameRecommendations(incremental, sessions.rebuild());
+    }
+
+    @Test
+    void importedRangesFarBelowTheWatermarkAreReadOnRequest() {
+        SessionTable sessions = new SessionTable();
+        MentorRecommendationIndex incremental = sessions.newIndex();
+        Random random = new Random(13);
+        // an import takes its IDs first, then 5k sessions are booked and read before it commits
+        int[] imported = new int[300];
+        for (int i = 0; i < imported.length; i++) {
+            imported[i] = sessions.reserve(1 + random.nextInt(MENTORS), 1 + random.nextInt(STUDENTS));
+        }
+        for (int i = 0; i < 5_000; i++) {
+            sessions.commit(1 + random.nextInt(MENTORS), 1 + random.nextInt(STUDENTS));
+        }
+        incremental.refresh();
+
+        for (int sessionId : imported) {
+            sessions.commitReserved(sessionId);
+        }
+        incremental.refresh();
+        MentorRecommendationIndex rebuilt = sessions.rebuild();
+        assertThat(IntStream.rangeClosed(1, MENTORS)
+                .anyMatch(mentorId -> !rebuilt.findRelatedMentors(mentorId).equals(incremental.findRelatedMentors(mentorId))))
+                .as("the import is below the overlap and missed without a rescan").isTrue();
+
+        incremental.rescanSessions(imported[0], imported[imported.length - 1]);
+        incremental.refresh();
+
+        assertSameRecommendations(incremental, sessions.rebuild());
+    }
+
+    @Test
+    void onlyTheTouchedMentorAndItsNeighboursAreRecomputed() {
+        SessionTable sessions = new SessionTable();
+        // mentors 1 to 3 share students, mentors 10 and 11 share students with each other only
+        for (int studentId = 1; studentId <= 5; studentId++) {
+            sessions.commit(1, studentId);
+            sessions.commit(2, studentId);
+            sessions.commit(3, studentId + 2);
+            sessions.commit(10, studentId + 100);
+            sessions.commit(11, studentId + 100);
+        }
+        MentorRecommendationIndex incremental = sessions.newIndex();
+        incremental.refresh();
+        List<MentorRecommendationIndex.RelatedMentor> unrelatedBefore = incremental.findRelatedMentors(10);
+        List<MentorRecommendationIndex.RelatedMentor> neighbourBefore = incremental.findRelatedMentors(2);
+
+        // a new student of mentor 1 lowers its similarity to mentors 2 and 3
+        sessions.commit(1, 50);
+        incremental.refresh();
+
+        assertThat(incremental.findRelatedMentors(10)).as("list of an unrelated mentor").isSameAs(unrelatedBefore);
+        assertThat(incremental.findRelatedMentors(2)).as("list of a neighbour").isNotEqualTo(neighbourBefore);
+        assertSameRecommendations(incremental, sessions.rebuild());
+    }
+
+    private static void assertSameRecommendations(MentorRecommendationIndex actual, MentorRecommendationIndex expected) {
+        for (int mentorId = 1; mentorId <= MENTORS; mentorId++) {
+            assertSameScores(actual.findRelatedMentors(mentorId), expected.findRelatedMentors(mentorId), "related mentors of " + mentorId);
+        }
+        for (int studentId = 1; studentId <= STUDENTS; studentId++) {
+            assertSameScores(actual.recommendMentors(studentId, 10), expected.recommendMentors(studentId, 10), "recommendations of " + studentId);
+        }
+    }
+
+    private static void assertSameScores(List<MentorRecommendationIndex.RelatedMentor> actual,
+                                         List<MentorRecommendationIndex.RelatedMentor> expected, String description) {
+        assertThat(actual).as(description).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).mentorId()).as(description).isEqualTo(expected.get(i).mentorId());
+            assertThat(actual.get(i).score()).as(description).isCloseTo(expected.get(i).score(), within(1e-9));
+        }
+    }
+
+    /**
+     * Sessions numbered on insert that become visible when committed, like rows of the sessions table.
+     */
+    private static final class SessionTable {
+
+        private final TreeMap<Integer, int[]> committed = new TreeMap<>();
+
+        private final TreeMap<Integer, int[]> inFlight = new TreeMap<>();
+
+        private int nextSessionId = 1;
+
+        void commit(int mentorId, int studentId) {
+            committed.put(nextSessionId++, new int[]{mentorId, studentId});
+        }
+
+        int reserve(int mentorId, int studentId) {
+            inFlight.put(nextSessionId, new int[]{mentorId, studentId});
+            return nextSessionId++;
+        }
+
+        void commitReserved(int sessionId) {
+            committed.put(sessionId, inFlight.remove(sessionId));
+        }
+
+        MentorRecommendationIndex newIndex() {
+            LiteSessionRepository repository = mock(LiteSessionRepository.class);
+            // in-flight sessions are invisible, like uncommitted rows
+            when(repository.findMaxSessionId()).thenAnswer(invocation -> committed.isEmpty()
+                    ? Optional.empty() : Optional.of(committed.lastKey()));
+            when(repository.findDistinctMentorStudentIds(anyInt(), anyInt())).thenAnswer(invocation -> {
+                Set<List<Integer>> pairs = new LinkedHashSet<>();
+                committed.subMap(invocation.<Integer>getArgument(0), false, invocation.<Integer>getArgument(1), true)
+                        .values().forEach(pair -> pairs.add(List.of(pair[0], pair[1])));
+                List<MentorStudentIdView> views = new ArrayList<>();
+                pairs.forEach(pair -> views.add(view(pair.get(0), pair.get(1))));
+                return views;
+            });
+            return new MentorRecommendationIndex(repository);
+        }
+
+        /**
+         * Builds an index from all committed sessions in one run.
+         */
+        MentorRecommendationIndex rebuild() {
+            MentorRecommendationIndex index = newIndex();
+            index.refresh();
+            return index;
+        }
+
+        private static MentorStudentIdView view(int mentorId, int studentId) {
+            return new MentorStudentIdView() {
+                @Override
+                public Integer getMentorId() {
+                    return mentorId;
+                }
+
+                @Override
+                public Integer getStudentId() {
+                    return studentId;
+                }
+            };
+        }
+    }
+}
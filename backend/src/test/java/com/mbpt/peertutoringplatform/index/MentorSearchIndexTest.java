@@ -0,0 +1,244 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.MentorDTO;
+import com.mbpt.peertutoringplatform.dto.MentorSearchFacetsDTO;
+import com.mbpt.peertutoringplatform.dto.MentorSearchResultDTO;
+import com.mbpt.peertutoringplatform.entity.ClassRoomEntity;
+import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.MentorRepository;
+import com.mbpt.peertutoringplatform.repository.projection.MentorClassRoomIdView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the faceted mentor search: the matches are the mentors passing every filter, and each facet
+ * is counted over the mentors passing every filter except its own. The larger case is compared with a
+ * scan of all mentors.
+ */
+class MentorSearchIndexTest {
+
+    private final MentorTable mentorTable = new MentorTable();
+
+    @Test
+    void eachFacetIsCountedWithoutItsOwnFilter() {
+        mentorTable.put(1, true, Constants.Title.DR, 50.0, 90, 10);
+        mentorTable.put(2, true, Constants.Title.MR, 30.0, 70, 10, 11);
+        mentorTable.put(3, false, Constants.Title.DR, 80.0, 95, 11);
+        mentorTable.put(4, false, Constants.Title.MS, 20.0, 60);
+        mentorTable.put(5, true, Constants.Title.DR, 120.0, 85, 12);
+        MentorSearchIndex index = mentorTable.newIndex();
+
+        MentorSearchResultDTO result = index.search(true, Constants.Title.DR, null, null, null, null, 0, 10);
+
+        assertThat(mentorIds(result)).containsExactly(1, 5);
+        MentorSearchFacetsDTO facets = result.getFacets();
+        // certified and uncertified doctors
+        assertThat(facets.getIsCertified()).containsExactly(entry(true, 2), entry(false, 1));
+        // titles of the certified mentors
+        assertThat(facets.getTitle()).containsEntry(Constants.Title.DR, 2).containsEntry(Constants.Title.MR, 1)
+                .containsEntry(Constants.Title.MS, 0);
+        assertThat(facets.getClassRooms()).containsExactly(entry(10, 1), entry(12, 1));
+        assertThat(facets.getMinSessionFee()).isEqualTo(50.0);
+        assertThat(facets.getMaxSessionFee()).isEqualTo(120.0);
+
+        result = index.search(null, null, 40.0, 100.0, null, 11, 0, 10);
+
+        assertThat(mentorIds(result)).containsExactly(3);
+        // the fee range of all mentors of classroom 11, and the classrooms of all mentors within the fee range
+        assertThat(result.getFacets().getMinSessionFee()).isEqualTo(30.0);
+        assertThat(result.getFacets().getMaxSessionFee()).isEqualTo(80.0);
+        assertThat(result.getFacets().getClassRooms()).containsExactly(entry(10, 1), entry(11, 1));
+    }
+
+    @Test
+    void searchesMatchAScanOfAllMentors() {
+        Random random = new Random(29);
+        Constants.Title[] titles = Constants.Title.values();
+        for (int mentorId = 1; mentorId <= 300; mentorId++) {
+            int[] classRoomIds = random.ints(random.nextInt(3), 1, 40).distinct().toArray();
+            mentorTable.put(mentorId, random.nextBoolean(), titles[random.nextInt(titles.length)],
+                    (double) (10 + random.nextInt(20) * 5), random.nextInt(101), classRoomIds);
+        }
+        MentorSearchIndex index = mentorTable.newIndex();
+
+        for (int i = 0; i < 200; i++) {
+            Double minFee = random.nextInt(3) == 0 ? (double) (10 + random.nextInt(100)) : null;
+            assertSameAsScan(index, new Query(
+                    random.nextInt(3) == 0 ? random.nextBoolean() : null,
+                    random.nextInt(3) == 0 ? titles[random.nextInt(titles.length)] : null,
+                    minFee,
+                    random.nextInt(3) == 0 ? (minFee == null ? 10 : minFee) + random.nextInt(60) : null,
+                    random.nextInt(3) == 0 ? random.nextInt(101) : null,
+                    random.nextInt(3) == 0 ? 1 + random.nextInt(40) : null));
+        }
+    }
+
+    @Test
+    void refreshedMentorsMoveBetweenFacetValues() {
+        mentorTable.put(1, true, Constants.Title.DR, 50.0, 90, 10);
+        mentorTable.put(2, false, Constants.Title.MR, 30.0, 70, 10);
+        MentorSearchIndex index = mentorTable.newIndex();
+
+        mentorTable.put(1, false, Constants.Title.PROF, 60.0, 90, 11);
+        mentorTable.remove(2);
+        index.refreshMentors(List.of(1, 2));
+
+        MentorSearchResultDTO result = index.search(null, null, null, null, null, null, 0, 10);
+        assertThat(mentorIds(result)).containsExactly(1);
+        assertThat(result.getFacets().getIsCertified()).containsExactly(entry(true, 0), entry(false, 1));
+        assertThat(result.getFacets().getTitle()).containsEntry(Constants.Title.PROF, 1).containsEntry(Constants.Title.DR, 0)
+                .containsEntry(Constants.Title.MR, 0);
+        assertThat(result.getFacets().getClassRooms()).containsExactly(entry(11, 1));
+        assertThat(result.getFacets().getMinSessionFee()).isEqualTo(60.0);
+    }
+
+    private void assertSameAsScan(MentorSearchIndex index, Query query) {
+        MentorSearchResultDTO result = index.search(query.isCertified, query.title, query.minFee, query.maxFee,
+                query.minPositiveReviews, query.classRoomId, 0, 1_000);
+        MentorSearchFacetsDTO facets = result.getFacets();
+
+        assertThat(mentorIds(result)).as("matches of %s", query)
+                .containsExactlyElementsOf(mentorTable.scan(query.all()).stream().map(MentorEntity::getMentorId).toList());
+
+        List<MentorEntity> withoutCertified = mentorTable.scan(query.allBut(Filter.CERTIFIED));
+        long certified = withoutCertified.stream().filter(MentorEntity::getIsCertified).count();
+        assertThat(facets.getIsCertified()).as("certified facet of %s", query)
+                .containsExactly(entry(true, (int) certified), entry(false, withoutCertified.size() - (int) certified));
+
+        Map<Constants.Title, Integer> titleFacet = new EnumMap<>(Constants.Title.class);
+        for (Constants.Title title : Constants.Title.values()) {
+            titleFacet.put(title, 0);
+        }
+        mentorTable.scan(query.allBut(Filter.TITLE)).forEach(mentor -> titleFacet.merge(mentor.getTitle(), 1, Integer::sum));
+        assertThat(facets.getTitle()).as("title facet of %s", query).isEqualTo(titleFacet);
+
+        Map<Integer, Integer> classRoomFacet = new TreeMap<>();
+        mentorTable.scan(query.allBut(Filter.CLASSROOM)).forEach(mentor ->
+                mentorTable.classRoomIdsOf(mentor.getMentorId()).forEach(classRoomId -> classRoomFacet.merge(classRoomId, 1, Integer::sum)));
+        assertThat(facets.getClassRooms()).as("classroom facet of %s", query).isEqualTo(classRoomFacet);
+
+        List<Double> fees = mentorTable.scan(query.allBut(Filter.FEE)).stream().map(MentorEntity::getSessionFee).sorted().toList();
+        assertThat(facets.getMinSessionFee()).as("lowest fee of %s", query).isEqualTo(fees.isEmpty() ? null : fees.get(0));
+        assertThat(facets.getMaxSessionFee()).as("highest fee of %s", query).isEqualTo(fees.isEmpty() ? null : fees.get(fees.size() - 1));
+    }
+
+    private static List<Integer> mentorIds(MentorSearchResultDTO result) {
+        return result.getMentors().getContent().stream().map(MentorDTO::getMentorId).toList();
+    }
+
+    private enum Filter {
+        CERTIFIED, TITLE, FEE, REVIEWS, CLASSROOM
+    }
+
+    private record Query(Boolean isCertified, Constants.Title title, Double minFee, Double maxFee,
+                         Integer minPositiveReviews, Integer classRoomId) {
+
+        Predicate<MentorEntity> all() {
+            return allBut(null);
+        }
+
+        Predicate<MentorEntity> allBut(Filter excluded) {
+            return mentor -> Arrays.stream(Filter.values()).filter(filter -> filter != excluded).allMatch(filter -> matches(mentor, filter));
+        }
+
+        private boolean matches(MentorEntity mentor, Filter filter) {
+            return switch (filter) {
+                case CERTIFIED -> isCertified == null || isCertified.equals(mentor.getIsCertified());
+                case TITLE -> title == null || title == mentor.getTitle();
+                case FEE -> (minFee == null || mentor.getSessionFee() >= minFee) && (maxFee == null || mentor.getSessionFee() <= maxFee);
+                case REVIEWS -> minPositiveReviews == null || mentor.getPositiveReviews() >= minPositiveReviews;
+                case CLASSROOM -> classRoomId == null || mentor.getClassRoomEntityList().stream()
+                        .anyMatch(classRoom -> classRoomId.equals(classRoom.getClassRoomId()));
+            };
+        }
+    }
+
+    /**
+     * Mentors with their classrooms, answering the repository calls of the index.
+     */
+    private static final class MentorTable {
+
+        private final Map<Integer, MentorEntity> mentors = new TreeMap<>();
+
+        void put(int mentorId, boolean isCertified, Constants.Title title, double sessionFee, int positiveReviews, int... classRoomIds) {
+            MentorEntity mentor = new MentorEntity();
+            mentor.setMentorId(mentorId);
+            mentor.setFirstName("Mentor");
+            mentor.setLastName("No" + mentorId);
+            mentor.setIsCertified(isCertified);
+            mentor.setTitle(title);
+            mentor.setSessionFee(sessionFee);
+            mentor.setPositiveReviews(positiveReviews);
+            for (int classRoomId : classRoomIds) {
+                ClassRoomEntity classRoom = new ClassRoomEntity();
+                classRoom.setClassRoomId(classRoomId);
+                mentor.getClassRoomEntityList().add(classRoom);
+            }
+            mentors.put(mentorId, mentor);
+        }
+
+        void remove(int mentorId) {
+            mentors.remove(mentorId);
+        }
+
+        List<Integer> classRoomIdsOf(int mentorId) {
+            return mentors.get(mentorId).getClassRoomEntityList().stream().map(ClassRoomEntity::getClassRoomId).toList();
+        }
+
+        List<MentorEntity> scan(Predicate<MentorEntity> filter) {
+            return mentors.values().stream().filter(filter).toList();
+        }
+
+        MentorSearchIndex newIndex() {
+            MentorRepository mentorRepository = mock(MentorRepository.class);
+            ClassRoomRepository classRoomRepository = mock(ClassRoomRepository.class);
+            when(mentorRepository.findAll()).thenAnswer(invocation -> List.copyOf(mentors.values()));
+            when(mentorRepository.findAllById(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Integer>>getArgument(0)
+                    .stream().filter(mentors::containsKey).map(mentors::get).toList());
+            when(classRoomRepository.findAllAssignedClassRoomIds()).thenAnswer(invocation -> classRoomIdViews(mentors.keySet()));
+            when(classRoomRepository.findAssignedClassRoomIds(anyCollection())).thenAnswer(invocation ->
+                    classRoomIdViews(invocation.<Collection<Integer>>getArgument(0)));
+            MentorSearchIndex index = new MentorSearchIndex(mentorRepository, classRoomRepository);
+            index.load();
+            return index;
+        }
+
+        private List<MentorClassRoomIdView> classRoomIdViews(Collection<Integer> mentorIds) {
+            List<MentorClassRoomIdView> views = new ArrayList<>();
+            mentorIds.stream().filter(mentors::containsKey).forEach(mentorId ->
+                    classRoomIdsOf(mentorId).forEach(classRoomId -> views.add(view(mentorId, classRoomId))));
+            return views;
+        }
+
+        private static MentorClassRoomIdView view(Integer mentorId, Integer classRoomId) {
+            return new MentorClassRoomIdView() {
+                @Override
+                public Integer getMentorId() {
+                    return mentorId;
+                }
+
+                @Override
+                public Integer getClassRoomId() {
+                    return classRoomId;
+                }
+            };
+        }
+    }
+}
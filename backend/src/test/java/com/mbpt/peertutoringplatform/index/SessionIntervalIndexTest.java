@@ -0,0 +1,169 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.exception.BookingConflictException;
+import com.mbpt.peertutoringplatform.repository.LiteSessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Fires concurrent overlapping reservations at the same mentors and students and checks that no two
+ * bookings of a mentor or of a student ever overlap, and that a rolled back reservation frees its interval.
+ */
+class SessionIntervalIndexTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ATTEMPTS_PER_THREAD = 2_000;
+
+    private static final int SLOTS = 20;
+
+    private static final Instant FIRST_SLOT = Instant.parse("2030-01-01T08:00:00Z");
+
+    private final SessionIntervalIndex index = new SessionIntervalIndex(mock(LiteSessionRepository.class));
+
+    @Test
+    void admitsOneBookingPerOverlappingIntervalUnderContention() throws InterruptedException {
+        // two mentors and two students booked in every combination, so that threads holding the lock of
+        // mentor 1 wait for student 2 while threads holding mentor 2 wait for student 1, and the other way round
+        Queue<SessionIntervalIndex.Booking> booked = new ConcurrentLinkedQueue<>();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(random -> {
+            try {
+                booked.add(reserve(1 + random.nextInt(2), 1 + random.nextInt(2), random));
+            } catch (BookingConflictException e) {
+                conflicts.incrementAndGet();
+            }
+        });
+
+        assertThat(booked).isNotEmpty();
+        assertThat(conflicts.get()).isPositive();
+        assertNoOverlaps(booked);
+    }
+
+    @Test
+    void rolledBackReservationsFreeTheirIntervalsUnderContention() throws InterruptedException {
+        Queue<SessionIntervalIndex.Booking> committed = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(random -> {
+            boolean commit = random.nextInt(4) == 0;
+            try {
+                SessionIntervalIndex.Booking booking = inTransaction(commit, () -> reserve(1 + random.nextInt(2),
+                        1 + random.nextInt(2), random));
+                if (commit) {
+                    committed.add(booking);
+                }
+            } catch (BookingConflictException e) {
+                // lost against a booking that was not rolled back yet
+            }
+        });
+
+        assertNoOverlaps(committed);
+        // every interval left in the index belongs to a committed booking
+        for (int mentorId = 1; mentorId <= 2; mentorId++) {
+            List<SessionIntervalIndex.Booking> remaining = index.findMentorBookings(mentorId, FIRST_SLOT,
+                    FIRST_SLOT.plus(Duration.ofHours(SLOTS + 1)));
+            assertThat(remaining).allMatch(committed::contains);
+        }
+    }
+
+    @Test
+    void rollbackFreesTheIntervalAndCommitKeepsIt() {
+        Instant start = FIRST_SLOT;
+        Instant end = start.plus(Duration.ofHours(1));
+
+        inTransaction(false, () -> index.reserve(1, 1, 1, start, end));
+        SessionIntervalIndex.Booking booking = inTransaction(true, () -> index.reserve(1, 1, 1, start, end));
+
+        assertThat(index.findMentorBookings(1, start, end)).containsExactly(booking);
+        assertThatThrownBy(() -> index.reserve(1, 2, 1, start.plus(Duration.ofMinutes(30)), end))
+                .isInstanceOf(BookingConflictException.class);
+        assertThatThrownBy(() -> index.reserve(2, 1, 1, start, end.minus(Duration.ofMinutes(30))))
+                .isInstanceOf(BookingConflictException.class);
+    }
+
+    /**
+     * Reserves one of the slots, shifted by half an hour at random so that neighbouring slots overlap too.
+     */
+    private SessionIntervalIndex.Booking reserve(int mentorId, int studentId, ThreadLocalRandom random) {
+        Instant start = FIRST_SLOT.plus(Duration.ofMinutes(30L * random.nextInt(2 * SLOTS)));
+        return index.reserve(mentorId, studentId, 1, start, start.plus(Duration.ofHours(1)));
+    }
+
+    private void runConcurrently(Consumer<ThreadLocalRandom> attempt) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < ATTEMPTS_PER_THREAD; j++) {
+                    attempt.accept(ThreadLocalRandom.current());
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).as("no deadlock between the timeline locks").isTrue();
+    }
+
+    /**
+     * Runs a reservation with transaction synchronization active and completes the transaction like the
+     * transaction manager does, either committed or rolled back.
+     */
+    private static <T> T inTransaction(boolean commit, Supplier<T> work) {
+        TransactionSynchronizationManager.initSynchronization();
+        boolean committed = false;
+        try {
+            T result = work.get();
+            committed = commit;
+            return result;
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, committed
+                    ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+
+    private static void assertNoOverlaps(Iterable<SessionIntervalIndex.Booking> bookings) {
+        List<SessionIntervalIndex.Booking> all = new ArrayList<>();
+        bookings.forEach(all::add);
+        for (int i = 0; i < all.size(); i++) {
+            for (int j = i + 1; j < all.size(); j++) {
+                SessionIntervalIndex.Booking a = all.get(i);
+                SessionIntervalIndex.Booking b = all.get(j);
+                boolean overlap = a.getStartTime().isBefore(b.getEndTime()) && b.getStartTime().isBefore(a.getEndTime());
+                if (overlap) {
+                    assertThat(a.getMentorId()).as("overlapping bookings of one mentor").isNotEqualTo(b.getMentorId());
+                    assertThat(a.getStudentId()).as("overlapping bookings of one student").isNotEqualTo(b.getStudentId());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.mbpt.peertutoringplatform.index;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.entity.ClassRoomTrendingScoreEntity;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.ClassRoomTrendingScoreRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.Assertions.withinPercentage;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Books sessions into the trending index on a controlled clock and checks the ranking against the
+ * decayed scores computed from every booking: across the top-{@value TrendingClassRoomIndex#MAX_TRENDING}
+ * threshold, across the weekly landmark rebase and across a snapshot and reload.
+ */
+class TrendingClassRoomIndexTest {
+
+    private static final Instant START = Instant.parse("2026-01-05T00:00:00Z");
+
+    private final ClassRoomTrendingScoreRepository repository = mock(ClassRoomTrendingScoreRepository.class);
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    private Instant now = START;
+
+    @Test
+    void bookingsLoseHalfTheirWeightEveryHalfLife() {
+        TrendingClassRoomIndex index = newIndex();
+        book(index, 1);
+        book(index, 1);
+        book(index, 1);
+        now = now.plus(TrendingClassRoomIndex.HALF_LIFE);
+        book(index, 2);
+        book(index, 2);
+
+        List<TrendingClassRoomIndex.TrendingClassRoom> trending = index.findTrending(10);
+        assertThat(trending).extracting(TrendingClassRoomIndex.TrendingClassRoom::classRoomId).containsExactly(2, 1);
+        assertThat(trending.get(0).score()).isCloseTo(2.0, within(1e-9));
+        assertThat(trending.get(1).score()).isCloseTo(1.5, within(1e-9));
+
+        now = now.plus(TrendingClassRoomIndex.HALF_LIFE.multipliedBy(2));
+        trending = index.findTrending(10);
+        assertThat(trending.get(0).score()).isCloseTo(0.5, within(1e-9));
+        assertThat(trending.get(1).score()).isCloseTo(0.375, within(1e-9));
+
+        // a later booking outweighs the older ones once they have decayed below it
+        book(index, 1);
+        assertThat(index.findTrending(10)).extracting(TrendingClassRoomIndex.TrendingClassRoom::classRoomId).containsExactly(1, 2);
+    }
+
+    @Test
+    void theTopFiftyFollowsTheDecayedScoresAcrossTheThreshold() {
+        TrendingClassRoomIndex index = newIndex();
+        // classroom i starts with i bookings, so classrooms 1 to 10 are below the threshold
+        for (int classRoomId = 1; classRoomId <= 60; classRoomId++) {
+            for (int i = 0; i < classRoomId; i++) {
+                book(index, classRoomId);
+            }
+        }
+        assertSameAsExpected(index);
+        assertThat(index.findTrending(100)).hasSize(TrendingClassRoomIndex.MAX_TRENDING)
+                .extracting(TrendingClassRoomIndex.TrendingClassRoom::classRoomId).doesNotContain(1, 10);
+
+        // bookings below the threshold stay out of the ranking
+        now = now.plus(Duration.ofHours(1));
+        book(index, 1);
+        assertThat(index.findTrending(100)).extracting(TrendingClassRoomIndex.TrendingClassRoom::classRoomId).doesNotContain(1);
+
+        // until they pass it, which pushes the last classroom out
+        for (int i = 0; i < 20; i++) {
+            book(index, 1);
+        }
+        assertThat(index.findTrending(100)).extracting(TrendingClassRoomIndex.TrendingClassRoom::classRoomId).contains(1).doesNotContain(11);
+        assertSameAsExpected(index);
+
+        Random random = new Random(5);
+        for (int i = 0; i < 5_000; i++) {
+            now = now.plus(Duration.ofMinutes(random.nextInt(10)));
+            book(index, 1 + random.nextInt(200));
+        }
+        assertSameAsExpected(index);
+    }
+
+    @Test
+    void theWeeklyRebaseKeepsTheRankingAndTheDecayedScores() {
+        TrendingClassRoomIndex index = newIndex();
+        index.load();
+        // two days after the landmark, so that the bookings are still above the minimum score at the rebase
+        now = now.plus(Duration.ofDays(2));
+        Random random = new Random(17);
+        while (now.isBefore(START.plus(Duration.ofDays(8)))) {
+            now = now.plus(Duration.ofMinutes(random.nextInt(30)));
+            book(index, 1 + random.nextInt(100));
+        }
+        List<TrendingClassRoomIndex.TrendingClassRoom> beforeRebase = index.findTrending(100);
+
+        index.snapshot();
+
+        List<TrendingClassRoomIndex.TrendingClassRoom> afterRebase = index.findTrending(100);
+        assertThat(afterRebase).extracting(TrendingClassRoomIndex.TrendingClassRoom::classRoomId)
+                .containsExactlyElementsOf(beforeRebase.stream().map(TrendingClassRoomIndex.TrendingClassRoom::classRoomId).toList());
+        for (int i = 0; i < beforeRebase.size(); i++) {
+            assertThat(afterRebase.get(i).score()).isCloseTo(beforeRebase.get(i).score(), withinPercentage(1e-6));
+        }
+
+        // bookings after the rebase weigh against the rebased scores like before it
+        for (int i = 0; i < 2_000; i++) {
+            now = now.plus(Duration.ofMinutes(random.nextInt(30)));
+            book(index, 1 + random.nextInt(100));
+        }
+        assertSameAsExpected(index);
+    }
+
+    @Test
+    void aReloadedSnapshotKeepsDecayingFromTheTimeItWasTaken() {
+        TrendingClassRoomIndex index = newIndex();
+        index.load();
+        Random random = new Random(23);
+        for (int i = 0; i < 1_000; i++) {
+            now = now.plus(Duration.ofMinutes(random.nextInt(10)));
+            book(index, 1 + random.nextInt(80));
+        }
+        Instant snapshotAt = now;
+        index.snapshot();
+        ArgumentCaptor<Map<Integer, Double>> scores = ArgumentCaptor.captor();
+        verify(repository).replaceScores(scores.capture(), eq(snapshotAt));
+        List<ClassRoomTrendingScoreEntity> stored = new ArrayList<>();
+        scores.getValue().forEach((classRoomId, score) -> stored.add(new ClassRoomTrendingScoreEntity(classRoomId, score, snapshotAt)));
+
+        now = now.plus(Duration.ofHours(6));
+        ClassRoomTrendingScoreRepository restartedRepository = mock(ClassRoomTrendingScoreRepository.class);
+        when(restartedRepository.findAll()).thenReturn(stored);
+        TrendingClassRoomIndex restarted = newIndex(restartedRepository);
+        restarted.load();
+
+        assertSameAsExpected(restarted);
+        List<TrendingClassRoomIndex.TrendingClassRoom> expected = index.findTrending(100);
+        List<TrendingClassRoomIndex.TrendingClassRoom> actual = restarted.findTrending(100);
+        assertThat(actual).extracting(TrendingClassRoomIndex.TrendingClassRoom::classRoomId)
+                .containsExactlyElementsOf(expected.stream().map(TrendingClassRoomIndex.TrendingClassRoom::classRoomId).toList());
+    }
+
+    private TrendingClassRoomIndex newIndex() {
+        return newIndex(repository);
+    }
+
+    private TrendingClassRoomIndex newIndex(ClassRoomTrendingScoreRepository repository) {
+        return new TrendingClassRoomIndex(repository) {
+            @Override
+            Instant now() {
+                return now;
+            }
+        };
+    }
+
+    private void book(TrendingClassRoomIndex index, int classRoomId) {
+        bookings.add(new Booking(classRoomId, now));
+        index.onSessionChanged(new SessionChangedEvent(List.of(new SessionChangedEvent.SessionChange(bookings.size(), 1, 1, classRoomId,
+                now, now.plus(Duration.ofHours(1)), null, Constants.SessionStatus.PENDING))));
+    }
+
+    /**
+     * Compares the ranking with the top classrooms by the decayed scores of all bookings so far.
+     */
+    private void assertSameAsExpected(TrendingClassRoomIndex index) {
+        Map<Integer, Double> decayed = new HashMap<>();
+        for (Booking booking : bookings) {
+            double halfLives = (double) Duration.between(booking.bookedAt, now).toMillis() / TrendingClassRoomIndex.HALF_LIFE.toMillis();
+            decayed.merge(booking.classRoomId, Math.pow(0.5, halfLives), Double::sum);
+        }
+        List<Map.Entry<Integer, Double>> expected = decayed.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(TrendingClassRoomIndex.MAX_TRENDING)
+                .toList();
+
+        List<TrendingClassRoomIndex.TrendingClassRoom> actual = index.findTrending(TrendingClassRoomIndex.MAX_TRENDING);
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).classRoomId()).as("classroom at rank %d", i + 1).isEqualTo(expected.get(i).getKey());
+            assertThat(actual.get(i).score()).as("score at rank %d", i + 1).isCloseTo(expected.get(i).getValue(), withinPercentage(1e-6));
+        }
+    }
+
+    private record Booking(int classRoomId, Instant bookedAt) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.mbpt.peertutoringplatform.repository;
+
+import com.mbpt.peertutoringplatform.entity.SessionEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SessionRepository#findAllByStudentId} for a random student while the sessions table
+ * grows from 10k to 1M rows. Every student has the same number of sessions at every size, so the
+ * latency should stay flat as long as the lookup is served by the {@code (student_id, start_time)} index.
+ * The database is an in-memory H2 with the schema generated from the entities, not PostgreSQL; the
+ * numbers show how the query scales with the table, not what production latency is. Run with
+ * {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.mbpt.peertutoringplatform.repository.SessionRepositoryBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SessionRepositoryBenchmark {
+
+    private static final int SESSIONS_PER_STUDENT = 50;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int sessions;
+
+    private ConfigurableApplicationContext context;
+
+    private SessionRepository sessionRepository;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private List<Integer> studentIds;
+
+    @Setup
+    public void setUp() {
+        context = startJpaContext("benchmark_sessions_" + sessions);
+        sessionRepository = context.getBean(SessionRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        studentIds = seed(context.getBean(JdbcTemplate.class), sessions);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SessionEntity> findAllByStudentId() {
+        Integer studentId = studentIds.get(ThreadLocalRandom.current().nextInt(studentIds.size()));
+        return readOnlyTransaction.execute(status -> sessionRepository.findAllByStudentId(studentId, null, null, null));
+    }
+
+    /**
+     * Starts a context with only the data source, JPA and the repositories, on a fresh in-memory H2
+     * database whose schema is generated from the entities, indexes included.
+     */
+    static ConfigurableApplicationContext startJpaContext(String databaseName) {
+        return new SpringApplicationBuilder(JpaConfiguration.class)
+                .web(WebApplicationType.NONE)
+                // a profile without properties, so that the PostgreSQL settings of the prod profile are not loaded
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.root=WARN");
+    }
+
+    /**
+     * Inserts one mentor, one classroom and {@link #SESSIONS_PER_STUDENT} sessions per student, the
+     * sessions of all students interleaved in start time order.
+     *
+     * @return the IDs of the students
+     */
+    static List<Integer> seed(JdbcTemplate jdbcTemplate, int sessions) {
+        jdbcTemplate.update("""
+                INSERT INTO mentors (first_name, last_name, email, address, phone_number, title, session_fee, profession,
+                                     subject, qualification, mentor_image, is_certified, positive_reviews)
+                VALUES ('Ada', 'Lovelace', 'ada@example.com', 'London', '+441234567', 'Dr', 25.0, 'Mathematician',
+                        'Analysis', 'PhD', 'ada.png', TRUE, 10)
+                """);
+        Integer mentorId = jdbcTemplate.queryForObject("SELECT mentor_id FROM mentors", Integer.class);
+        int students = Math.max(1, sessions / SESSIONS_PER_STUDENT);
+        jdbcTemplate.update("INSERT INTO classrooms (title, enrolled_student_count, class_image, mentor_id) VALUES (?, ?, ?, ?)",
+                "Analysis", students, "analysis.png", mentorId);
+        Integer classRoomId = jdbcTemplate.queryForObject("SELECT class_room_id FROM classrooms", Integer.class);
+
+        List<Object[]> studentRows = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            studentRows.add(new Object[]{"clerk_" + i, "Student", "No" + i, "student" + i + "@example.com", "+441234567", "London", 20});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO students (clerk_student_id, first_name, last_name, email, phone_number, address, age)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, studentRows);
+        List<Integer> studentIds = jdbcTemplate.queryForList("SELECT student_id FROM students", Integer.class);
+
+        Instant firstStart = Instant.parse("2025-01-01T08:00:00Z");
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < sessions; i++) {
+            Instant startTime = firstStart.plus(i, ChronoUnit.MINUTES);
+            batch.add(new Object[]{classRoomId, mentorId, studentIds.get(i % students), "Topic " + i,
+                    Timestamp.from(startTime), Timestamp.from(startTime.plus(1, ChronoUnit.HOURS)), "COMPLETED"});
+            if (batch.size() == BATCH_SIZE || i == sessions - 1) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO sessions (class_room_id, mentor_id, student_id, topic, start_time, end_time, session_status)
+                        VALUES (?, ?, ?, ?, ?, ?, ?)
+                        """, batch);
+                batch.clear();
+            }
+        }
+        return studentIds;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SessionRepositoryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("com.mbpt.peertutoringplatform.entity")
+    @EnableJpaRepositories(basePackageClasses = SessionRepository.class)
+    static class JpaConfiguration {
+    }
+}
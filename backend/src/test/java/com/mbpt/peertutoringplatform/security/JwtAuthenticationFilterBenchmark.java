@@ -0,0 +1,83 @@
+package com.mbpt.peertutoringplatform.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one authenticated request through {@link JwtAuthenticationFilter} with the verified token
+ * cache off ({@code cacheSize = 0}, an RSA signature check per request) and on. Run with
+ * {@code mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.mbpt.peertutoringplatform.security.JwtAuthenticationFilterBenchmark"}
+ * (the forked benchmark JVMs need the test classpath on the command line).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    private int cacheSize;
+
+    private JwtAuthenticationFilter filter;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        String token = Jwts.builder()
+                .setSubject("user_1")
+                .claim("role", "admin")
+                .setExpiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+        filter = new JwtAuthenticationFilter(keyPair.getPublic(), cacheSize);
+        request = new MockHttpServletRequest("GET", "/sessions");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public void authenticate(Blackhole blackhole) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        filter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
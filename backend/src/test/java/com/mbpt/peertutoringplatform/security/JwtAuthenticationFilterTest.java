@@ -0,0 +1,167 @@
+package com.mbpt.peertutoringplatform.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private static final KeyPair KEY_PAIR = generateKeyPair();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void cacheHitSkipsVerificationAndBuildsNewAuthentication() throws Exception {
+        CountingFilter filter = new CountingFilter(10);
+        String token = token(clock.instant().plus(Duration.ofMinutes(5)));
+
+        Authentication first = authenticate(filter, token);
+        Authentication second = authenticate(filter, token);
+
+        assertThat(filter.verifications).isEqualTo(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("user_1");
+        assertThat(second.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void cacheHitRechecksExpiry() throws Exception {
+        CountingFilter filter = new CountingFilter(10);
+        String token = token(clock.instant().plus(Duration.ofSeconds(30)));
+        assertThat(authenticate(filter, token)).isNotNull();
+
+        // still cached, the cache expires entries on its own ticker only after the exp claim
+        clock.advance(Duration.ofSeconds(31));
+        MockHttpServletResponse response = filter(filter, token, new ArrayList<>());
+
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
+        assertThat(filter.verifications).as("expired cache hit verified again").isEqualTo(2);
+    }
+
+    @Test
+    void cacheSizeZeroVerifiesEveryRequest() throws Exception {
+        CountingFilter filter = new CountingFilter(0);
+        String token = token(clock.instant().plus(Duration.ofMinutes(5)));
+
+        Authentication first = authenticate(filter, token);
+        Authentication second = authenticate(filter, token);
+
+        assertThat(filter.verifications).isEqualTo(2);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("user_1");
+
+        clock.advance(Duration.ofMinutes(6));
+        assertThat(filter(filter, token, new ArrayList<>()).getStatus()).isEqualTo(HttpServletResponse.SC_UNAUTHORIZED);
+    }
+
+    private static Authentication authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+        List<Authentication> authentications = new ArrayList<>();
+        MockHttpServletResponse response = filter(filter, token, authentications);
+        assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(authentications).hasSize(1);
+        return authentications.get(0);
+    }
+
+    private static MockHttpServletResponse filter(JwtAuthenticationFilter filter, String token,
+                                                  List<Authentication> authentications) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sessions");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> authentications.add(SecurityContextHolder.getContext().getAuthentication());
+        filter.doFilter(request, response, chain);
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    private String token(Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject("user_1")
+                .claim("role", "admin")
+                .setIssuedAt(Date.from(clock.instant()))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(KEY_PAIR.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Counts the full verifications of the filter.
+     */
+    private final class CountingFilter extends JwtAuthenticationFilter {
+
+        private int verifications;
+
+        private CountingFilter(int cacheSize) {
+            super(KEY_PAIR.getPublic(), cacheSize, clock);
+        }
+
+        @Override
+        VerifiedToken verify(String token) {
+            verifications++;
+            return super.verify(token);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import com.mbpt.peertutoringplatform.repository.SessionRollupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Checks that session changes are counted in the buckets of the sessions' start times, whenever they happen.
+ */
+class AnalyticsServiceImplTest {
+
+    private final SessionRollupRepository sessionRollupRepository = mock(SessionRollupRepository.class);
+
+    private final AnalyticsServiceImpl analyticsService = new AnalyticsServiceImpl(sessionRollupRepository);
+
+    @Test
+    void countsChangesInTheBucketsOfTheStartTimes() {
+        Instant nextMonth = Instant.parse("2030-03-10T09:30:00Z");
+        Instant sameDayLater = Instant.parse("2030-03-10T14:00:00Z");
+
+        analyticsService.onSessionChanged(new SessionChangedEvent(List.of(
+                change(1, nextMonth, null, Constants.SessionStatus.PENDING),
+                change(2, nextMonth.plus(Duration.ofMinutes(15)), null, Constants.SessionStatus.PENDING),
+                change(3, sameDayLater, Constants.SessionStatus.ACCEPTED, Constants.SessionStatus.COMPLETED),
+                change(4, sameDayLater, Constants.SessionStatus.ACCEPTED, Constants.SessionStatus.ACCEPTED))));
+
+        verify(sessionRollupRepository).accumulate("HOUR", Instant.parse("2030-03-10T09:00:00Z"), 7, 5, 2, 0, 0);
+        verify(sessionRollupRepository).accumulate("HOUR", Instant.parse("2030-03-10T14:00:00Z"), 7, 5, 0, 0, 1);
+        verify(sessionRollupRepository).accumulate("DAY", Instant.parse("2030-03-10T00:00:00Z"), 7, 5, 2, 0, 1);
+        verifyNoMoreInteractions(sessionRollupRepository);
+    }
+
+    private static SessionChangedEvent.SessionChange change(int sessionId, Instant startTime,
+                                                            Constants.SessionStatus previousStatus,
+                                                            Constants.SessionStatus sessionStatus) {
+        return new SessionChangedEvent.SessionChange(sessionId, 3, 7, 5, startTime, startTime.plus(Duration.ofHours(1)),
+                previousStatus, sessionStatus);
+    }
+}
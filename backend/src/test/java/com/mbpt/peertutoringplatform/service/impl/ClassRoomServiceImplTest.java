@@ -0,0 +1,170 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.mbpt.peertutoringplatform.cache.MentorProfileCache;
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.dto.ClassRoomDTO;
+import com.mbpt.peertutoringplatform.index.ClassRoomEnrollmentIndex;
+import com.mbpt.peertutoringplatform.index.ClassRoomTitleIndex;
+import com.mbpt.peertutoringplatform.index.MentorAvailabilityIndex;
+import com.mbpt.peertutoringplatform.index.MentorSearchIndex;
+import com.mbpt.peertutoringplatform.index.SessionIntervalIndex;
+import com.mbpt.peertutoringplatform.index.TrendingClassRoomIndex;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.MentorClassSessionCountRepository;
+import com.mbpt.peertutoringplatform.repository.SpecificationPager;
+import com.mbpt.peertutoringplatform.service.FileService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Reads the classrooms of a database holding mentors, assigned and unassigned classrooms and their
+ * sessions, and checks that every read is a single statement that loads no entity.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ClassRoomServiceImplTest {
+
+    private static final int MENTORS = 20;
+
+    private static final int CLASS_ROOMS_PER_MENTOR = 10;
+
+    private static final int CLASS_ROOMS_WITHOUT_MENTOR = 15;
+
+    private static final int SESSIONS_PER_CLASS_ROOM = 20;
+
+    @Autowired
+    private ClassRoomRepository classRoomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ClassRoomServiceImpl classRoomService;
+
+    private Integer assignedClassRoomId;
+
+    @BeforeEach
+    void setUp() {
+        classRoomService = new ClassRoomServiceImpl(classRoomRepository, mock(FileService.class),
+                mock(MentorClassSessionCountRepository.class), mock(SessionIntervalIndex.class),
+                mock(MentorAvailabilityIndex.class), mock(MentorSearchIndex.class), mock(ClassRoomTitleIndex.class),
+                mock(ClassRoomEnrollmentIndex.class), mock(TrendingClassRoomIndex.class), mock(SpecificationPager.class),
+                mock(PageCountCache.class), mock(MentorProfileCache.class), mock(ApplicationEventPublisher.class));
+        seedClassRooms();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllClassRoomsRunsOneStatement() {
+        List<ClassRoomDTO> classRooms = inOneStatement(classRoomService::getAllClassRooms);
+
+        assertThat(classRooms).hasSize(MENTORS * CLASS_ROOMS_PER_MENTOR + CLASS_ROOMS_WITHOUT_MENTOR);
+        assertThat(classRooms).filteredOn(classRoom -> classRoom.getMentorDTO() != null)
+                .hasSize(MENTORS * CLASS_ROOMS_PER_MENTOR)
+                .allMatch(classRoom -> classRoom.getMentorDTO().getFirstName().startsWith("Mentor"));
+    }
+
+    @Test
+    void findClassRoomByIdRunsOneStatement() {
+        ClassRoomDTO classRoom = inOneStatement(() -> classRoomService.findClassRoomById(assignedClassRoomId));
+
+        assertThat(classRoom.getClassRoomId()).isEqualTo(assignedClassRoomId);
+        assertThat(classRoom.getMentorDTO()).isNotNull();
+    }
+
+    @Test
+    void getClassroomsWithoutMentorRunsOneStatement() {
+        List<ClassRoomDTO> classRooms = inOneStatement(classRoomService::getClassroomsWithoutMentor);
+
+        assertThat(classRooms).hasSize(CLASS_ROOMS_WITHOUT_MENTOR).allMatch(classRoom -> classRoom.getMentorDTO() == null);
+    }
+
+    private <T> T inOneStatement(Supplier<T> read) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        T result = read.get();
+
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+        assertThat(statistics.getCollectionLoadCount()).as("collections loaded").isZero();
+        return result;
+    }
+
+    private void seedClassRooms() {
+        List<Object[]> mentors = new ArrayList<>();
+        for (int i = 0; i < MENTORS; i++) {
+            mentors.add(new Object[]{"Mentor" + i, "Lovelace", "mentor" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO mentors (first_name, last_name, email, address, phone_number, title, session_fee, profession,
+                                     subject, qualification, mentor_image, is_certified, positive_reviews)
+                VALUES (?, ?, ?, 'London', '+441234567', 'Dr', 25.0, 'Mathematician', 'Analysis', 'PhD', 'ada.png', TRUE, 10)
+                """, mentors);
+        List<Integer> mentorIds = jdbcTemplate.queryForList("SELECT mentor_id FROM mentors", Integer.class);
+
+        List<Object[]> classRooms = new ArrayList<>();
+        for (Integer mentorId : mentorIds) {
+            for (int i = 0; i < CLASS_ROOMS_PER_MENTOR; i++) {
+                classRooms.add(new Object[]{"Classroom " + mentorId + "-" + i, mentorId});
+            }
+        }
+        for (int i = 0; i < CLASS_ROOMS_WITHOUT_MENTOR; i++) {
+            classRooms.add(new Object[]{"Unassigned " + i, null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO classrooms (title, enrolled_student_count, class_image, mentor_id) VALUES (?, 0, 'class.png', ?)",
+                classRooms);
+        assignedClassRoomId = jdbcTemplate.queryForObject("SELECT MIN(class_room_id) FROM classrooms WHERE mentor_id IS NOT NULL",
+                Integer.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO students (clerk_student_id, first_name, last_name, email, phone_number, address, age)
+                VALUES ('clerk_1', 'Student', 'One', 'student1@example.com', '+441234567', 'London', 20)
+                """);
+        Integer studentId = jdbcTemplate.queryForObject("SELECT student_id FROM students", Integer.class);
+
+        // sessions of the assigned classrooms, which none of the reads may load
+        List<Object[]> sessions = new ArrayList<>();
+        Instant startTime = Instant.parse("2025-01-01T08:00:00Z");
+        for (Map<String, Object> classRoom
+                : jdbcTemplate.queryForList("SELECT class_room_id, mentor_id FROM classrooms WHERE mentor_id IS NOT NULL")) {
+            for (int i = 0; i < SESSIONS_PER_CLASS_ROOM; i++) {
+                startTime = startTime.plus(1, ChronoUnit.HOURS);
+                sessions.add(new Object[]{classRoom.get("class_room_id"), classRoom.get("mentor_id"), studentId, "Topic " + i,
+                        Timestamp.from(startTime), Timestamp.from(startTime.plus(1, ChronoUnit.HOURS)), "COMPLETED"});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO sessions (class_room_id, mentor_id, student_id, topic, start_time, end_time, session_status)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, sessions);
+    }
+}
@@ -0,0 +1,134 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mbpt.peertutoringplatform.cache.MentorProfileCache;
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.ImportResultDTO;
+import com.mbpt.peertutoringplatform.index.ClassRoomEnrollmentIndex;
+import com.mbpt.peertutoringplatform.index.ClassRoomTitleIndex;
+import com.mbpt.peertutoringplatform.index.MentorAvailabilityIndex;
+import com.mbpt.peertutoringplatform.index.MentorRecommendationIndex;
+import com.mbpt.peertutoringplatform.index.MentorSearchIndex;
+import com.mbpt.peertutoringplatform.repository.BulkImportRepository;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the rows per second of a student import through {@link ImportServiceImpl}: the CSV is parsed,
+ * copied into the staging table, validated and merged, with one row in a hundred rejected by the email
+ * check. Every import is rolled back, so the students table stays the same between iterations.
+ * <p>
+ * The import path uses {@code COPY} and PostgreSQL-only SQL, so this benchmark needs a PostgreSQL
+ * database, configured by the same {@code DATABASE_*} environment variables as the prod profile; the
+ * migrations are applied to it first. Before measuring, one import checks that the validation rejected
+ * exactly the invalid rows and that the rest were merged. Run with {@code mvn test-compile exec:exec
+ * -Dexec.classpathScope=test -Dexec.executable=java
+ * "-Dexec.args=-cp %classpath com.mbpt.peertutoringplatform.service.impl.ImportServiceBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ImportServiceBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private static final int INVALID_EVERY = 100;
+
+    private ImportServiceImpl importService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private byte[] csv;
+
+    @Setup
+    public void setUp() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:postgresql://" + requireEnv("DATABASE_HOST") + ":"
+                + requireEnv("DATABASE_PORT") + "/" + requireEnv("DATABASE_NAME"), requireEnv("DATABASE_USER"), requireEnv("DATABASE_PASSWORD"));
+        Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        importService = new ImportServiceImpl(new BulkImportRepository(new JdbcTemplate(dataSource)), mock(MentorAvailabilityIndex.class),
+                mock(MentorSearchIndex.class), mock(ClassRoomTitleIndex.class), mock(ClassRoomEnrollmentIndex.class),
+                mock(MentorRecommendationIndex.class), mock(PageCountCache.class), mock(MentorProfileCache.class),
+                mock(ApplicationEventPublisher.class), new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "errorReportDir", Files.createTempDirectory("import-benchmark").toString());
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        csv = studentsCsv();
+
+        ImportResultDTO result = importStudents();
+        long invalid = ROWS / INVALID_EVERY;
+        if (result.getTotalRows() != ROWS || result.getImportedRows() != ROWS - invalid || result.getErrorReportId() == null) {
+            throw new IllegalStateException("Unexpected import result " + result + ", expected " + invalid + " rejected rows");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ImportResultDTO importStudents() {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            try {
+                return importService.importRows(Constants.ImportEntity.STUDENT, Constants.ImportFormat.CSV, new ByteArrayInputStream(csv));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Clerk IDs and emails that no existing student has, so that only the invalid emails are rejected
+    private static byte[] studentsCsv() {
+        String prefix = "benchmark-" + System.nanoTime() + "-";
+        StringBuilder builder = new StringBuilder("clerk_student_id,first_name,last_name,email,phone_number,address,age\n");
+        for (int i = 0; i < ROWS; i++) {
+            String email = i % INVALID_EVERY == 0 ? "not-an-email-" + i : prefix + i + "@example.com";
+            builder.append(prefix).append(i).append(",Student,No").append(i).append(',').append(email)
+                    .append(",+441234567,\"London, UK\",").append(18 + i % 50).append('\n');
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String requireEnv(String name) {
+        String value = System.getenv(name);
+        if (value == null) {
+            throw new IllegalStateException("Set " + name + " to point the import benchmark at a PostgreSQL database");
+        }
+        return value;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ImportServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mbpt.peertutoringplatform.cache.MentorProfileCache;
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.ImportResultDTO;
+import com.mbpt.peertutoringplatform.exception.ResourceNotFoundException;
+import com.mbpt.peertutoringplatform.index.ClassRoomEnrollmentIndex;
+import com.mbpt.peertutoringplatform.index.ClassRoomTitleIndex;
+import com.mbpt.peertutoringplatform.index.MentorAvailabilityIndex;
+import com.mbpt.peertutoringplatform.index.MentorRecommendationIndex;
+import com.mbpt.peertutoringplatform.index.MentorSearchIndex;
+import com.mbpt.peertutoringplatform.repository.BulkImportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that an import hands out only an opaque ID of its error report, and that the report can be
+ * found by that ID and by nothing else.
+ */
+class ImportServiceImplTest {
+
+    private static final String STUDENTS_CSV = """
+            clerk_student_id,first_name,last_name,email,phone_number,address,age
+            clerk_1,Ada,Lovelace,ada@example.com,+441234567,London,36
+            clerk_2,Alan,Turing,not-an-email,+441234567,London,41
+            """;
+
+    @TempDir
+    private Path errorReportDir;
+
+    private final BulkImportRepository bulkImportRepository = mock(BulkImportRepository.class);
+
+    private final ImportServiceImpl importService = new ImportServiceImpl(bulkImportRepository, mock(MentorAvailabilityIndex.class),
+            mock(MentorSearchIndex.class), mock(ClassRoomTitleIndex.class), mock(ClassRoomEnrollmentIndex.class),
+            mock(MentorRecommendationIndex.class), mock(PageCountCache.class), mock(MentorProfileCache.class),
+            mock(ApplicationEventPublisher.class), new ObjectMapper());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(importService, "errorReportDir", errorReportDir.toString());
+        when(bulkImportRepository.openCopy(Constants.ImportEntity.STUDENT)).thenReturn(mock(BulkImportRepository.RowCopier.class));
+        when(bulkImportRepository.validate(Constants.ImportEntity.STUDENT)).thenReturn(1L);
+        when(bulkImportRepository.mergeStudents()).thenReturn(1);
+        ResultSet error = mock(ResultSet.class);
+        when(error.getLong("line_no")).thenReturn(3L);
+        when(error.getString("message")).thenReturn("email must be a valid email");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(0).processRow(error);
+            return null;
+        }).when(bulkImportRepository).readErrors(any());
+    }
+
+    @Test
+    void rejectedRowsAreReportedUnderAnOpaqueId() throws IOException {
+        ImportResultDTO result = importStudents();
+
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getRejectedRows()).isEqualTo(1);
+        assertThat(result.getErrorReportId()).doesNotContain("/", "\\", errorReportDir.toString());
+
+        Path report = importService.findErrorReport(result.getErrorReportId());
+        assertThat(report.getParent()).isEqualTo(errorReportDir);
+        assertThat(Files.readString(report)).isEqualTo("line,message\r\n3,\"email must be a valid email\"\r\n");
+    }
+
+    @Test
+    void findErrorReportAcceptsOnlyIdsOfExistingReports() throws IOException {
+        String errorReportId = importStudents().getErrorReportId();
+        Files.writeString(errorReportDir.resolve("secret.csv"), "secret");
+
+        assertThatThrownBy(() -> importService.findErrorReport("../secret"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> importService.findErrorReport(errorReportId.toUpperCase()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> importService.findErrorReport("00000000-0000-0000-0000-000000000000"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ImportResultDTO importStudents() throws IOException {
+        return importService.importRows(Constants.ImportEntity.STUDENT, Constants.ImportFormat.CSV,
+                new ByteArrayInputStream(STUDENTS_CSV.getBytes(StandardCharsets.UTF_8)));
+    }
+}
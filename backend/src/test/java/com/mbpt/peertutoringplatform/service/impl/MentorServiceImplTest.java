@@ -0,0 +1,104 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.mbpt.peertutoringplatform.cache.MentorProfileCache;
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.dto.LiteMentorDTO;
+import com.mbpt.peertutoringplatform.dto.MentorDTO;
+import com.mbpt.peertutoringplatform.entity.MentorEntity;
+import com.mbpt.peertutoringplatform.index.MentorAvailabilityIndex;
+import com.mbpt.peertutoringplatform.index.MentorRecommendationIndex;
+import com.mbpt.peertutoringplatform.index.MentorSearchIndex;
+import com.mbpt.peertutoringplatform.repository.ClassRoomRepository;
+import com.mbpt.peertutoringplatform.repository.MentorClassSessionCountRepository;
+import com.mbpt.peertutoringplatform.repository.MentorRepository;
+import com.mbpt.peertutoringplatform.repository.SpecificationPager;
+import com.mbpt.peertutoringplatform.service.FileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that creating a mentor does not take the last classroom away from another mentor.
+ */
+class MentorServiceImplTest {
+
+    private static final int NEW_MENTOR_ID = 9;
+
+    private static final int PREVIOUS_MENTOR_ID = 4;
+
+    private final MentorRepository mentorRepository = mock(MentorRepository.class);
+
+    private final ClassRoomRepository classRoomRepository = mock(ClassRoomRepository.class);
+
+    private final MentorSearchIndex mentorSearchIndex = mock(MentorSearchIndex.class);
+
+    private final MentorProfileCache mentorProfileCache = mock(MentorProfileCache.class);
+
+    private final MentorServiceImpl mentorService = new MentorServiceImpl(mentorRepository, classRoomRepository,
+            mock(MentorClassSessionCountRepository.class), mock(FileService.class), mock(MentorAvailabilityIndex.class),
+            mentorSearchIndex, mock(MentorRecommendationIndex.class), mock(SpecificationPager.class),
+            mock(PageCountCache.class), mentorProfileCache, mock(ApplicationEventPublisher.class));
+
+    @BeforeEach
+    void setUp() {
+        when(classRoomRepository.findExistingIds(anyCollection())).thenReturn(List.of(1, 2));
+        when(classRoomRepository.findMentorIdsOfClassRooms(anyCollection())).thenReturn(List.of(PREVIOUS_MENTOR_ID));
+        when(mentorRepository.save(any(MentorEntity.class))).thenAnswer(invocation -> {
+            MentorEntity mentorEntity = invocation.getArgument(0);
+            mentorEntity.setMentorId(NEW_MENTOR_ID);
+            return mentorEntity;
+        });
+    }
+
+    @Test
+    void createMentorRejectsTakingTheLastClassroomOfAnotherMentor() {
+        when(mentorRepository.findIdsWithoutClassRooms(Set.of(PREVIOUS_MENTOR_ID))).thenReturn(List.of(PREVIOUS_MENTOR_ID));
+
+        assertThatThrownBy(() -> mentorService.createMentor(liteMentor(), image()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.valueOf(PREVIOUS_MENTOR_ID));
+        verify(mentorSearchIndex, never()).refreshMentors(anyCollection());
+        verify(mentorProfileCache, never()).evict(anyCollection());
+    }
+
+    @Test
+    void createMentorMovesClassroomsOfMentorsThatKeepOthers() {
+        when(mentorRepository.findIdsWithoutClassRooms(Set.of(PREVIOUS_MENTOR_ID))).thenReturn(List.of());
+
+        MentorDTO mentorDTO = mentorService.createMentor(liteMentor(), image());
+
+        assertThat(mentorDTO.getMentorId()).isEqualTo(NEW_MENTOR_ID);
+        assertThat(mentorDTO.getClassRoomIdList()).containsExactly(1, 2);
+        verify(mentorProfileCache).evict(Set.of(PREVIOUS_MENTOR_ID));
+        verify(mentorSearchIndex).refreshMentors(Set.of(PREVIOUS_MENTOR_ID));
+    }
+
+    private static LiteMentorDTO liteMentor() {
+        LiteMentorDTO liteMentorDTO = new LiteMentorDTO();
+        liteMentorDTO.setFirstName("Ada");
+        liteMentorDTO.setLastName("Lovelace");
+        liteMentorDTO.setEmail("ada@example.com");
+        liteMentorDTO.setTitle(Constants.Title.values()[0]);
+        liteMentorDTO.setSessionFee(25.0);
+        liteMentorDTO.setClassRoomIdList(List.of(1, 2));
+        return liteMentorDTO;
+    }
+
+    private static MockMultipartFile image() {
+        return new MockMultipartFile("image", "ada.png", "image/png", new byte[]{1});
+    }
+}
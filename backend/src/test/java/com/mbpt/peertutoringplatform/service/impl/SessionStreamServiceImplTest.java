@@ -0,0 +1,211 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.mbpt.peertutoringplatform.cache.StudentIdentityCache;
+import com.mbpt.peertutoringplatform.common.Constants;
+import com.mbpt.peertutoringplatform.event.SessionChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Holds 10k open streams in one service and checks that the fan-out reaches all of them while
+ * clients that stopped reading block their sends.
+ */
+class SessionStreamServiceImplTest {
+
+    private static final int OPEN_STREAMS = 10_000;
+
+    private final List<TestEmitter> emitters = new ArrayList<>();
+
+    private SessionStreamServiceImpl sessionStreamService;
+
+    private boolean nextEmitterStalls;
+
+    @BeforeEach
+    void setUp() {
+        StudentIdentityCache studentIdentityCache = mock(StudentIdentityCache.class);
+        when(studentIdentityCache.findStudentId(anyString()))
+                .thenAnswer(invocation -> Optional.of(Integer.valueOf(invocation.<String>getArgument(0))));
+        sessionStreamService = new SessionStreamServiceImpl(studentIdentityCache) {
+            @Override
+            SseEmitter createEmitter() {
+                TestEmitter emitter = nextEmitterStalls ? new StalledEmitter() : new TestEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(TestEmitter::release);
+        sessionStreamService.shutdown();
+    }
+
+    @Test
+    void fansOutToTenThousandStreamsWhileStalledClientsBlockTheirSends() throws InterruptedException {
+        // as many stalled clients as the previous fixed pool had threads
+        List<StalledEmitter> stalled = openStalledStreams(0, 4);
+        openStreams(4, OPEN_STREAMS);
+        assertThat(sessionStreamService.openStreamCount()).isEqualTo(OPEN_STREAMS);
+
+        sessionStreamService.onSessionChanged(createdSessions(0, OPEN_STREAMS));
+        for (StalledEmitter emitter : stalled) {
+            emitter.awaitBlockedSend();
+        }
+
+        for (TestEmitter emitter : emitters) {
+            if (!(emitter instanceof StalledEmitter)) {
+                assertThat(emitter.awaitEvents(1)).as("event delivered past the stalled clients").isTrue();
+            }
+        }
+        assertThat(sessionStreamService.openStreamCount()).isEqualTo(OPEN_STREAMS);
+    }
+
+    @Test
+    void dropsStreamWhoseQueueIsFull() throws InterruptedException {
+        StalledEmitter stalled = openStalledStreams(0, 1).get(0);
+        sessionStreamService.onSessionChanged(createdSessions(0, 1));
+        stalled.awaitBlockedSend();
+
+        // the first event is being sent, the next ones fill the queue and the one after overflows it
+        for (int i = 0; i <= SessionStreamServiceImpl.QUEUE_CAPACITY; i++) {
+            sessionStreamService.onSessionChanged(createdSessions(0, 1));
+        }
+
+        assertThat(sessionStreamService.openStreamCount()).isZero();
+        assertThat(stalled.awaitCompletion()).as("dropped stream completed").isTrue();
+    }
+
+    @Test
+    void dropsStreamWhoseSendTimesOut() throws InterruptedException {
+        StalledEmitter stalled = openStalledStreams(0, 1).get(0);
+        openStreams(1, 2);
+        sessionStreamService.onSessionChanged(createdSessions(0, 2));
+        stalled.awaitBlockedSend();
+
+        sessionStreamService.dropStalledStreams(System.nanoTime());
+        assertThat(sessionStreamService.openStreamCount()).as("send still within the timeout").isEqualTo(2);
+
+        sessionStreamService.dropStalledStreams(System.nanoTime() + SessionStreamServiceImpl.SEND_TIMEOUT.toNanos() + 1);
+        assertThat(sessionStreamService.openStreamCount()).isEqualTo(1);
+        assertThat(stalled.awaitCompletion()).as("dropped stream completed").isTrue();
+    }
+
+    @Test
+    void doesNotQueueHeartbeatsBehindStalledSend() throws InterruptedException {
+        StalledEmitter stalled = openStalledStreams(0, 1).get(0);
+        sessionStreamService.sendHeartbeat();
+        stalled.awaitBlockedSend();
+
+        for (int i = 0; i < 10 * SessionStreamServiceImpl.QUEUE_CAPACITY; i++) {
+            sessionStreamService.sendHeartbeat();
+        }
+
+        assertThat(sessionStreamService.openStreamCount()).as("heartbeats never fill the queue").isEqualTo(1);
+    }
+
+    private void openStreams(int fromStudentId, int toStudentId) {
+        nextEmitterStalls = false;
+        IntStream.range(fromStudentId, toStudentId).forEach(studentId -> sessionStreamService.subscribe(String.valueOf(studentId)));
+    }
+
+    private List<StalledEmitter> openStalledStreams(int fromStudentId, int toStudentId) {
+        nextEmitterStalls = true;
+        return IntStream.range(fromStudentId, toStudentId)
+                .mapToObj(studentId -> (StalledEmitter) sessionStreamService.subscribe(String.valueOf(studentId)))
+                .toList();
+    }
+
+    private static SessionChangedEvent createdSessions(int fromStudentId, int toStudentId) {
+        return new SessionChangedEvent(IntStream.range(fromStudentId, toStudentId)
+                .mapToObj(studentId -> new SessionChangedEvent.SessionChange(studentId, studentId, 1, 1, null, null,
+                        null, Constants.SessionStatus.PENDING))
+                .toList());
+    }
+
+    /**
+     * A stream of a client that reads everything it is sent.
+     */
+    private static class TestEmitter extends SseEmitter {
+
+        private final AtomicInteger sentEvents = new AtomicInteger();
+
+        private final CountDownLatch firstEvent = new CountDownLatch(1);
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            sentEvents.incrementAndGet();
+            firstEvent.countDown();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed.countDown();
+        }
+
+        boolean awaitEvents(int count) throws InterruptedException {
+            return firstEvent.await(10, TimeUnit.SECONDS) && sentEvents.get() >= count;
+        }
+
+        boolean awaitCompletion() throws InterruptedException {
+            return completed.await(10, TimeUnit.SECONDS);
+        }
+
+        void release() {
+        }
+    }
+
+    /**
+     * A stream of a client that stopped reading, whose send blocks like a write into a full TCP window.
+     */
+    private static final class StalledEmitter extends TestEmitter {
+
+        private final CountDownLatch sendBlocked = new CountDownLatch(1);
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<ResponseBodyEmitter.DataWithMediaType> items) throws IOException {
+            sendBlocked.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                throw new IOException("write interrupted", e);
+            }
+        }
+
+        void awaitBlockedSend() throws InterruptedException {
+            assertThat(sendBlocked.await(10, TimeUnit.SECONDS)).as("send blocked").isTrue();
+        }
+
+        @Override
+        void release() {
+            released.countDown();
+        }
+    }
+}
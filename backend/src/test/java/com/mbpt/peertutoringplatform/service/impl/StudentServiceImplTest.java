@@ -0,0 +1,127 @@
+package com.mbpt.peertutoringplatform.service.impl;
+
+import com.mbpt.peertutoringplatform.cache.PageCountCache;
+import com.mbpt.peertutoringplatform.cache.StudentIdentityCache;
+import com.mbpt.peertutoringplatform.dto.StudentDTO;
+import com.mbpt.peertutoringplatform.repository.SpecificationPager;
+import com.mbpt.peertutoringplatform.repository.StudentRepository;
+import com.mbpt.peertutoringplatform.service.MentorService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Lists all students of a database holding 100k sessions and checks that only the student rows are
+ * loaded and retained, not their session history.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class StudentServiceImplTest {
+
+    private static final int STUDENTS = 1_000;
+
+    private static final int SESSIONS = 100_000;
+
+    // the students and the persistence context take well under this, loading the 100k sessions takes several times more
+    private static final long MAX_RETAINED_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StudentServiceImpl studentService;
+
+    @BeforeEach
+    void setUp() {
+        studentService = new StudentServiceImpl(studentRepository, mock(SpecificationPager.class), mock(PageCountCache.class),
+                mock(StudentIdentityCache.class), mock(MentorService.class));
+        seedSessions();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllStudentsLoadsOnlyTheStudentRows() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long usedBefore = usedHeapAfterGc();
+
+        List<StudentDTO> students = studentService.getAllStudents();
+
+        long retained = usedHeapAfterGc() - usedBefore;
+        assertThat(students).hasSize(STUDENTS);
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isEqualTo(STUDENTS);
+        assertThat(statistics.getCollectionLoadCount()).as("session collections loaded").isZero();
+        assertThat(retained).as("heap retained by the list and the persistence context").isLessThan(MAX_RETAINED_BYTES);
+    }
+
+    private void seedSessions() {
+        jdbcTemplate.update("""
+                INSERT INTO mentors (first_name, last_name, email, address, phone_number, title, session_fee, profession,
+                                     subject, qualification, mentor_image, is_certified, positive_reviews)
+                VALUES ('Ada', 'Lovelace', 'ada@example.com', 'London', '+441234567', 'Dr', 25.0, 'Mathematician',
+                        'Analysis', 'PhD', 'ada.png', TRUE, 10)
+                """);
+        Integer mentorId = jdbcTemplate.queryForObject("SELECT mentor_id FROM mentors", Integer.class);
+        jdbcTemplate.update("INSERT INTO classrooms (title, enrolled_student_count, class_image, mentor_id) VALUES (?, ?, ?, ?)",
+                "Analysis", STUDENTS, "analysis.png", mentorId);
+        Integer classRoomId = jdbcTemplate.queryForObject("SELECT class_room_id FROM classrooms", Integer.class);
+
+        List<Object[]> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Object[]{"clerk_" + i, "Student", "No" + i, "student" + i + "@example.com", "+441234567", "London", 20});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO students (clerk_student_id, first_name, last_name, email, phone_number, address, age)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, students);
+        List<Integer> studentIds = jdbcTemplate.queryForList("SELECT student_id FROM students", Integer.class);
+
+        Instant firstStart = Instant.parse("2025-01-01T08:00:00Z");
+        List<Object[]> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            Instant startTime = firstStart.plus(i, ChronoUnit.HOURS);
+            sessions.add(new Object[]{classRoomId, mentorId, studentIds.get(i % STUDENTS), "Topic " + i,
+                    Timestamp.from(startTime), Timestamp.from(startTime.plus(1, ChronoUnit.HOURS)), "COMPLETED"});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO sessions (class_room_id, mentor_id, student_id, topic, start_time, end_time, session_status)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, sessions);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}